@@ -156,7 +156,8 @@ public class GatewayRoutesConfig {
                 .route("progress-service-read", r -> r
                         .path("/api/v1/progress/**",
                                 "/api/v1/sessions/**",
-                                "/api/v1/streaks/**")
+                                "/api/v1/streaks/**",
+                                "/api/v1/dashboard")
                         .and().method(HttpMethod.GET)
                         .filters(f -> f.filter(jwtFilterFactory.apply(c -> c.setAllowedRoles(ALL_ROLES))))
                         .uri("lb://PROGRESS-SERVICE"))
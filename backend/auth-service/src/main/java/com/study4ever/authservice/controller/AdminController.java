@@ -1,6 +1,7 @@
 package com.study4ever.authservice.controller;
 
 import com.study4ever.authservice.dto.CreateInstructorRequest;
+import com.study4ever.authservice.dto.OutboxStatsDto;
 import com.study4ever.authservice.dto.UserResponse;
 import com.study4ever.authservice.dto.UserSummaryDto;
 import com.study4ever.authservice.service.AdminService;
@@ -100,4 +101,10 @@ public class AdminController {
         log.info("Received request to get user summary");
         return adminService.getUserSummary();
     }
-}
\ No newline at end of file
+
+    // Event outbox lag and publish throughput
+    @GetMapping("/outbox/stats")
+    public OutboxStatsDto getOutboxStatistics() {
+        return adminService.getOutboxStatistics();
+    }
+}
@@ -0,0 +1,22 @@
+package com.study4ever.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStatsDto {
+    private long pendingMessages;
+    private long retryingMessages;
+    private long lagMillis;
+    private long publishedTotal;
+    private long failedTotal;
+    private long publishedPerSecond;
+    private LocalDateTime lastPublishedAt;
+}
@@ -0,0 +1,32 @@
+package com.study4ever.authservice.repo;
+
+import com.study4ever.authservice.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Locks the next due messages. Rows locked by another relay are skipped instead of waited for.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_message
+            WHERE next_attempt_at <= :now
+            ORDER BY next_attempt_at, created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> claimDueMessages(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxMessage o")
+    LocalDateTime findOldestCreatedAt();
+
+    long countByAttemptsGreaterThan(int attempts);
+}
@@ -1,6 +1,7 @@
 package com.study4ever.authservice.service;
 
 import com.study4ever.authservice.dto.CreateInstructorRequest;
+import com.study4ever.authservice.dto.OutboxStatsDto;
 import com.study4ever.authservice.dto.UserResponse;
 import com.study4ever.authservice.dto.UserSummaryDto;
 
@@ -30,4 +31,6 @@ public interface AdminService {
     List<UserResponse> searchStudents(String searchTerm);
     
     List<UserResponse> searchInstructors(String searchTerm);
+
+    OutboxStatsDto getOutboxStatistics();
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.study4ever.authservice.service;
+
+import com.study4ever.authservice.config.RabbitMQConfig;
+import com.study4ever.authservice.dto.OutboxStatsDto;
+import com.study4ever.authservice.model.OutboxMessage;
+import com.study4ever.authservice.repo.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes outbox messages in batches. The whole batch is sent before any confirm is awaited, so a batch costs
+ * one broker round trip instead of one per message. Confirmed messages are deleted, the others are retried with
+ * exponential backoff. Delivery is at least once.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+
+    private final AtomicLong publishedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+    private final AtomicLong publishingMillis = new AtomicLong();
+    private final AtomicReference<LocalDateTime> lastPublishedAt = new AtomicReference<>();
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository,
+                       RabbitTemplate rabbitTemplate,
+                       @Value("${outbox.batch-size:200}") int batchSize,
+                       @Value("${outbox.confirm-timeout-millis:5000}") long confirmTimeoutMillis) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            log.error("Publisher confirms are disabled; set spring.rabbitmq.publisher-confirm-type=correlated "
+                    + "or outbox messages will never be marked as published");
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Relays one batch of due messages and returns how many of them the broker confirmed.
+     */
+    @Transactional
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxMessageRepository.claimDueMessages(now, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<CorrelationData> correlations = new ArrayList<>(batch.size());
+        AmqpException sendFailure = null;
+        for (OutboxMessage message : batch) {
+            CorrelationData correlation = new CorrelationData(message.getId().toString());
+            correlations.add(correlation);
+            if (sendFailure != null) {
+                // The broker is unreachable; don't pay the send retries again for every message
+                correlation.getFuture().completeExceptionally(sendFailure);
+                continue;
+            }
+            try {
+                rabbitTemplate.send(RabbitMQConfig.USER_EXCHANGE, message.getRoutingKey(), toMessage(message), correlation);
+            } catch (AmqpException e) {
+                sendFailure = e;
+                correlation.getFuture().completeExceptionally(e);
+            }
+        }
+
+        List<OutboxMessage> published = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + confirmTimeoutMillis;
+        String firstError = null;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMessage message = batch.get(i);
+            String error = awaitConfirm(correlations.get(i), deadline);
+            if (error == null) {
+                published.add(message);
+            } else {
+                firstError = firstError == null ? error : firstError;
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plusSeconds(backoffSeconds(message.getAttempts())));
+                message.setLastError(error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+            }
+        }
+        outboxMessageRepository.deleteAllInBatch(published);
+
+        int failed = batch.size() - published.size();
+        publishedTotal.addAndGet(published.size());
+        failedTotal.addAndGet(failed);
+        publishingMillis.addAndGet(System.currentTimeMillis() - startTime);
+        if (!published.isEmpty()) {
+            lastPublishedAt.set(LocalDateTime.now());
+        }
+        if (failed > 0) {
+            log.warn("{} of {} outbox messages were not confirmed and will be retried, first error: {}",
+                    failed, batch.size(), firstError);
+        }
+        return published.size();
+    }
+
+    /**
+     * Lag is the age of the oldest unpublished message; throughput is measured over the time spent relaying.
+     */
+    @Transactional(readOnly = true)
+    public OutboxStatsDto getStatistics() {
+        LocalDateTime oldest = outboxMessageRepository.findOldestCreatedAt();
+        long published = publishedTotal.get();
+        return OutboxStatsDto.builder()
+                .pendingMessages(outboxMessageRepository.count())
+                .retryingMessages(outboxMessageRepository.countByAttemptsGreaterThan(0))
+                .lagMillis(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis())
+                .publishedTotal(published)
+                .failedTotal(failedTotal.get())
+                .publishedPerSecond(published * 1000 / Math.max(1, publishingMillis.get()))
+                .lastPublishedAt(lastPublishedAt.get())
+                .build();
+    }
+
+    private static Message toMessage(OutboxMessage message) {
+        return MessageBuilder.withBody(message.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(message.getId().toString())
+                .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, message.getEventType())
+                .build();
+    }
+
+    /**
+     * Waits for the broker's confirm until the batch deadline. Returns null on ack, otherwise the reason.
+     */
+    private static String awaitConfirm(CorrelationData correlation, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.MILLISECONDS);
+            if (correlation.getReturned() != null) {
+                return "Returned: " + correlation.getReturned().getReplyText();
+            }
+            return confirm.isAck() ? null : "Nacked: " + confirm.getReason();
+        } catch (TimeoutException e) {
+            return "No confirm within the timeout";
+        } catch (ExecutionException e) {
+            return String.valueOf(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for confirm";
+        }
+    }
+
+    private static long backoffSeconds(int attempts) {
+        return Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 20));
+    }
+}
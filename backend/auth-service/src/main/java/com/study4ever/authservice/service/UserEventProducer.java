@@ -1,104 +1,67 @@
 package com.study4ever.authservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.study4ever.authservice.config.RabbitMQConfig;
 import com.study4ever.authservice.dto.UserCreatedEvent;
 import com.study4ever.authservice.dto.UserDeletedEvent;
 import com.study4ever.authservice.dto.UserUpdatedEvent;
+import com.study4ever.authservice.model.OutboxMessage;
+import com.study4ever.authservice.repo.OutboxMessageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
+/**
+ * Writes user events to the outbox in the caller's transaction, so an event exists exactly when the change to
+ * the user credentials commits. {@link OutboxRelay} publishes them afterwards.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserEventProducer {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendUserCreatedEvent(UserCreatedEvent event) {
-        log.info("Sending UserCreated event: {}", event);
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    sendCreatedEventMessage(event);
-                }
-            });
-        } else {
-            sendCreatedEventMessage(event);
-        }
+        log.info("Queueing UserCreated event: {}", event);
+        enqueue(RabbitMQConfig.USER_CREATED_ROUTING_KEY, event);
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendUserUpdatedEvent(UserUpdatedEvent event) {
-        log.info("Sending user updated event: {}", event);
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    sendUpdatedEventMessage(event);
-                }
-            });
-        } else {
-            sendUpdatedEventMessage(event);
-        }
+        log.info("Queueing user updated event: {}", event);
+        enqueue(RabbitMQConfig.USER_UPDATED_ROUTING_KEY, event);
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendUserDeletedEvent(UserDeletedEvent event) {
-        log.info("Sending user deleted event: {}", event);
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    sendDeletedEventMessage(event);
-                }
-            });
-        } else {
-            sendDeletedEventMessage(event);
-        }
-    }
-
-    private void sendCreatedEventMessage(UserCreatedEvent event) {
-        try {
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.USER_EXCHANGE,
-                    RabbitMQConfig.USER_CREATED_ROUTING_KEY,
-                    event
-            );
-            log.info("UserCreated event sent successfully: {}", event.getId());
-        } catch (Exception e) {
-            log.error("Failed to send UserCreated event: {}", event, e);
-            throw e; // Rethrow to allow proper error handling
-        }
+        log.info("Queueing user deleted event: {}", event);
+        enqueue(RabbitMQConfig.USER_DELETED_ROUTING_KEY, event);
     }
 
-    private void sendUpdatedEventMessage(UserUpdatedEvent event) {
-        try {
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.USER_EXCHANGE,
-                    RabbitMQConfig.USER_UPDATED_ROUTING_KEY,
-                    event
-            );
-            log.info("UserUpdated event sent successfully: {}", event.getId());
-        } catch (Exception e) {
-            log.error("Failed to send UserUpdated event: {}", event, e);
-            throw e; // Rethrow to allow proper error handling
-        }
+    private void enqueue(String routingKey, Object event) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .routingKey(routingKey)
+                .eventType(event.getClass().getName())
+                .payload(toJson(event))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
     }
 
-    private void sendDeletedEventMessage(UserDeletedEvent event) {
+    private String toJson(Object event) {
         try {
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.USER_EXCHANGE,
-                    RabbitMQConfig.USER_DELETED_ROUTING_KEY,
-                    event
-            );
-            log.info("UserDeleted event sent successfully: {}", event.getId());
-        } catch (Exception e) {
-            log.error("Failed to send UserDeleted event: {}", event, e);
-            throw e; // Rethrow to allow proper error handling
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.study4ever.authservice.service.impl;
 
 import com.study4ever.authservice.dto.CreateInstructorRequest;
+import com.study4ever.authservice.dto.OutboxStatsDto;
 import com.study4ever.authservice.dto.UserCreatedEvent;
 import com.study4ever.authservice.dto.UserDeletedEvent;
 import com.study4ever.authservice.dto.UserResponse;
@@ -13,6 +14,7 @@ import com.study4ever.authservice.model.UserCredentials;
 import com.study4ever.authservice.repo.RoleRepository;
 import com.study4ever.authservice.repo.UserCredentialsRepository;
 import com.study4ever.authservice.service.AdminService;
+import com.study4ever.authservice.service.OutboxRelay;
 import com.study4ever.authservice.service.UserEventProducer;
 import com.study4ever.authservice.util.Mapper;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +37,7 @@ public class AdminServiceImpl implements AdminService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserEventProducer userEventProducer;
+    private final OutboxRelay outboxRelay;
 
     @Override
     @Transactional
@@ -263,6 +266,11 @@ public class AdminServiceImpl implements AdminService {
                (user.getFirstName() + " " + user.getLastName()).toLowerCase().contains(lowerSearchTerm);
     }
 
+    @Override
+    public OutboxStatsDto getOutboxStatistics() {
+        return outboxRelay.getStatistics();
+    }
+
     private void sendUserCreatedEvent(UserCredentials user) {
         Set<String> roleNames = user.getRoles().stream()
                 .map(role -> role.getName().name())
@@ -14,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -53,6 +54,9 @@ public class RabbitMQE2EIT {
     @Autowired
     private Jackson2JsonMessageConverter messageConverter;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private static final String USER_QUEUE = "user.queue";
     private static final UUID TEST_USER_ID = UUID.randomUUID();
 
@@ -76,7 +80,7 @@ public class RabbitMQE2EIT {
         rabbitAdmin.purgeQueue(USER_QUEUE);
 
         // When
-        userEventProducer.sendUserCreatedEvent(userCreatedEvent);
+        transactionTemplate.executeWithoutResult(status -> userEventProducer.sendUserCreatedEvent(userCreatedEvent));
 
         // Then
         await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
@@ -100,7 +104,7 @@ public class RabbitMQE2EIT {
         rabbitAdmin.purgeQueue(USER_QUEUE);
 
         // When
-        userEventProducer.sendUserUpdatedEvent(userUpdatedEvent);
+        transactionTemplate.executeWithoutResult(status -> userEventProducer.sendUserUpdatedEvent(userUpdatedEvent));
 
         // Then
         await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
@@ -124,7 +128,7 @@ public class RabbitMQE2EIT {
         rabbitAdmin.purgeQueue(USER_QUEUE);
 
         // When
-        userEventProducer.sendUserDeletedEvent(userDeletedEvent);
+        transactionTemplate.executeWithoutResult(status -> userEventProducer.sendUserDeletedEvent(userDeletedEvent));
 
         // Then
         await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
@@ -0,0 +1,140 @@
+package com.study4ever.authservice.service;
+
+import com.study4ever.authservice.config.RabbitMQConfig;
+import com.study4ever.authservice.dto.OutboxStatsDto;
+import com.study4ever.authservice.dto.UserDeletedEvent;
+import com.study4ever.authservice.model.OutboxMessage;
+import com.study4ever.authservice.repo.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        outboxRelay = new OutboxRelay(outboxMessageRepository, rabbitTemplate, 10, 1000);
+    }
+
+    @Test
+    void relayBatch_ShouldDeleteConfirmedAndRescheduleNackedMessages() {
+        // Given
+        OutboxMessage confirmed = outboxMessage();
+        OutboxMessage nacked = outboxMessage();
+        when(outboxMessageRepository.claimDueMessages(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(confirmed, nacked));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = correlation.getId().equals(confirmed.getId().toString());
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).send(eq(RabbitMQConfig.USER_EXCHANGE), eq(RabbitMQConfig.USER_DELETED_ROUTING_KEY),
+                any(Message.class), any(CorrelationData.class));
+
+        // When
+        int published = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(1, published);
+        verify(outboxMessageRepository).deleteAllInBatch(List.of(confirmed));
+        assertEquals(1, nacked.getAttempts());
+        assertTrue(nacked.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals("Nacked: queue full", nacked.getLastError());
+
+        OutboxStatsDto stats = outboxRelay.getStatistics();
+        assertEquals(1, stats.getPublishedTotal());
+        assertEquals(1, stats.getFailedTotal());
+    }
+
+    @Test
+    void relayBatch_ShouldStopSendingWhenBrokerIsUnreachable() {
+        // Given
+        OutboxMessage first = outboxMessage();
+        OutboxMessage second = outboxMessage();
+        when(outboxMessageRepository.claimDueMessages(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(first, second));
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+                .when(rabbitTemplate).send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+
+        // When
+        int published = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(0, published);
+        verify(rabbitTemplate, times(1))
+                .send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+        assertEquals(1, first.getAttempts());
+        assertEquals(1, second.getAttempts());
+    }
+
+    @Test
+    void relayBatch_ShouldSetMessageIdAndTypeHeader() {
+        // Given
+        OutboxMessage message = outboxMessage();
+        when(outboxMessageRepository.claimDueMessages(any(LocalDateTime.class), anyInt())).thenReturn(List.of(message));
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(any(String.class), any(String.class), sent.capture(), any(CorrelationData.class));
+
+        // When
+        outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(message.getId().toString(), sent.getValue().getMessageProperties().getMessageId());
+        assertEquals(UserDeletedEvent.class.getName(), sent.getValue().getMessageProperties().getHeader("__TypeId__"));
+        assertNull(message.getLastError());
+    }
+
+    private static OutboxMessage outboxMessage() {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .routingKey(RabbitMQConfig.USER_DELETED_ROUTING_KEY)
+                .eventType(UserDeletedEvent.class.getName())
+                .payload("{\"id\":\"" + UUID.randomUUID() + "\"}")
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.UUID;
 
@@ -35,6 +36,12 @@ class RabbitMQIntegrationTest {
     @Autowired
     private Jackson2JsonMessageConverter messageConverter;
 
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private UserCreatedEvent userCreatedEvent;
     private static final String USER_QUEUE = "user.queue";
 
@@ -53,7 +60,8 @@ class RabbitMQIntegrationTest {
     @Test
     void shouldSendAndReceiveUserCreatedEvent() {
         // Given
-        userEventProducer.sendUserCreatedEvent(userCreatedEvent);
+        transactionTemplate.executeWithoutResult(status -> userEventProducer.sendUserCreatedEvent(userCreatedEvent));
+        outboxRelay.relayBatch();
 
         // When
         Message receivedMessage = rabbitTemplate.receive(USER_QUEUE, 1000);
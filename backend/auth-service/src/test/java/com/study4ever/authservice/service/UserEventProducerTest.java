@@ -1,28 +1,33 @@
 package com.study4ever.authservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.study4ever.authservice.config.RabbitMQConfig;
 import com.study4ever.authservice.dto.UserCreatedEvent;
 import com.study4ever.authservice.dto.UserDeletedEvent;
 import com.study4ever.authservice.dto.UserUpdatedEvent;
+import com.study4ever.authservice.model.OutboxMessage;
+import com.study4ever.authservice.repo.OutboxMessageRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class UserEventProducerTest {
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @InjectMocks
     private UserEventProducer userEventProducer;
 
     private UserCreatedEvent userCreatedEvent;
@@ -31,6 +36,8 @@ class UserEventProducerTest {
 
     @BeforeEach
     void setUp() {
+        userEventProducer = new UserEventProducer(outboxMessageRepository, objectMapper);
+
         userCreatedEvent = new UserCreatedEvent();
         userCreatedEvent.setId(UUID.randomUUID());
         userCreatedEvent.setUsername("testuser");
@@ -48,41 +55,48 @@ class UserEventProducerTest {
     }
 
     @Test
-    void sendUserCreatedEvent_ShouldSendEventToQueue() {
+    void sendUserCreatedEvent_ShouldWriteEventToOutbox() throws Exception {
         // When
         userEventProducer.sendUserCreatedEvent(userCreatedEvent);
 
         // Then
-        verify(rabbitTemplate).convertAndSend(
-                RabbitMQConfig.USER_EXCHANGE,
-                RabbitMQConfig.USER_CREATED_ROUTING_KEY,
-                userCreatedEvent
-        );
+        OutboxMessage message = savedMessage();
+        assertEquals(RabbitMQConfig.USER_CREATED_ROUTING_KEY, message.getRoutingKey());
+        assertEquals(UserCreatedEvent.class.getName(), message.getEventType());
+        assertEquals(userCreatedEvent, objectMapper.readValue(message.getPayload(), UserCreatedEvent.class));
     }
 
     @Test
-    void sendUserUpdatedEvent_ShouldSendEventToQueue() {
+    void sendUserUpdatedEvent_ShouldWriteEventToOutbox() throws Exception {
         // When
         userEventProducer.sendUserUpdatedEvent(userUpdatedEvent);
 
         // Then
-        verify(rabbitTemplate).convertAndSend(
-                RabbitMQConfig.USER_EXCHANGE,
-                RabbitMQConfig.USER_UPDATED_ROUTING_KEY,
-                userUpdatedEvent
-        );
+        OutboxMessage message = savedMessage();
+        assertEquals(RabbitMQConfig.USER_UPDATED_ROUTING_KEY, message.getRoutingKey());
+        assertEquals(UserUpdatedEvent.class.getName(), message.getEventType());
+        assertEquals(userUpdatedEvent, objectMapper.readValue(message.getPayload(), UserUpdatedEvent.class));
     }
 
     @Test
-    void sendUserDeletedEvent_ShouldSendEventToQueue() {
+    void sendUserDeletedEvent_ShouldWriteEventToOutbox() throws Exception {
         // When
         userEventProducer.sendUserDeletedEvent(userDeletedEvent);
 
         // Then
-        verify(rabbitTemplate).convertAndSend(
-                RabbitMQConfig.USER_EXCHANGE,
-                RabbitMQConfig.USER_DELETED_ROUTING_KEY,
-                userDeletedEvent
-        );
+        OutboxMessage message = savedMessage();
+        assertEquals(RabbitMQConfig.USER_DELETED_ROUTING_KEY, message.getRoutingKey());
+        assertEquals(UserDeletedEvent.class.getName(), message.getEventType());
+        assertEquals(userDeletedEvent, objectMapper.readValue(message.getPayload(), UserDeletedEvent.class));
+    }
+
+    private OutboxMessage savedMessage() {
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository).save(captor.capture());
+        OutboxMessage message = captor.getValue();
+        assertNotNull(message.getCreatedAt());
+        assertEquals(message.getCreatedAt(), message.getNextAttemptAt());
+        assertEquals(0, message.getAttempts());
+        return message;
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,7 @@ import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
@@ -15,6 +16,7 @@ import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
@@ -157,6 +159,27 @@ public class RabbitMQConfig implements RabbitListenerConfigurer {
         return BindingBuilder.bind(queue).to(deadLetterExchange).with(USER_DELETED_DLQ);
     }
 
+    /**
+     * Hands the user event listeners up to batch-size messages at once, or fewer once no message arrived for
+     * receive-timeout-millis. The listeners take raw messages and dead-letter a bad one on its own, so the container
+     * gets no retry advice; that would retry and reject the whole batch.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory userEventBatchListenerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${user-events.batch-size:100}") int batchSize,
+            @Value("${user-events.receive-timeout-millis:200}") long receiveTimeoutMillis) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMillis);
+        factory.setPrefetchCount(Math.max(batchSize, 250));
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
     @Bean
     public MessageRecoverer messageRecoverer(RabbitTemplate rabbitTemplate) {
         return new RepublishMessageRecoverer(rabbitTemplate, USER_DLX, USER_DELETED_DLQ);
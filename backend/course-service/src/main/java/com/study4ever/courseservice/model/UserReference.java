@@ -1,5 +1,6 @@
 package com.study4ever.courseservice.model;
 
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -7,6 +8,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -43,7 +45,10 @@ public class UserReference {
     @Column(name = "last_name")
     private String lastName;
 
+    // Names spelled out because UserReferenceBatchServiceImpl writes this table directly
     @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_reference_roles", joinColumns = @JoinColumn(name = "user_reference_id"))
+    @Column(name = "roles")
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private Set<Role> roles = new HashSet<>();
@@ -1,159 +1,134 @@
 package com.study4ever.courseservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.study4ever.courseservice.config.RabbitMQConfig;
 import com.study4ever.courseservice.dto.UserCreatedEvent;
 import com.study4ever.courseservice.dto.UserDeletedEvent;
 import com.study4ever.courseservice.dto.UserUpdatedEvent;
 import com.study4ever.courseservice.exception.NotFoundException;
-import com.study4ever.courseservice.model.Role;
-import com.study4ever.courseservice.model.UserReference;
-import com.study4ever.courseservice.repository.UserReferenceRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.function.Function;
 
+/**
+ * Consumes user events from auth-service in batches. Each batch is applied with one bulk write; if that fails the
+ * messages are applied one by one, and only the ones that still fail are sent to their dead letter queue.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserEventConsumer {
 
-    private final UserReferenceRepository userReferenceRepository;
+    private final UserReferenceBatchService userReferenceBatchService;
+    private final ObjectMapper objectMapper;
+    private final MessageRecoverer createdDeadLetters;
+    private final MessageRecoverer updatedDeadLetters;
+    private final MessageRecoverer deletedDeadLetters;
+
+    public UserEventConsumer(UserReferenceBatchService userReferenceBatchService,
+                             ObjectMapper objectMapper,
+                             RabbitTemplate rabbitTemplate) {
+        this.userReferenceBatchService = userReferenceBatchService;
+        this.objectMapper = objectMapper;
+        this.createdDeadLetters = new RepublishMessageRecoverer(
+                rabbitTemplate, RabbitMQConfig.USER_DLX, RabbitMQConfig.USER_CREATED_DLQ);
+        this.updatedDeadLetters = new RepublishMessageRecoverer(
+                rabbitTemplate, RabbitMQConfig.USER_DLX, RabbitMQConfig.USER_UPDATED_DLQ);
+        this.deletedDeadLetters = new RepublishMessageRecoverer(
+                rabbitTemplate, RabbitMQConfig.USER_DLX, RabbitMQConfig.USER_DELETED_DLQ);
+    }
 
-    @RabbitListener(queues = RabbitMQConfig.USER_CREATED_QUEUE)
-    @Retryable(
-            retryFor = Exception.class,
-            maxAttemptsExpression = "${retry.maxAttempts:3}",
-            backoff = @Backoff(
-                    delayExpression = "${retry.initialDelay:1000}",
-                    multiplierExpression = "${retry.multiplier:2}",
-                    maxDelayExpression = "${retry.maxDelay:10000}"
-            )
-    )
-    @Transactional
-    public void handleUserCreatedEvent(UserCreatedEvent event) {
-        try {
-            log.info("Received UserCreatedEvent for user with ID: {}", event.getId());
+    @RabbitListener(queues = RabbitMQConfig.USER_CREATED_QUEUE, containerFactory = "userEventBatchListenerFactory")
+    public void handleUserCreatedEvents(List<Message> messages) {
+        log.info("Received {} UserCreatedEvents", messages.size());
+        applyBatch(messages, UserCreatedEvent.class, UserCreatedEvent::getId, createdDeadLetters, events -> {
+            userReferenceBatchService.createAll(events);
+            return Set.of();
+        });
+    }
 
-            if (userReferenceRepository.existsById(event.getId())) {
-                log.warn("UserReference with ID: {} already exists. Skipping creation.", event.getId());
-                return;
-            }
+    @RabbitListener(queues = RabbitMQConfig.USER_UPDATED_QUEUE, containerFactory = "userEventBatchListenerFactory")
+    public void handleUserUpdatedEvents(List<Message> messages) {
+        log.info("Received {} UserUpdatedEvents", messages.size());
+        applyBatch(messages, UserUpdatedEvent.class, UserUpdatedEvent::getId, updatedDeadLetters,
+                userReferenceBatchService::updateAll);
+    }
 
-            UserReference userReference = new UserReference();
-            userReference.setId(event.getId());
-            userReference.setUsername(event.getUsername());
-            userReference.setEmail(event.getEmail());
-            userReference.setFirstName(event.getFirstName());
-            userReference.setLastName(event.getLastName());
-            userReference.setRoles(convertStringRolesToEnums(event.getRoles()));
-            userReference.setActive(event.isActive());
+    @RabbitListener(queues = RabbitMQConfig.USER_DELETED_QUEUE, containerFactory = "userEventBatchListenerFactory")
+    public void handleUserDeletedEvents(List<Message> messages) {
+        log.info("Received {} UserDeletedEvents", messages.size());
+        applyBatch(messages, UserDeletedEvent.class, UserDeletedEvent::getId, deletedDeadLetters, events -> {
+            userReferenceBatchService.deleteAll(events.stream().map(UserDeletedEvent::getId).toList());
+            return Set.of();
+        });
+    }
 
-            userReferenceRepository.save(userReference);
-            log.info("UserReference created successfully for user with ID: {}", event.getId());
-        } catch (Exception e) {
-            log.error("Error processing UserCreatedEvent for user with ID: {}", event.getId(), e);
-            throw new AmqpRejectAndDontRequeueException("Error processing UserCreatedEvent", e);
+    /**
+     * Reads the batch, applies it in one go and falls back to one message at a time if that fails. The apply
+     * function returns the ids it could not find; their messages are dead-lettered like before.
+     */
+    private <E> void applyBatch(List<Message> messages, Class<E> type, Function<E, UUID> idOf,
+                                MessageRecoverer deadLetters, Function<List<E>, Set<UUID>> apply) {
+        Map<Message, E> events = new LinkedHashMap<>();
+        for (Message message : messages) {
+            try {
+                E event = objectMapper.readValue(message.getBody(), type);
+                if (idOf.apply(event) == null) {
+                    throw new IllegalArgumentException(type.getSimpleName() + " without user id");
+                }
+                events.put(message, event);
+            } catch (Exception e) {
+                log.error("Could not read {} message {}", type.getSimpleName(),
+                        message.getMessageProperties().getMessageId(), e);
+                deadLetters.recover(message, e);
+            }
+        }
+        if (events.isEmpty()) {
+            return;
         }
-    }
 
-    @RabbitListener(queues = RabbitMQConfig.USER_UPDATED_QUEUE)
-    @Retryable(
-            retryFor = Exception.class,
-            maxAttemptsExpression = "${retry.maxAttempts:3}",
-            backoff = @Backoff(
-                    delayExpression = "${retry.initialDelay:1000}",
-                    multiplierExpression = "${retry.multiplier:2}",
-                    maxDelayExpression = "${retry.maxDelay:10000}"
-            )
-    )
-    @Transactional
-    public void handleUserUpdatedEvent(UserUpdatedEvent event) {
         try {
-            log.info("Received UserUpdatedEvent for user with ID: {}", event.getId());
-
-            UserReference userReference = userReferenceRepository.findById(event.getId())
-                    .orElseThrow(() -> new NotFoundException("UserReference not found with ID: " + event.getId()));
-
-            userReference.setUsername(event.getUsername());
-            userReference.setEmail(event.getEmail());
-            userReference.setFirstName(event.getFirstName());
-            userReference.setLastName(event.getLastName());
-            userReference.setRoles(convertStringRolesToEnums(event.getRoles()));
-            userReference.setActive(event.isActive());
-
-            userReferenceRepository.save(userReference);
-            log.info("UserReference updated successfully for user with ID: {}", event.getId());
+            Set<UUID> notFound = apply.apply(new ArrayList<>(events.values()));
+            deadLetterNotFound(events, idOf, notFound, deadLetters);
+            return;
         } catch (Exception e) {
-            log.error("Error processing UserUpdatedEvent for user with ID: {}", event.getId(), e);
-            throw new AmqpRejectAndDontRequeueException("Error processing UserUpdatedEvent", e);
+            log.warn("Batch of {} {}s failed, applying them one by one", events.size(), type.getSimpleName(), e);
         }
-    }
-
-    @RabbitListener(queues = RabbitMQConfig.USER_DELETED_QUEUE)
-    @Retryable(
-            retryFor = Exception.class,
-            maxAttemptsExpression = "${retry.maxAttempts:3}",
-            backoff = @Backoff(
-                    delayExpression = "${retry.initialDelay:1000}",
-                    multiplierExpression = "${retry.multiplier:2}",
-                    maxDelayExpression = "${retry.maxDelay:10000}"
-            )
-    )
-    @Transactional
-    public void handleUserDeletedEvent(UserDeletedEvent event) {
-        try {
-            log.info("Received UserDeletedEvent for user with ID: {}", event.getId());
 
-            if (!userReferenceRepository.existsById(event.getId())) {
-                log.warn("UserReference with ID: {} not found. Skipping deletion.", event.getId());
-                return;
+        for (Map.Entry<Message, E> entry : events.entrySet()) {
+            try {
+                Set<UUID> notFound = apply.apply(List.of(entry.getValue()));
+                deadLetterNotFound(Map.of(entry.getKey(), entry.getValue()), idOf, notFound, deadLetters);
+            } catch (Exception e) {
+                log.error("Error processing {} for user with ID: {}",
+                        type.getSimpleName(), idOf.apply(entry.getValue()), e);
+                deadLetters.recover(entry.getKey(), e);
             }
-
-            userReferenceRepository.deleteById(event.getId());
-            log.info("UserReference deleted successfully for user with ID: {}", event.getId());
-        } catch (Exception e) {
-            log.error("Error processing UserDeletedEvent for user with ID: {}", event.getId(), e);
-            throw new AmqpRejectAndDontRequeueException("Error processing UserDeletedEvent", e);
         }
     }
 
-    @Recover
-    public void recover(Exception e, UserCreatedEvent event) {
-        log.error("All retry attempts failed for UserCreatedEvent: {}", event, e);
-        // Message will be sent to the dead letter queue
-        // Additional error handling can be implemented here
-    }
-
-    @Recover
-    public void recover(Exception e, UserUpdatedEvent event) {
-        log.error("All retry attempts failed for UserUpdatedEvent: {}", event, e);
-        // Message will be sent to the dead letter queue
-        // Additional error handling can be implemented here
-    }
-
-    @Recover
-    public void recover(Exception e, UserDeletedEvent event) {
-        log.error("All retry attempts failed for UserDeletedEvent: {}", event, e);
-        // Message will be sent to the dead letter queue
-        // Additional error handling can be implemented here
-    }
-
-    private Set<Role> convertStringRolesToEnums(Set<String> stringRoles) {
-        if (stringRoles == null) {
-            return Set.of();
+    private <E> void deadLetterNotFound(Map<Message, E> events, Function<E, UUID> idOf,
+                                        Set<UUID> notFound, MessageRecoverer deadLetters) {
+        if (notFound.isEmpty()) {
+            return;
         }
-        return stringRoles.stream()
-                .map(Role::fromString)
-                .filter(role -> role != null)
-                .collect(Collectors.toSet());
+        events.forEach((message, event) -> {
+            UUID userId = idOf.apply(event);
+            if (notFound.contains(userId)) {
+                log.error("UserReference not found with ID: {}", userId);
+                deadLetters.recover(message, new NotFoundException("UserReference not found with ID: " + userId));
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.study4ever.courseservice.service;
+
+import com.study4ever.courseservice.dto.UserCreatedEvent;
+import com.study4ever.courseservice.dto.UserUpdatedEvent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies batches of user events to user_references with one statement per table and batch.
+ */
+public interface UserReferenceBatchService {
+
+    /**
+     * Inserts the users that don't exist yet and leaves existing ones untouched, so redelivered events are no-ops.
+     */
+    void createAll(List<UserCreatedEvent> events);
+
+    /**
+     * Updates the users that exist and returns the ids of those that don't.
+     */
+    Set<UUID> updateAll(List<UserUpdatedEvent> events);
+
+    /**
+     * Deletes the users; ids that are already gone are skipped.
+     */
+    void deleteAll(Collection<UUID> ids);
+}
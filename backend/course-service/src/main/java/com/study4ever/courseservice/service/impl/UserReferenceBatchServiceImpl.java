@@ -0,0 +1,233 @@
+package com.study4ever.courseservice.service.impl;
+
+import com.study4ever.courseservice.dto.UserCreatedEvent;
+import com.study4ever.courseservice.dto.UserUpdatedEvent;
+import com.study4ever.courseservice.model.Role;
+import com.study4ever.courseservice.service.UserReferenceBatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes through JDBC with arrays unnested on the server, so a batch costs the same few round trips whatever its
+ * size. The roles live in the user_reference_roles collection table of {@link com.study4ever.courseservice.model.UserReference}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserReferenceBatchServiceImpl implements UserReferenceBatchService {
+
+    private static final String INSERT_USERS_SQL = """
+            INSERT INTO user_references (id, username, email, first_name, last_name, active)
+            SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::boolean[])
+            ON CONFLICT (id) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String UPDATE_USERS_SQL = """
+            UPDATE user_references u
+            SET username = v.username, email = v.email, first_name = v.first_name,
+                last_name = v.last_name, active = v.active
+            FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::boolean[])
+                AS v(id, username, email, first_name, last_name, active)
+            WHERE u.id = v.id
+            RETURNING u.id
+            """;
+
+    private static final String INSERT_ROLES_SQL = """
+            INSERT INTO user_reference_roles (user_reference_id, roles)
+            SELECT * FROM unnest(?::uuid[], ?::varchar[])
+            """;
+
+    private static final String DELETE_ROLES_SQL =
+            "DELETE FROM user_reference_roles WHERE user_reference_id = ANY(?::uuid[])";
+
+    private static final String DELETE_USERS_SQL = "DELETE FROM user_references WHERE id = ANY(?::uuid[])";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Retryable(
+            retryFor = Exception.class,
+            maxAttemptsExpression = "${retry.maxAttempts:3}",
+            backoff = @Backoff(
+                    delayExpression = "${retry.initialDelay:1000}",
+                    multiplierExpression = "${retry.multiplier:2}",
+                    maxDelayExpression = "${retry.maxDelay:10000}"
+            )
+    )
+    @Transactional
+    public void createAll(List<UserCreatedEvent> events) {
+        // The first event for an id wins, like a second insert would be skipped
+        Map<UUID, UserCreatedEvent> byId = new LinkedHashMap<>();
+        events.forEach(event -> byId.putIfAbsent(event.getId(), event));
+        List<UserCreatedEvent> unique = new ArrayList<>(byId.values());
+
+        Set<UUID> inserted = new HashSet<>(writeUsers(INSERT_USERS_SQL,
+                unique.stream().map(UserCreatedEvent::getId).toArray(UUID[]::new),
+                unique.stream().map(UserCreatedEvent::getUsername).toArray(String[]::new),
+                unique.stream().map(UserCreatedEvent::getEmail).toArray(String[]::new),
+                unique.stream().map(UserCreatedEvent::getFirstName).toArray(String[]::new),
+                unique.stream().map(UserCreatedEvent::getLastName).toArray(String[]::new),
+                unique.stream().map(UserCreatedEvent::isActive).toArray(Boolean[]::new)));
+
+        Map<UUID, Set<String>> roles = new LinkedHashMap<>();
+        unique.stream()
+                .filter(event -> inserted.contains(event.getId()))
+                .forEach(event -> roles.put(event.getId(), event.getRoles()));
+        insertRoles(roles);
+
+        log.info("Created {} user references, {} already existed", inserted.size(), events.size() - inserted.size());
+    }
+
+    @Override
+    @Retryable(
+            retryFor = Exception.class,
+            maxAttemptsExpression = "${retry.maxAttempts:3}",
+            backoff = @Backoff(
+                    delayExpression = "${retry.initialDelay:1000}",
+                    multiplierExpression = "${retry.multiplier:2}",
+                    maxDelayExpression = "${retry.maxDelay:10000}"
+            )
+    )
+    @Transactional
+    public Set<UUID> updateAll(List<UserUpdatedEvent> events) {
+        // The last event for an id wins, like applying them one after another
+        Map<UUID, UserUpdatedEvent> byId = new LinkedHashMap<>();
+        events.forEach(event -> byId.put(event.getId(), event));
+        List<UserUpdatedEvent> unique = new ArrayList<>(byId.values());
+
+        Set<UUID> updated = new HashSet<>(writeUsers(UPDATE_USERS_SQL,
+                unique.stream().map(UserUpdatedEvent::getId).toArray(UUID[]::new),
+                unique.stream().map(UserUpdatedEvent::getUsername).toArray(String[]::new),
+                unique.stream().map(UserUpdatedEvent::getEmail).toArray(String[]::new),
+                unique.stream().map(UserUpdatedEvent::getFirstName).toArray(String[]::new),
+                unique.stream().map(UserUpdatedEvent::getLastName).toArray(String[]::new),
+                unique.stream().map(UserUpdatedEvent::isActive).toArray(Boolean[]::new)));
+
+        Map<UUID, Set<String>> roles = new LinkedHashMap<>();
+        unique.stream()
+                .filter(event -> updated.contains(event.getId()))
+                .forEach(event -> roles.put(event.getId(), event.getRoles()));
+        deleteRoles(roles.keySet());
+        insertRoles(roles);
+
+        Set<UUID> missing = new HashSet<>(byId.keySet());
+        missing.removeAll(updated);
+        log.info("Updated {} user references, {} not found", updated.size(), missing.size());
+        return missing;
+    }
+
+    @Override
+    @Retryable(
+            retryFor = Exception.class,
+            maxAttemptsExpression = "${retry.maxAttempts:3}",
+            backoff = @Backoff(
+                    delayExpression = "${retry.initialDelay:1000}",
+                    multiplierExpression = "${retry.multiplier:2}",
+                    maxDelayExpression = "${retry.maxDelay:10000}"
+            )
+    )
+    @Transactional
+    public void deleteAll(Collection<UUID> ids) {
+        Set<UUID> unique = new HashSet<>(ids);
+        deleteRoles(unique);
+        int deleted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_USERS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", unique.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+        log.info("Deleted {} user references, {} were already gone", deleted, unique.size() - deleted);
+    }
+
+    /**
+     * Runs an insert or update over the unnested columns and returns the ids of the rows it touched.
+     */
+    private List<UUID> writeUsers(String sql, UUID[] ids, String[] usernames, String[] emails,
+                                  String[] firstNames, String[] lastNames, Boolean[] active) {
+        return jdbcTemplate.execute((ConnectionCallback<List<UUID>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setArray(1, connection.createArrayOf("uuid", ids));
+                statement.setArray(2, connection.createArrayOf("varchar", usernames));
+                statement.setArray(3, connection.createArrayOf("varchar", emails));
+                statement.setArray(4, connection.createArrayOf("varchar", firstNames));
+                statement.setArray(5, connection.createArrayOf("varchar", lastNames));
+                statement.setArray(6, connection.createArrayOf("boolean", active));
+                return readIds(statement);
+            }
+        });
+    }
+
+    private void insertRoles(Map<UUID, Set<String>> rolesById) {
+        List<UUID> userIds = new ArrayList<>();
+        List<String> roles = new ArrayList<>();
+        rolesById.forEach((userId, roleNames) -> convertStringRolesToEnums(roleNames).forEach(role -> {
+            userIds.add(userId);
+            roles.add(role.name());
+        }));
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ROLES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", userIds.toArray()));
+                statement.setArray(2, connection.createArrayOf("varchar", roles.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private void deleteRoles(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_ROLES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", userIds.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private static List<UUID> readIds(PreparedStatement statement) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getObject(1, UUID.class));
+            }
+        }
+        return ids;
+    }
+
+    private static Set<Role> convertStringRolesToEnums(Set<String> stringRoles) {
+        if (stringRoles == null) {
+            return Set.of();
+        }
+        Set<Role> roles = new HashSet<>();
+        stringRoles.stream()
+                .map(Role::fromString)
+                .filter(Objects::nonNull)
+                .forEach(roles::add);
+        return roles;
+    }
+}
@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Bytes and queries saved by conditional GETs on a settled leaderboard and a settled stats day.
+# Talks to progress-service directly (the gateway only adds the X-User-Id header):
+#   BASE_URL=http://localhost:8083 USER_ID=<uuid> ./conditional_get.sh
+# With log level DEBUG for org.hibernate.SQL the second and third requests of each pair log no SQL.
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8083}
+USER_ID=${USER_ID:?set USER_ID}
+DAY=$(date -d '7 days ago' +%F)
+REPEAT=${REPEAT:-100}
+
+measure() {
+  local url=$1
+  local etag
+  etag=$(curl -s -D - -o /dev/null -H "X-User-Id: $USER_ID" "$url" | awk 'tolower($1)=="etag:" {print $2}' | tr -d '\r')
+  local full
+  full=$(curl -s -o /dev/null -w '%{size_download}' -H "X-User-Id: $USER_ID" "$url")
+  local start end
+  start=$(date +%s%N)
+  for _ in $(seq "$REPEAT"); do
+    curl -s -o /dev/null -H "X-User-Id: $USER_ID" -H "If-None-Match: $etag" "$url"
+  done
+  end=$(date +%s%N)
+  echo "$url"
+  echo "  full body: $full bytes, $REPEAT revalidations in $(( (end - start) / 1000000 )) ms, 0 body bytes each"
+}
+
+measure "$BASE_URL/api/leaderboard/daily?date=$DAY&limit=100"
+measure "$BASE_URL/api/v1/sessions/stats/daily/$DAY"
+
+echo "Totals since startup:"
+curl -s "$BASE_URL/api/v1/admin/progress/conditional-requests"
+echo
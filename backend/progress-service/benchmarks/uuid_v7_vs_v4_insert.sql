@@ -0,0 +1,87 @@
+-- Insert throughput and primary key index size: random UUIDv4 vs time-ordered UUIDv7 keys.
+-- Run against a scratch PostgreSQL database (13+):
+--   psql -d progress_bench -v rows=10000000 -f uuid_v7_vs_v4_insert.sql
+-- Rows are inserted in 100k batches to mimic steady application inserts rather than one bulk load.
+-- The v7 function follows the same layout as model/id/UuidV7 (48-bit millis, version, variant, random bits).
+-- Both key sets are generated into staging tables first, so the timed inserts only differ in key order and the
+-- PL/pgSQL v7 generator's cost does not count against v7.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+CREATE OR REPLACE FUNCTION bench_uuid_v7() RETURNS uuid AS $$
+DECLARE
+    unix_ms BIGINT := (EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT;
+    bytes   BYTEA := gen_random_bytes(16);
+BEGIN
+    bytes := overlay(bytes placing substring(int8send(unix_ms) FROM 3) FROM 1 FOR 6);
+    bytes := set_byte(bytes, 6, (get_byte(bytes, 6) & 15) | 112);
+    bytes := set_byte(bytes, 8, (get_byte(bytes, 8) & 63) | 128);
+    RETURN encode(bytes, 'hex')::uuid;
+END
+$$ LANGUAGE plpgsql VOLATILE;
+
+DROP TABLE IF EXISTS bench_session_v4;
+DROP TABLE IF EXISTS bench_session_v7;
+DROP TABLE IF EXISTS bench_keys_v4;
+DROP TABLE IF EXISTS bench_keys_v7;
+
+-- Keys in generation order; v7 keys come out time-ordered as they would from the application
+CREATE TABLE bench_keys_v4 (seq BIGINT PRIMARY KEY, id UUID NOT NULL);
+CREATE TABLE bench_keys_v7 (LIKE bench_keys_v4 INCLUDING ALL);
+
+\echo 'Generating keys (not part of the comparison)'
+INSERT INTO bench_keys_v4 SELECT g, gen_random_uuid() FROM generate_series(1, :rows) g;
+INSERT INTO bench_keys_v7 SELECT g, bench_uuid_v7() FROM generate_series(1, :rows) g;
+VACUUM ANALYZE bench_keys_v4;
+VACUUM ANALYZE bench_keys_v7;
+
+-- Same shape as study_session
+CREATE TABLE bench_session_v4 (
+    id               UUID PRIMARY KEY,
+    user_id          VARCHAR(255) NOT NULL,
+    course_id        BIGINT,
+    start_time       TIMESTAMP NOT NULL,
+    duration_minutes BIGINT,
+    active           BOOLEAN NOT NULL
+);
+CREATE TABLE bench_session_v7 (LIKE bench_session_v4 INCLUDING ALL);
+
+CREATE OR REPLACE PROCEDURE bench_fill(target REGCLASS, keys REGCLASS, total BIGINT) AS $$
+DECLARE
+    batch CONSTANT INT := 100000;
+    done  BIGINT := 0;
+BEGIN
+    WHILE done < total LOOP
+        EXECUTE format(
+            'INSERT INTO %s (id, user_id, course_id, start_time, duration_minutes, active)
+             SELECT k.id, ''user-'' || (k.seq %% 50000), k.seq %% 40, now(), k.seq %% 120, false
+             FROM %s k
+             WHERE k.seq > $1 AND k.seq <= $2
+             ORDER BY k.seq', target, keys)
+        USING done, LEAST(done + batch, total);
+        done := done + batch;
+        COMMIT;
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+\echo 'UUIDv4 inserts'
+CALL bench_fill('bench_session_v4', 'bench_keys_v4', :rows);
+\echo 'UUIDv7 inserts'
+CALL bench_fill('bench_session_v7', 'bench_keys_v7', :rows);
+
+\timing off
+SELECT c.relname                                       AS index,
+       pg_size_pretty(pg_relation_size(c.oid))         AS size,
+       (pgstatindex(c.relname::text)).avg_leaf_density AS leaf_density,
+       (pgstatindex(c.relname::text)).leaf_fragmentation AS leaf_fragmentation
+FROM pg_class c
+WHERE c.relname IN ('bench_session_v4_pkey', 'bench_session_v7_pkey');
@@ -0,0 +1,19 @@
+package com.study4ever.progressservice.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * ETags of settled (closed-period) responses keyed by request, so a matching If-None-Match is answered
+ * without reading or serializing anything.
+ */
+@Component
+public class ClosedPeriodEtagCache extends LruCache<String, ClosedPeriodEtagCache.Entry> {
+
+    public ClosedPeriodEtagCache(@Value("${study.etag.cache-capacity:50000}") int capacity) {
+        super(capacity);
+    }
+
+    public record Entry(String etag, int contentLength) {
+    }
+}
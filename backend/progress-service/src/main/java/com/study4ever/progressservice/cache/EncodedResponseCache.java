@@ -0,0 +1,19 @@
+package com.study4ever.progressservice.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Responses kept as the exact bytes written to the client, plain and gzipped, with their ETag.
+ * Used for leaderboards, where every reader of a period asks for the same few boards.
+ */
+@Component
+public class EncodedResponseCache extends LruCache<String, EncodedResponseCache.Entry> {
+
+    public EncodedResponseCache(@Value("${study.leaderboard.response-cache-capacity:1000}") int capacity) {
+        super(capacity);
+    }
+
+    public record Entry(byte[] json, byte[] gzip, String etag) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.study4ever.progressservice.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small bounded LRU cache for per-user read models. Writers invalidate instead of updating in place;
+ * a load that raced with an invalidation is returned to its caller but not cached, so a stale read
+ * can never be pinned after a newer write. Invalidations only reach this node, so caches of data that other
+ * replicas write can give entries a time to live that bounds how long such a write stays unseen.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, Timed<V>> entries;
+    private final long timeToLiveNanos;
+    private long generation;
+
+    public LruCache(int capacity) {
+        this(capacity, null);
+    }
+
+    public LruCache(int capacity, Duration timeToLive) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Timed<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : 0;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock so one slow query does not block every other key
+        V loaded = loader.apply(key);
+
+        synchronized (this) {
+            if (loaded != null && generation == loadGeneration) {
+                store(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized V getIfPresent(K key) {
+        return lookup(key);
+    }
+
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a value computed outside the cache unless an invalidation happened since {@code loadGeneration}.
+     */
+    public synchronized void putIfUnchanged(K key, V value, long loadGeneration) {
+        if (generation == loadGeneration) {
+            store(key, value);
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+        generation++;
+    }
+
+    private V lookup(K key) {
+        Timed<V> cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (timeToLiveNanos > 0 && System.nanoTime() - cached.storedAtNanos() > timeToLiveNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return cached.value();
+    }
+
+    private void store(K key, V value) {
+        entries.put(key, new Timed<>(value, System.nanoTime()));
+    }
+
+    private record Timed<V>(V value, long storedAtNanos) {
+    }
+}
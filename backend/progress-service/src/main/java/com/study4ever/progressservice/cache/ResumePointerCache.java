@@ -0,0 +1,21 @@
+package com.study4ever.progressservice.cache;
+
+import com.study4ever.progressservice.dto.ResumePointerDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resume pointer per user. Users without one are cached as empty so they do not hit the table on every read.
+ * Pointers moved through another replica are only seen once the entry's time to live runs out.
+ */
+@Component
+public class ResumePointerCache extends LruCache<String, Optional<ResumePointerDto>> {
+
+    public ResumePointerCache(@Value("${study.resume.cache-capacity:10000}") int capacity,
+                              @Value("${study.resume.cache-ttl-seconds:30}") long timeToLiveSeconds) {
+        super(capacity, Duration.ofSeconds(timeToLiveSeconds));
+    }
+}
@@ -0,0 +1,136 @@
+package com.study4ever.progressservice.cache;
+
+import com.study4ever.progressservice.dto.StudyStreakDto;
+import com.study4ever.progressservice.model.StreakRanking;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+/**
+ * Keeps the best {@code capacity} streaks per ranking in memory so top-streak reads are O(K).
+ * Each ranking is loaded from the database on first use and then maintained incrementally. When an
+ * entry falls out in a way that could let an unseen streak overtake it, the ranking is reloaded on next read.
+ * Incremental updates only cover writes made on this node, so every ranking is also reloaded once it is older
+ * than the time to live, which bounds how long writes and resets from other replicas stay invisible.
+ */
+@Component
+@Slf4j
+public class TopStreaksIndex {
+
+    private final int capacity;
+    private final long timeToLiveNanos;
+    private final Map<StreakRanking, Ranking> rankings = new EnumMap<>(StreakRanking.class);
+
+    public TopStreaksIndex(@Value("${study.streak.top-index-capacity:100}") int capacity,
+                           @Value("${study.streak.top-index-ttl-seconds:60}") long timeToLiveSeconds) {
+        this.capacity = capacity;
+        this.timeToLiveNanos = Duration.ofSeconds(timeToLiveSeconds).toNanos();
+        for (StreakRanking ranking : StreakRanking.values()) {
+            rankings.put(ranking, new Ranking(ranking));
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns up to limit streaks for the ranking, loading it through the loader (asked for at most
+     * capacity rows) when it is cold or invalidated.
+     */
+    public synchronized List<StudyStreakDto> top(StreakRanking ranking, int limit, IntFunction<List<StudyStreakDto>> loader) {
+        Ranking entries = rankings.get(ranking);
+        if (!entries.loaded
+                || System.nanoTime() - entries.loadedAtNanos > timeToLiveNanos
+                || (ranking == StreakRanking.CURRENT && entries.hasExpired(LocalDate.now()))) {
+            entries.load(loader.apply(capacity));
+        }
+        return entries.sorted.stream().limit(limit).toList();
+    }
+
+    public synchronized void update(StudyStreakDto streak) {
+        for (Ranking ranking : rankings.values()) {
+            ranking.update(streak);
+        }
+    }
+
+    public synchronized void invalidate(StreakRanking ranking) {
+        rankings.get(ranking).loaded = false;
+    }
+
+    private final class Ranking {
+
+        private final StreakRanking type;
+        private final Comparator<StudyStreakDto> order;
+        private final TreeSet<StudyStreakDto> sorted;
+        private final Map<String, StudyStreakDto> byUser = new HashMap<>();
+        private boolean loaded;
+        private long loadedAtNanos;
+        // True when the last load returned fewer rows than capacity, i.e. the set holds every candidate
+        private boolean exhaustive;
+
+        private Ranking(StreakRanking type) {
+            this.type = type;
+            this.order = Comparator.comparingInt(this::value).reversed()
+                    .thenComparing(StudyStreakDto::getUserId);
+            this.sorted = new TreeSet<>(order);
+        }
+
+        private int value(StudyStreakDto streak) {
+            return type == StreakRanking.CURRENT ? streak.getCurrentStreakDays() : streak.getLongestStreakDays();
+        }
+
+        private void load(List<StudyStreakDto> streaks) {
+            sorted.clear();
+            byUser.clear();
+            streaks.stream().filter(streak -> value(streak) > 0).forEach(this::add);
+            exhaustive = sorted.size() < capacity;
+            loaded = true;
+            loadedAtNanos = System.nanoTime();
+            log.debug("Loaded {} {} streaks into top index", sorted.size(), type);
+        }
+
+        private boolean hasExpired(LocalDate today) {
+            return sorted.stream().anyMatch(streak -> streak.getLastStudyDate() != null
+                    && streak.getLastStudyDate().isBefore(today.minusDays(1)));
+        }
+
+        private void update(StudyStreakDto streak) {
+            if (!loaded) {
+                return;
+            }
+
+            StudyStreakDto previous = byUser.remove(streak.getUserId());
+            if (previous != null) {
+                sorted.remove(previous);
+            }
+
+            boolean beatsCutoff = !sorted.isEmpty() && order.compare(streak, sorted.last()) < 0;
+            if (value(streak) > 0 && (exhaustive || beatsCutoff)) {
+                add(streak);
+                while (sorted.size() > capacity) {
+                    byUser.remove(sorted.pollLast().getUserId());
+                    exhaustive = false;
+                }
+            } else if (previous != null && !exhaustive) {
+                // A member fell below the cut-off, so a streak outside the index may now belong in it
+                loaded = false;
+            }
+        }
+
+        private void add(StudyStreakDto streak) {
+            sorted.add(streak);
+            byUser.put(streak.getUserId(), streak);
+        }
+    }
+}
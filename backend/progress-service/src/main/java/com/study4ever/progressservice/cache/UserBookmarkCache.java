@@ -0,0 +1,20 @@
+package com.study4ever.progressservice.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Lesson ids each user has bookmarked, dropped on every bookmark change. Changes made through another replica
+ * are only seen once the entry's time to live runs out.
+ */
+@Component
+public class UserBookmarkCache extends LruCache<String, Set<Long>> {
+
+    public UserBookmarkCache(@Value("${study.bookmark.cache-capacity:10000}") int capacity,
+                             @Value("${study.bookmark.cache-ttl-seconds:30}") long timeToLiveSeconds) {
+        super(capacity, Duration.ofSeconds(timeToLiveSeconds));
+    }
+}
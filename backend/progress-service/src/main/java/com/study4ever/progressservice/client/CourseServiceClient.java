@@ -32,7 +32,7 @@ public class CourseServiceClient {
      * @param courseId The ID of the course to retrieve
      * @return Course details as CourseDetailsDto, or null if not found
      */
-    public CourseDetailsDto getCourseDetails(String courseId) {
+    public CourseDetailsDto getCourseDetails(Long courseId) {
         try {
             String url = courseServiceBaseUrl + "/api/v1/courses/" + courseId + "/details";
             log.debug("Fetching course details from: {}", url);
@@ -63,7 +63,7 @@ public class CourseServiceClient {
      * @param lessonId The ID of the lesson
      * @return Lesson details as LessonDto, or null if not found
      */
-    public LessonDto getLessonDetails(String lessonId) {
+    public LessonDto getLessonDetails(Long lessonId) {
         try {
             String url = courseServiceBaseUrl + "/api/v1/lessons/" + lessonId;
             log.debug("Fetching lesson details from: {}", url);
@@ -2,7 +2,9 @@ package com.study4ever.progressservice.config;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -22,12 +24,18 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.exchanges.study-sessions}")
     private String studySessionExchange;
 
+    @Value("${rabbitmq.exchanges.dead-letter}")
+    private String deadLetterExchange;
+
     @Value("${rabbitmq.queues.user-created}")
     private String userCreatedQueue;
 
     @Value("${rabbitmq.queues.user-deleted}")
     private String userDeletedQueue;
 
+    @Value("${rabbitmq.queues.user-deleted-dlq}")
+    private String userDeletedDeadLetterQueue;
+
     @Value("${rabbitmq.queues.course-enrollment}")
     private String courseEnrollmentQueue;
 
@@ -40,6 +48,12 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.queues.lesson-completion}")
     private String lessonCompletionQueue;
 
+    @Value("${rabbitmq.completion-queues.max-length}")
+    private int completionQueueMaxLength;
+
+    @Value("${rabbitmq.completion-queues.message-ttl-ms}")
+    private int completionQueueMessageTtlMs;
+
     @Value("${rabbitmq.queues.user-login}")
     private String userLoginQueue;
     
@@ -97,9 +111,34 @@ public class RabbitMQConfig {
         return new Queue(userCreatedQueue);
     }
 
+    /**
+     * Erasures that fail are rejected without requeue, so they are dead-lettered instead of dropped.
+     * UserErasureRetryTask retries them from the user_erasure table meanwhile.
+     */
     @Bean
     public Queue userDeletedQueue() {
-        return new Queue(userDeletedQueue);
+        return QueueBuilder.durable(userDeletedQueue)
+                .withArgument("x-dead-letter-exchange", deadLetterExchange)
+                .withArgument("x-dead-letter-routing-key", userDeletedDeadLetterQueue)
+                .build();
+    }
+
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(deadLetterExchange);
+    }
+
+    @Bean
+    public Queue userDeletedDeadLetterQueue() {
+        return QueueBuilder.durable(userDeletedDeadLetterQueue).build();
+    }
+
+    @Bean
+    public Binding userDeletedDeadLetterBinding() {
+        return BindingBuilder
+                .bind(userDeletedDeadLetterQueue())
+                .to(deadLetterExchange())
+                .with(userDeletedDeadLetterQueue);
     }
 
     @Bean
@@ -107,19 +146,32 @@ public class RabbitMQConfig {
         return new Queue(courseEnrollmentQueue);
     }
 
+    /**
+     * The completion queues are filled by the outbox relay but nothing consumes them yet, so they are bounded by
+     * length and message age; the broker drops the oldest messages first. Changing these arguments on an existing
+     * queue needs the queue to be deleted or the bounds applied as a broker policy, RabbitMQ refuses a redeclare.
+     */
     @Bean
     public Queue courseCompletionQueue() {
-        return new Queue(courseCompletionQueue);
+        return completionQueue(courseCompletionQueue);
     }
 
     @Bean
     public Queue moduleCompletionQueue() {
-        return new Queue(moduleCompletionQueue);
+        return completionQueue(moduleCompletionQueue);
     }
 
     @Bean
     public Queue lessonCompletionQueue() {
-        return new Queue(lessonCompletionQueue);
+        return completionQueue(lessonCompletionQueue);
+    }
+
+    private Queue completionQueue(String name) {
+        return QueueBuilder.durable(name)
+                .maxLength(completionQueueMaxLength)
+                .ttl(completionQueueMessageTtlMs)
+                .overflow(QueueBuilder.Overflow.dropHead)
+                .build();
     }
 
     @Bean
@@ -231,6 +283,13 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter());
+
+        // Unroutable messages come back to the outbox relay, which keeps them instead of counting them as published
+        rabbitTemplate.setMandatory(true);
+        rabbitTemplate.setReturnsCallback(returned -> log.warn(
+                "Message {} to {} was returned by the broker: {} {}",
+                returned.getMessage().getMessageProperties().getMessageId(), returned.getRoutingKey(),
+                returned.getReplyCode(), returned.getReplyText()));
         return rabbitTemplate;
     }
 }
@@ -1,21 +1,37 @@
 package com.study4ever.progressservice.controller;
 
+import com.study4ever.progressservice.dto.ConditionalRequestStatsDto;
 import com.study4ever.progressservice.dto.CourseCompletionStatisticsDto;
 import com.study4ever.progressservice.dto.CourseProgressSummaryDto;
 import com.study4ever.progressservice.dto.EnrollmentStatisticsDto;
+import com.study4ever.progressservice.dto.JobLeaseDto;
+import com.study4ever.progressservice.dto.JobRunDto;
+import com.study4ever.progressservice.dto.ProjectionRebuildResultDto;
+import com.study4ever.progressservice.dto.SessionArchiveDto;
 import com.study4ever.progressservice.dto.UserProgressDto;
+import com.study4ever.progressservice.jobs.JobCoordinator;
+import com.study4ever.progressservice.model.PeriodType;
 import com.study4ever.progressservice.service.AdminProgressService;
+import com.study4ever.progressservice.service.ProjectionRebuildService;
+import com.study4ever.progressservice.service.StudySessionPartitionService;
+import com.study4ever.progressservice.service.UserActivityService;
+import com.study4ever.progressservice.util.ConditionalResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -25,57 +41,125 @@ import java.util.List;
 public class AdminProgressController {
 
     private final AdminProgressService adminProgressService;
+    private final UserActivityService userActivityService;
+    private final ConditionalResponses conditionalResponses;
+    private final StudySessionPartitionService studySessionPartitionService;
+    private final ProjectionRebuildService projectionRebuildService;
+    private final JobCoordinator jobCoordinator;
+
+    @GetMapping("/conditional-requests")
+    public ConditionalRequestStatsDto getConditionalRequestStatistics() {
+        return conditionalResponses.getStatistics();
+    }
+
+    @GetMapping("/projections")
+    public List<String> getProjections() {
+        return projectionRebuildService.getProjectionNames();
+    }
+
+    @PostMapping("/projections/{name}/rebuild")
+    public ProjectionRebuildResultDto rebuildProjection(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "4") int parallelism) {
+        log.info("Admin: Rebuilding projection {} with parallelism {}", name, parallelism);
+        return projectionRebuildService.rebuild(name, parallelism);
+    }
+
+    @PostMapping("/projections/{name}/users/{userId}/rebuild")
+    public ProjectionRebuildResultDto rebuildProjectionForUser(@PathVariable String name, @PathVariable String userId) {
+        log.info("Admin: Rebuilding projection {} for user {}", name, userId);
+        return projectionRebuildService.rebuildUser(name, userId);
+    }
+
+    @GetMapping("/jobs")
+    public List<JobLeaseDto> getJobLeases() {
+        return jobCoordinator.getLeases();
+    }
+
+    @GetMapping("/jobs/{name}/runs")
+    public List<JobRunDto> getJobRuns(@PathVariable String name, @RequestParam(defaultValue = "50") int limit) {
+        return jobCoordinator.getRuns(name, limit);
+    }
+
+    @GetMapping("/session-archives")
+    public List<SessionArchiveDto> getSessionArchives() {
+        return studySessionPartitionService.getArchives();
+    }
+
+    @PostMapping("/session-archives/{month}")
+    public SessionArchiveDto archiveSessions(@PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        log.info("Admin: Archiving study sessions for {}", month);
+        return studySessionPartitionService.archiveMonth(month);
+    }
+
+    @PostMapping("/session-archives/{month}/restore")
+    public SessionArchiveDto restoreSessions(@PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        log.info("Admin: Restoring archived study sessions for {}", month);
+        return studySessionPartitionService.restoreMonth(month);
+    }
 
     @GetMapping("/users/{userId}")
     public UserProgressDto getUserProgress(@PathVariable String userId) {
         log.debug("Admin: Getting user progress for user {}", userId);
-        return adminProgressService.getAllUserProgress(0, 1).stream()
-                .filter(progress -> progress.getUserId().equals(userId))
-                .findFirst()
-                .orElse(null);
+        return adminProgressService.getUserProgress(userId);
     }
 
     @GetMapping("/users")
     public List<UserProgressDto> getAllUsersProgress(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        log.debug("Admin: Getting all users progress, page {}, size {}", page, size);
-        return adminProgressService.getAllUserProgress(page, size);
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+            @RequestParam(required = false) String beforeUserId) {
+        log.debug("Admin: Getting all users progress, page {}, size {}, before {}/{}", page, size, beforeTimestamp, beforeUserId);
+        return adminProgressService.getAllUserProgress(page, size, beforeTimestamp, beforeUserId);
     }
 
     @GetMapping("/courses/{courseId}")
-    public CourseProgressSummaryDto getCourseProgressSummary(@PathVariable String courseId) {
+    public CourseProgressSummaryDto getCourseProgressSummary(@PathVariable Long courseId) {
         log.debug("Admin: Getting course progress summary for course {}", courseId);
         return adminProgressService.getCourseProgressSummary(courseId);
     }
 
     @GetMapping("/courses")
-    public List<CourseProgressSummaryDto> getAllCourseProgressSummaries() {
-        log.debug("Admin: Getting all course progress summaries");
-        return adminProgressService.getAllCourseProgressSummaries();
+    public List<CourseProgressSummaryDto> getAllCourseProgressSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "courseId") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        log.debug("Admin: Getting course progress summaries, page {}, size {}, sort {} {}", page, size, sortBy, direction);
+        return adminProgressService.getAllCourseProgressSummaries(page, size, sortBy, direction);
     }
 
     @GetMapping("/enrollments")
     public EnrollmentStatisticsDto getEnrollmentStatistics(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        log.debug("Admin: Getting enrollment statistics from {} to {}", startDate, endDate);
-        return adminProgressService.getNewEnrollmentsByDateRange(startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAILY") PeriodType granularity) {
+        log.debug("Admin: Getting {} enrollment statistics from {} to {}", granularity, startDate, endDate);
+        return adminProgressService.getNewEnrollmentsByDateRange(startDate, endDate, granularity);
     }
 
     @GetMapping("/courses/{courseId}/completions")
     public CourseCompletionStatisticsDto getCourseCompletionStatistics(
-            @PathVariable String courseId,
+            @PathVariable Long courseId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        log.debug("Admin: Getting course completion statistics for course {} from {} to {}", courseId, startDate, endDate);
-        return adminProgressService.getCourseCompletionsByDateRange(courseId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAILY") PeriodType granularity) {
+        log.debug("Admin: Getting {} course completion statistics for course {} from {} to {}", granularity, courseId, startDate, endDate);
+        return adminProgressService.getCourseCompletionsByDateRange(courseId, startDate, endDate, granularity);
+    }
+
+    @PostMapping("/users/{userId}/activity/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildUserActivity(@PathVariable String userId) {
+        log.debug("Admin: Rebuilding activity history for user {}", userId);
+        userActivityService.rebuildFromSessions(userId);
     }
 
     @DeleteMapping("/users/{userId}/reset")
     public void resetUserProgress(
             @PathVariable String userId,
-            @RequestParam(required = false) String courseId) {
+            @RequestParam(required = false) Long courseId) {
         if (courseId != null) {
             log.debug("Admin: Resetting progress for user {} in course {}", userId, courseId);
         } else {
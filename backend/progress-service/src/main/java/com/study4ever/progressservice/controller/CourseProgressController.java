@@ -2,6 +2,7 @@ package com.study4ever.progressservice.controller;
 
 import com.study4ever.progressservice.dto.CourseEnrollmentRequest;
 import com.study4ever.progressservice.dto.CourseProgressDto;
+import com.study4ever.progressservice.dto.CourseProgressTreeDto;
 import com.study4ever.progressservice.dto.ModuleProgressDto;
 import com.study4ever.progressservice.dto.NextLessonDto;
 import com.study4ever.progressservice.service.CourseProgressService;
@@ -38,7 +39,7 @@ public class CourseProgressController {
     @ResponseStatus(HttpStatus.CREATED)
     public String enrollInCourse(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
+            @PathVariable Long courseId,
             @Valid @RequestBody CourseEnrollmentRequest request) {
         log.debug("Initializing course progress for user {} and course {}", userId, courseId);
         courseProgressService.enrollInCourse(userId, courseId, request);
@@ -55,11 +56,19 @@ public class CourseProgressController {
     @GetMapping("/{courseId}/progress")
     public CourseProgressDto getCourseProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Getting course progress for user {} and course {}", userId, courseId);
         return courseProgressService.getCourseProgress(userId, courseId);
     }
 
+    @GetMapping("/{courseId}/progress/tree")
+    public CourseProgressTreeDto getCourseProgressTree(
+            @RequestHeader("X-User-Id") String userId,
+            @PathVariable Long courseId) {
+        log.debug("Getting course progress tree for user {} and course {}", userId, courseId);
+        return courseProgressService.getCourseProgressTree(userId, courseId);
+    }
+
     @GetMapping("/enrolled-courses")
     public List<String> getEnrolledCourses(
             @RequestHeader("X-User-Id") String userId) {
@@ -73,7 +82,7 @@ public class CourseProgressController {
     @PutMapping("/{courseId}/progress/complete")
     public String markCourseCompleted(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Marking course {} as completed for user {}", courseId, userId);
         courseProgressService.markCourseCompleted(userId, courseId);
         return "Course marked as completed successfully";
@@ -82,7 +91,7 @@ public class CourseProgressController {
     @DeleteMapping("/{courseId}/progress/reset")
     public String resetCourseProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Resetting progress for user {} in course {}", userId, courseId);
         courseProgressService.resetCourseProgress(userId, courseId);
         return "Course progress reset successfully";
@@ -91,7 +100,7 @@ public class CourseProgressController {
     @DeleteMapping("/{courseId}/progress/remove")
     public String removeCourseFromEnrolledCourses(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Removing course {} from enrolled courses for user {}", courseId, userId);
         courseProgressService.removeEnrolledCourse(userId, courseId);
         return "Course removed from enrolled courses successfully";
@@ -100,7 +109,7 @@ public class CourseProgressController {
     @GetMapping("/{courseId}/modules/progress")
     public List<ModuleProgressDto> getAllModulesProgressInCourse(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Getting all modules progress for user {} in course {}", userId, courseId);
         return moduleProgressService.getAllModulesProgressInCourse(userId, courseId);
     }
@@ -109,7 +118,7 @@ public class CourseProgressController {
     @GetMapping("/{courseId}/completed")
     public List<String> getCompletedLessonsInCourse(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Getting all completed lessons for user {} in course {}", userId, courseId);
         return lessonProgressService.getCompletedLessonsInCourse(userId, courseId);
     }
@@ -127,7 +136,7 @@ public class CourseProgressController {
     @GetMapping("/{courseId}/continue-learning")
     public NextLessonDto getNextLesson(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.info("Getting next lesson for user {} in course {}", userId, courseId);
         return courseProgressService.getNextLesson(userId, courseId);
     }
@@ -0,0 +1,29 @@
+package com.study4ever.progressservice.controller;
+
+import com.study4ever.progressservice.dto.DashboardDto;
+import com.study4ever.progressservice.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public DashboardDto getDashboard(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "12") int weeks) {
+        log.debug("Getting dashboard for user {}", userId);
+        return dashboardService.getDashboard(userId, days, weeks);
+    }
+}
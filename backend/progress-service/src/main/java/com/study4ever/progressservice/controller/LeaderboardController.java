@@ -1,16 +1,20 @@
 package com.study4ever.progressservice.controller;
 
 import com.study4ever.progressservice.dto.LeaderboardEntryDto;
-import com.study4ever.progressservice.dto.LeaderboardResponseDto;
 import com.study4ever.progressservice.model.PeriodType;
 import com.study4ever.progressservice.service.LeaderboardService;
+import com.study4ever.progressservice.util.ConditionalResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/leaderboard")
@@ -18,39 +22,49 @@ import java.time.LocalDate;
 @Slf4j
 public class LeaderboardController {
 
+    /**
+     * Boards up to this size are kept pre-encoded; larger ones are rare and served uncached.
+     */
+    private static final int MAX_CACHED_LIMIT = 100;
+
     private final LeaderboardService leaderboardService;
+    private final ConditionalResponses conditionalResponses;
 
     @GetMapping("/daily")
-    public ResponseEntity<LeaderboardResponseDto> getDailyLeaderboard(
+    public ResponseEntity<byte[]> getDailyLeaderboard(
             @RequestParam(value = "date", required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            WebRequest request) {
         
         LocalDate targetDate = date != null ? date : LocalDate.now();
         log.info("Getting daily leaderboard for date: {} with limit: {}", targetDate, limit);
         
-        LeaderboardResponseDto leaderboard = leaderboardService.getDailyLeaderboard(targetDate, limit);
-        return ResponseEntity.ok(leaderboard);
+        return respond(request, PeriodType.DAILY, targetDate, targetDate, limit,
+                () -> leaderboardService.getDailyLeaderboard(targetDate, limit));
     }
 
     @GetMapping("/weekly")
-    public ResponseEntity<LeaderboardResponseDto> getWeeklyLeaderboard(
+    public ResponseEntity<byte[]> getWeeklyLeaderboard(
             @RequestParam(value = "startDate", required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            WebRequest request) {
         
-        LocalDate weekStart = startDate != null ? startDate : LocalDate.now().with(java.time.DayOfWeek.MONDAY);
+        LocalDate weekStart = (startDate != null ? startDate : LocalDate.now())
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
         log.info("Getting weekly leaderboard for week starting: {} with limit: {}", weekStart, limit);
         
-        LeaderboardResponseDto leaderboard = leaderboardService.getWeeklyLeaderboard(weekStart, limit);
-        return ResponseEntity.ok(leaderboard);
+        return respond(request, PeriodType.WEEKLY, weekStart, weekStart.plusDays(6), limit,
+                () -> leaderboardService.getWeeklyLeaderboard(weekStart, limit));
     }
 
     @GetMapping("/monthly")
-    public ResponseEntity<LeaderboardResponseDto> getMonthlyLeaderboard(
+    public ResponseEntity<byte[]> getMonthlyLeaderboard(
             @RequestParam(value = "year", required = false) Integer year,
             @RequestParam(value = "month", required = false) Integer month,
-            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            WebRequest request) {
         
         LocalDate now = LocalDate.now();
         int targetYear = year != null ? year : now.getYear();
@@ -58,20 +72,23 @@ public class LeaderboardController {
         
         log.info("Getting monthly leaderboard for {}/{} with limit: {}", targetYear, targetMonth, limit);
         
-        LeaderboardResponseDto leaderboard = leaderboardService.getMonthlyLeaderboard(targetYear, targetMonth, limit);
-        return ResponseEntity.ok(leaderboard);
+        LocalDate monthStart = LocalDate.of(targetYear, targetMonth, 1);
+        LocalDate monthEnd = monthStart.with(TemporalAdjusters.lastDayOfMonth());
+        return respond(request, PeriodType.MONTHLY, monthStart, monthEnd, limit,
+                () -> leaderboardService.getMonthlyLeaderboard(targetYear, targetMonth, limit));
     }
 
     @GetMapping("/yearly")
-    public ResponseEntity<LeaderboardResponseDto> getYearlyLeaderboard(
+    public ResponseEntity<byte[]> getYearlyLeaderboard(
             @RequestParam(value = "year", required = false) Integer year,
-            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            WebRequest request) {
         
         int targetYear = year != null ? year : LocalDate.now().getYear();
         log.info("Getting yearly leaderboard for {} with limit: {}", targetYear, limit);
         
-        LeaderboardResponseDto leaderboard = leaderboardService.getYearlyLeaderboard(targetYear, limit);
-        return ResponseEntity.ok(leaderboard);
+        return respond(request, PeriodType.YEARLY, LocalDate.of(targetYear, 1, 1), LocalDate.of(targetYear, 12, 31), limit,
+                () -> leaderboardService.getYearlyLeaderboard(targetYear, limit));
     }
 
     @GetMapping("/user/{userId}/rank")
@@ -102,4 +119,16 @@ public class LeaderboardController {
         
         return ResponseEntity.ok(message);
     }
+
+    /**
+     * Serves a board from the encoded cache under the period's current ranking version, so a recalculation on
+     * any replica moves every node to a new key. Boards without stored rankings are computed on the fly and
+     * not cached until they are stored.
+     */
+    private ResponseEntity<byte[]> respond(WebRequest request, PeriodType periodType, LocalDate startDate,
+                                           LocalDate endDate, int limit, Supplier<?> loader) {
+        long version = leaderboardService.getLeaderboardVersion(periodType, startDate);
+        String key = ConditionalResponses.leaderboardKey(periodType, startDate) + version + ":" + limit;
+        return conditionalResponses.respondEncoded(request, key, endDate, version > 0 && limit <= MAX_CACHED_LIMIT, loader);
+    }
 }
@@ -11,10 +11,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -28,9 +30,9 @@ public class LessonBookmarkController {
     @ResponseStatus(HttpStatus.CREATED)
     public LessonBookmarkDto addBookmark(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId,
-            @PathVariable String lessonId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable Long lessonId) {
         log.debug("Adding bookmark for user {} to lesson {} in course {}", userId, lessonId, courseId);
         return bookmarkService.addBookmark(userId, courseId, moduleId, lessonId);
     }
@@ -39,7 +41,7 @@ public class LessonBookmarkController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeBookmark(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String lessonId) {
+            @PathVariable Long lessonId) {
         log.debug("Removing bookmark for user {} from lesson {}", userId, lessonId);
         bookmarkService.removeBookmark(userId, lessonId);
     }
@@ -47,11 +49,19 @@ public class LessonBookmarkController {
     @GetMapping("/lessons/{lessonId}/bookmark/status")
     public boolean isBookmarked(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String lessonId) {
+            @PathVariable Long lessonId) {
         log.debug("Checking bookmark status for user {} and lesson {}", userId, lessonId);
         return bookmarkService.isBookmarked(userId, lessonId);
     }
 
+    @GetMapping("/bookmarks/status")
+    public Map<Long, Boolean> getBookmarkStatuses(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam List<Long> lessonIds) {
+        log.debug("Checking bookmark status for user {} and {} lessons", userId, lessonIds.size());
+        return bookmarkService.getBookmarkStatuses(userId, lessonIds);
+    }
+
     @GetMapping("/bookmarks")
     public List<LessonBookmarkDto> getUserBookmarks(
             @RequestHeader("X-User-Id") String userId) {
@@ -62,7 +72,7 @@ public class LessonBookmarkController {
     @GetMapping("/courses/{courseId}/bookmarks")
     public List<LessonBookmarkDto> getUserBookmarksByCourse(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Getting bookmarks for user {} in course {}", userId, courseId);
         return bookmarkService.getUserBookmarksByCourse(userId, courseId);
     }
@@ -78,7 +88,7 @@ public class LessonBookmarkController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeAllUserBookmarks(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId) {
+            @PathVariable Long courseId) {
         log.debug("Removing all bookmarks for user {} in course {}", userId, courseId);
         bookmarkService.removeAllUserBookmarks(userId, courseId);
     }
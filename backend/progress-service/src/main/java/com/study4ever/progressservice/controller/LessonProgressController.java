@@ -29,9 +29,9 @@ public class LessonProgressController {
     @ResponseStatus(HttpStatus.CREATED)
     public LessonProgressDto startNewLesson(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId,
-            @PathVariable String lessonId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable Long lessonId) {
         log.debug("Initializing lesson progress for user {} in course {}, module {}, lesson {}",
                 userId, courseId, moduleId, lessonId);
         return lessonProgressService.initializeLessonProgress(userId, courseId, moduleId, lessonId);
@@ -40,8 +40,8 @@ public class LessonProgressController {
     @GetMapping("/progress")
     public List<LessonProgressDto> getAllLessonsProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId) {
         log.debug("Getting all lessons progress for user {} in course {}, module {}",
                 userId, courseId, moduleId);
         return lessonProgressService.getAllLessonsProgressInModule(userId, courseId, moduleId);
@@ -50,8 +50,8 @@ public class LessonProgressController {
     @GetMapping("/completed")
     public List<String> getCompletedLessons(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId) {
         log.debug("Getting completed lessons for user {} in course {}, module {}",
                 userId, courseId, moduleId);
         return lessonProgressService.getCompletedLessons(userId, courseId, moduleId);
@@ -60,9 +60,9 @@ public class LessonProgressController {
     @GetMapping("/{lessonId}/progress")
     public LessonProgressDto getLessonProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId,
-            @PathVariable String lessonId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable Long lessonId) {
         log.debug("Getting lesson progress for user {} in course {}, module {}, lesson {}",
                 userId, courseId, moduleId, lessonId);
         return lessonProgressService.getLessonProgress(userId, courseId, moduleId, lessonId);
@@ -72,9 +72,9 @@ public class LessonProgressController {
     @ResponseStatus(HttpStatus.OK)
     public void completeLessonProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId,
-            @PathVariable String lessonId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable Long lessonId) {
         log.debug("Marking lesson as completed for user {} in course {}, module {}, lesson {}",
                 userId, courseId, moduleId, lessonId);
         lessonProgressService.markLessonCompleted(userId, courseId, moduleId, lessonId);
@@ -84,9 +84,9 @@ public class LessonProgressController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteLessonProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId,
-            @PathVariable String lessonId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable Long lessonId) {
         log.debug("Deleting lesson progress for user {} in course {}, module {}, lesson {}",
                 userId, courseId, moduleId, lessonId);
         lessonProgressService.deleteLessonProgress(userId, courseId, moduleId, lessonId);
@@ -27,8 +27,8 @@ public class ModuleProgressController {
     @ResponseStatus(HttpStatus.CREATED)
     public ModuleProgressDto startNewModule(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId,
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
             @RequestParam Integer totalLessonsCount) {
         log.debug("Initializing module progress for user {} in course {} and module {}", userId, courseId, moduleId);
         return moduleProgressService.initializeModuleProgress(userId, courseId, moduleId, totalLessonsCount);
@@ -37,8 +37,8 @@ public class ModuleProgressController {
     @GetMapping("/{moduleId}/progress")
     public ModuleProgressDto getModuleProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId) {
         log.debug("Getting module progress for user {} in course {} and module {}", userId, courseId, moduleId);
         return moduleProgressService.getModuleProgress(userId, courseId, moduleId);
     }
@@ -47,8 +47,8 @@ public class ModuleProgressController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeModuleProgress(
             @RequestHeader("X-User-Id") String userId,
-            @PathVariable String courseId,
-            @PathVariable String moduleId) {
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId) {
         log.debug("Removing module progress for user {} in course {} and module {}", userId, courseId, moduleId);
         moduleProgressService.removeModuleProgress(userId, courseId, moduleId);
     }
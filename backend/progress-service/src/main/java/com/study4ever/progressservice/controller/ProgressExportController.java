@@ -0,0 +1,73 @@
+package com.study4ever.progressservice.controller;
+
+import com.study4ever.progressservice.dto.ExportDataset;
+import com.study4ever.progressservice.dto.ExportFilter;
+import com.study4ever.progressservice.dto.ExportFormat;
+import com.study4ever.progressservice.service.ProgressExportService;
+import com.study4ever.progressservice.util.AcceptEncoding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/admin/progress/export")
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final ProgressExportService progressExportService;
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable ExportDataset dataset,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Admin: Exporting {} as {} for user {}, course {}, from {} to {}",
+                dataset, format, userId, courseId, fromDate, toDate);
+
+        ExportFilter filter = ExportFilter.builder()
+                .userId(userId)
+                .courseId(courseId)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+        progressExportService.validateFilter(dataset, filter);
+
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        String fileName = dataset.getTableName() + "." + format.getFileExtension();
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true) : outputStream;
+            progressExportService.export(dataset, format, filter, target);
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -3,6 +3,7 @@ package com.study4ever.progressservice.controller;
 import com.study4ever.progressservice.dto.HeartbeatRequest;
 import com.study4ever.progressservice.dto.StartStudySessionRequest;
 import com.study4ever.progressservice.dto.StudySessionDto;
+import com.study4ever.progressservice.dto.StudySessionPageDto;
 import com.study4ever.progressservice.service.StudySessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -59,10 +60,12 @@ public class StudySessionController {
     }
 
     @GetMapping
-    public List<StudySessionDto> getUserStudySessions(
-            @RequestHeader("X-User-Id") String userId) {
-        log.debug("Getting all study sessions for user {}", userId);
-        return studySessionService.getUserStudySessions(userId);
+    public StudySessionPageDto getUserStudySessions(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("Getting study sessions for user {}, size {}, cursor {}", userId, size, cursor);
+        return studySessionService.getUserStudySessions(userId, cursor, size);
     }
 
     @GetMapping("/admin/active")
@@ -86,12 +89,15 @@ public class StudySessionController {
     }
 
     @GetMapping("/by-date-range")
-    public List<StudySessionDto> getUserStudySessionsByDateRange(
+    public StudySessionPageDto getUserStudySessionsByDateRange(
             @RequestHeader("X-User-Id") String userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        log.debug("Getting study sessions for user {} from {} to {}", userId, startDate, endDate);
-        return studySessionService.getUserStudySessionsByDateRange(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("Getting study sessions for user {} from {} to {}, size {}, cursor {}",
+                userId, startDate, endDate, size, cursor);
+        return studySessionService.getUserStudySessionsByDateRange(userId, startDate, endDate, cursor, size);
     }
 
     @DeleteMapping("/{sessionId}")
@@ -5,10 +5,13 @@ import com.study4ever.progressservice.dto.WeeklyStatsDto;
 import com.study4ever.progressservice.dto.MonthlyStatsDto;
 import com.study4ever.progressservice.dto.YearlyStatsDto;
 import com.study4ever.progressservice.service.StudyStatsService;
+import com.study4ever.progressservice.util.ConditionalResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -20,44 +23,86 @@ import java.util.List;
 public class StudyStatsController {
 
     private final StudyStatsService studyStatsService;
+    private final ConditionalResponses conditionalResponses;
 
+    /**
+     * Day-level stats. Days older than study.stats.daily-retention-days are folded into their month; such days
+     * come back with compacted = true and zero totals, and only the monthly endpoints still cover them.
+     */
     @GetMapping("/daily")
-    public List<DailyStatsDto> getDailyStats(
+    public ResponseEntity<List<DailyStatsDto>> getDailyStats(
             @RequestHeader("X-User-Id") String userId,
-            @RequestParam(defaultValue = "30") int days) {
+            @RequestParam(defaultValue = "30") int days,
+            WebRequest request) {
         log.info("Fetching daily stats for user {} for the last {} days", userId, days);
-        return studyStatsService.getDailyStatsRange(userId, days);
+        return conditionalResponses.respond(request, statsKey(userId, "daily:" + days),
+                LocalDate.now(), () -> studyStatsService.getDailyStatsRange(userId, days));
     }
 
+    /**
+     * Stats of one day; compacted = true when the day is past the retention horizon, see {@link #getDailyStats}.
+     */
+    @GetMapping("/daily/{date}")
+    public ResponseEntity<DailyStatsDto> getDailyStatsForDate(
+            @RequestHeader("X-User-Id") String userId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        log.info("Fetching daily stats for user {} on {}", userId, date);
+        return conditionalResponses.respond(request, statsKey(userId, "day:" + date),
+                date, () -> studyStatsService.getDailyStats(userId, date));
+    }
+
+    /**
+     * Weekly totals built from day-level stats; a week with compacted days is flagged compacted and undercounts.
+     */
     @GetMapping("/weekly")
-    public List<WeeklyStatsDto> getWeeklyStats(
+    public ResponseEntity<List<WeeklyStatsDto>> getWeeklyStats(
             @RequestHeader("X-User-Id") String userId,
-            @RequestParam(defaultValue = "12") int weeks) {
+            @RequestParam(defaultValue = "12") int weeks,
+            WebRequest request) {
         log.info("Fetching weekly stats for user {} for the last {} weeks", userId, weeks);
-        return studyStatsService.getWeeklyStatsRange(userId, weeks);
+        return conditionalResponses.respond(request, statsKey(userId, "weekly:" + weeks),
+                LocalDate.now(), () -> studyStatsService.getWeeklyStatsRange(userId, weeks));
+    }
+
+    @GetMapping("/weekly/{startDate}")
+    public ResponseEntity<WeeklyStatsDto> getWeeklyStatsForWeek(
+            @RequestHeader("X-User-Id") String userId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            WebRequest request) {
+        log.info("Fetching weekly stats for user {} for the week starting {}", userId, startDate);
+        return conditionalResponses.respond(request, statsKey(userId, "week:" + startDate),
+                startDate.plusDays(6), () -> studyStatsService.getWeeklyStats(userId, startDate));
     }
 
     @GetMapping("/monthly")
-    public List<MonthlyStatsDto> getMonthlyStats(
+    public ResponseEntity<List<MonthlyStatsDto>> getMonthlyStats(
             @RequestHeader("X-User-Id") String userId,
-            @RequestParam(defaultValue = "12") int months) {
+            @RequestParam(defaultValue = "12") int months,
+            WebRequest request) {
         log.info("Fetching monthly stats for user {} for the last {} months", userId, months);
-        return studyStatsService.getMonthlyStatsRange(userId, months);
+        return conditionalResponses.respond(request, statsKey(userId, "monthly:" + months),
+                LocalDate.now(), () -> studyStatsService.getMonthlyStatsRange(userId, months));
     }
 
     @GetMapping("/yearly")
-    public List<YearlyStatsDto> getYearlyStats(
+    public ResponseEntity<List<YearlyStatsDto>> getYearlyStats(
             @RequestHeader("X-User-Id") String userId,
-            @RequestParam(defaultValue = "5") int years) {
+            @RequestParam(defaultValue = "5") int years,
+            WebRequest request) {
         log.info("Fetching yearly stats for user {} for the last {} years", userId, years);
-        return studyStatsService.getYearlyStatsRange(userId, years);
+        return conditionalResponses.respond(request, statsKey(userId, "yearly:" + years),
+                LocalDate.now(), () -> studyStatsService.getYearlyStatsRange(userId, years));
     }
 
     @GetMapping("/summary")
-    public YearlyStatsDto getStatsSummary(@RequestHeader("X-User-Id") String userId) {
+    public ResponseEntity<YearlyStatsDto> getStatsSummary(
+            @RequestHeader("X-User-Id") String userId,
+            WebRequest request) {
         log.info("Fetching monthly stats for user {} for current year", userId);
         int currentYear = LocalDate.now().getYear();
-        return studyStatsService.getMonthlyStats(userId, currentYear);
+        return conditionalResponses.respond(request, statsKey(userId, "summary"),
+                LocalDate.now(), () -> studyStatsService.getMonthlyStats(userId, currentYear));
     }
 
     @PostMapping("/recalculate")
@@ -69,4 +114,12 @@ public class StudyStatsController {
         studyStatsService.recalculateStats(userId, startDate, endDate);
         return "Statistics recalculated successfully";
     }
+
+    /**
+     * Cache key under the user's current stats version, so a recalculation or compaction on any replica moves
+     * every node to a new key instead of leaving stale ETags behind.
+     */
+    private String statsKey(String userId, String request) {
+        return ConditionalResponses.userStatsKey(userId) + studyStatsService.getStatsVersion(userId) + ":" + request;
+    }
 }
@@ -1,8 +1,11 @@
 package com.study4ever.progressservice.controller;
 
+import com.study4ever.progressservice.dto.ActivityHeatmapDto;
 import com.study4ever.progressservice.dto.StreakHistoryEntryDto;
 import com.study4ever.progressservice.dto.StudyStreakDto;
+import com.study4ever.progressservice.model.StreakRanking;
 import com.study4ever.progressservice.service.StudyStreakService;
+import com.study4ever.progressservice.service.UserActivityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -26,6 +29,7 @@ import java.util.List;
 public class StudyStreakController {
 
     private final StudyStreakService studyStreakService;
+    private final UserActivityService userActivityService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -49,6 +53,21 @@ public class StudyStreakController {
         return studyStreakService.getStreakHistoryByDateRange(userId, startDate, endDate);
     }
 
+    @GetMapping("/heatmap")
+    public ActivityHeatmapDto getActivityHeatmap(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) Integer year) {
+        int targetYear = year != null ? year : LocalDate.now().getYear();
+        log.info("Getting activity heatmap for user {} in {}", userId, targetYear);
+        return userActivityService.getHeatmap(userId, targetYear);
+    }
+
+    @PutMapping("/longest/recalculate")
+    public StudyStreakDto recalculateLongestStreak(@RequestHeader("X-User-Id") String userId) {
+        log.info("Recalculating longest streak for user {}", userId);
+        return studyStreakService.recalculateLongestStreak(userId);
+    }
+
     @PutMapping("/reset")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void resetStreak(@RequestHeader("X-User-Id") String userId) {
@@ -57,8 +76,10 @@ public class StudyStreakController {
     }
 
     @GetMapping("/top")
-    public List<StudyStreakDto> getTopStreaks(@RequestParam(defaultValue = "10") int limit) {
-        log.info("Getting top {} streaks", limit);
-        return studyStreakService.getTopStreaks(limit);
+    public List<StudyStreakDto> getTopStreaks(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "CURRENT") StreakRanking ranking) {
+        log.info("Getting top {} {} streaks", limit, ranking);
+        return studyStreakService.getTopStreaks(ranking, limit);
     }
 }
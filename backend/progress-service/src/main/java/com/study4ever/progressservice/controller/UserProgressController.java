@@ -1,6 +1,8 @@
 package com.study4ever.progressservice.controller;
 
+import com.study4ever.progressservice.dto.ResumePointerDto;
 import com.study4ever.progressservice.dto.UserProgressDto;
+import com.study4ever.progressservice.service.ResumePointerService;
 import com.study4ever.progressservice.service.UserProgressService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,10 +18,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserProgressController {
 
     private final UserProgressService userProgressService;
+    private final ResumePointerService resumePointerService;
 
     @GetMapping
     public UserProgressDto getCurrentUserProgress(@RequestHeader("X-User-Id") String userId) {
         log.debug("Getting current user progress for user {}", userId);
         return userProgressService.getUserProgress(userId);
     }
+
+    @GetMapping("/resume")
+    public ResumePointerDto getResumePointer(@RequestHeader("X-User-Id") String userId) {
+        log.debug("Getting resume pointer for user {}", userId);
+        return resumePointerService.getResumePointer(userId);
+    }
 }
@@ -0,0 +1,22 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHeatmapDto {
+    private String userId;
+    private Integer year;
+    private Integer activeDays;
+    private Long totalMinutes;
+    private Integer longestStreakDays;
+    private Map<LocalDate, Integer> minutesByDate;
+}
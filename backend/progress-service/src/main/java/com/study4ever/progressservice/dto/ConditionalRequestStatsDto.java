@@ -0,0 +1,18 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConditionalRequestStatsDto {
+    private long requests;
+    private long notModified;
+    private long loadsSkipped;
+    private long bytesSent;
+    private long bytesSaved;
+}
@@ -1,5 +1,6 @@
 package com.study4ever.progressservice.dto;
 
+import com.study4ever.progressservice.model.PeriodType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,5 +17,6 @@ public class CourseCompletionStatisticsDto {
     private String courseId;
     private LocalDate startDate;
     private LocalDate endDate;
+    private PeriodType granularity;
     private Map<LocalDate, Integer> completionsByDate;
 }
@@ -14,6 +14,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class CourseProgressSummaryDto {
     private String courseId;
+    private Long enrollments;
+    private Long completions;
     private ProgressStatus status;
     private Float completionPercentage;
     private LocalDateTime lastAccessDate;
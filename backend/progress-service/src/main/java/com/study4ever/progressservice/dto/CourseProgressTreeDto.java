@@ -0,0 +1,17 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseProgressTreeDto {
+    private CourseProgressDto course;
+    private List<ModuleProgressNodeDto> modules;
+}
@@ -17,4 +17,6 @@ public class DailyStatsDto {
     private Long durationMinutes;
     private Integer sessionCount;
     private Double percentageChange;
+    // Day-level data was folded into the month; duration and session count are 0, see the monthly stats instead
+    private boolean compacted;
 }
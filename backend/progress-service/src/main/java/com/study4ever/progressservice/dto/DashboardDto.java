@@ -0,0 +1,30 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the learner dashboard renders. A section that failed or timed out is null and its
+ * entry in {@code sections} says why.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDto {
+    private UserProgressDto progress;
+    private StudyStreakDto streak;
+    private List<DailyStatsDto> dailyStats;
+    private List<WeeklyStatsDto> weeklyStats;
+    private YearlyStatsDto statsSummary;
+    private List<CourseProgressDto> courses;
+    private StudySessionDto activeSession;
+    private boolean partial;
+    private Long durationMillis;
+    private Map<String, DashboardSectionMeta> sections;
+}
@@ -0,0 +1,16 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSectionMeta {
+    private DashboardSectionStatus status;
+    private Long durationMillis;
+    private String error;
+}
@@ -0,0 +1,8 @@
+package com.study4ever.progressservice.dto;
+
+public enum DashboardSectionStatus {
+    OK,
+    FAILED,
+    TIMED_OUT,
+    REJECTED
+}
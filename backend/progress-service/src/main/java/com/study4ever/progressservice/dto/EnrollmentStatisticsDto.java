@@ -1,5 +1,6 @@
 package com.study4ever.progressservice.dto;
 
+import com.study4ever.progressservice.model.PeriodType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,5 +16,6 @@ import java.util.Map;
 public class EnrollmentStatisticsDto {
     private LocalDate startDate;
     private LocalDate endDate;
+    private PeriodType granularity;
     private Map<LocalDate, Integer> enrollmentsByDate;
 }
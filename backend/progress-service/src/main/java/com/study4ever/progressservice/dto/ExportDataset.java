@@ -0,0 +1,20 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tables that can be streamed through the admin export endpoint, with the columns used by its filters.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportDataset {
+    COURSE_PROGRESS("course_progress", "course_id", "enrollment_date"),
+    LESSON_PROGRESS("lesson_progress", "course_id", "first_access_date"),
+    STUDY_SESSION("study_session", "course_id", "start_time"),
+    STUDY_SESSION_STATS("study_session_stats", null, "stats_date");
+
+    private final String tableName;
+    private final String courseColumn;
+    private final String dateColumn;
+}
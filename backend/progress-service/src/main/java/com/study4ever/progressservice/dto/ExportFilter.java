@@ -0,0 +1,19 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportFilter {
+    private String userId;
+    private Long courseId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+}
@@ -11,6 +11,6 @@ import java.util.UUID;
 @AllArgsConstructor
 public class HeartbeatRequest {
     private UUID sessionId;
-    private String moduleId;
-    private String lessonId;
+    private Long moduleId;
+    private Long lessonId;
 }
@@ -0,0 +1,21 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLeaseDto {
+    private String jobName;
+    private String owner;
+    private long fencingToken;
+    private Instant leaseUntil;
+    private Instant acquiredAt;
+    private Instant renewedAt;
+}
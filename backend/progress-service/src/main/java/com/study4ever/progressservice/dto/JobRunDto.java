@@ -0,0 +1,26 @@
+package com.study4ever.progressservice.dto;
+
+import com.study4ever.progressservice.model.JobRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunDto {
+    private UUID id;
+    private String jobName;
+    private String instanceKey;
+    private String owner;
+    private long fencingToken;
+    private JobRunStatus status;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A module in the course progress tree. {@code progress} is null when the user has lesson progress
+ * in a module that has no module progress row yet.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModuleProgressNodeDto {
+    private String moduleId;
+    private ModuleProgressDto progress;
+    private List<LessonProgressDto> lessons;
+}
@@ -0,0 +1,28 @@
+package com.study4ever.progressservice.dto;
+
+import com.study4ever.progressservice.model.ProgressEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published on the events exchange when a lesson, module or course is completed. The event id is the id of the
+ * matching progress_event row, so consumers can use it to drop redeliveries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressCompletionEvent {
+    private UUID eventId;
+    private ProgressEventType type;
+    private String userId;
+    private Long courseId;
+    private Long moduleId;
+    private Long lessonId;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,20 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionRebuildResultDto {
+    private String projection;
+    private int parallelism;
+    private long users;
+    private long events;
+    private long lateUsers;
+    private long durationMillis;
+    private long eventsPerSecond;
+}
@@ -0,0 +1,21 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumePointerDto {
+    private String courseId;
+    private String moduleId;
+    private String lessonId;
+    private String lessonTitle;
+    private Float courseCompletionPercentage;
+    private LocalDateTime lastUpdated;
+}
@@ -0,0 +1,25 @@
+package com.study4ever.progressservice.dto;
+
+import com.study4ever.progressservice.model.ArchiveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionArchiveDto {
+    private YearMonth month;
+    private String partitionName;
+    private String filePath;
+    private Long rowCount;
+    private String archivedBy;
+    private ArchiveStatus status;
+    private LocalDateTime archivedAt;
+    private LocalDateTime restoredAt;
+}
@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class StartStudySessionRequest {
-    private String courseId;
-    private String moduleId;
-    private String lessonId;
+    private Long courseId;
+    private Long moduleId;
+    private Long lessonId;
 }
@@ -0,0 +1,20 @@
+package com.study4ever.progressservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's session history, newest first. {@code nextCursor} is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudySessionPageDto {
+    private List<StudySessionDto> sessions;
+    private String nextCursor;
+}
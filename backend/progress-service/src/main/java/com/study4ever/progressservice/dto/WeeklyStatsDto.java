@@ -20,4 +20,6 @@ public class WeeklyStatsDto {
     private Long totalDurationMinutes;
     private Integer totalSessionCount;
     private Double percentageChange;
+    // At least one day is compacted, so the totals only cover the days that still have day-level data
+    private boolean compacted;
 }
@@ -0,0 +1,98 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Completed-lesson counters and completion state of course_progress: distinct lessons completed and the first
+ * course completion since the course was last reset. Duplicate lesson_progress rows inflate the live count, this
+ * one cannot drift that way.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseProgressProjection implements ProgressProjection<List<CourseProgressProjection.State>> {
+
+    private static final String UPDATE_SQL = """
+            UPDATE course_progress
+            SET completed_lessons_count = ?,
+                status = CASE WHEN ? THEN 'COMPLETED'
+                              WHEN ? > 0 THEN 'IN_PROGRESS'
+                              WHEN status = 'COMPLETED' THEN 'NOT_STARTED'
+                              ELSE status END,
+                completed = ?,
+                completion_date = ?,
+                completion_percentage = CASE WHEN total_lessons_count > 0
+                                             THEN LEAST(100.0, ? * 100.0 / total_lessons_count)
+                                             ELSE 0 END,
+                updated_at = now()
+            WHERE user_id = ? AND course_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record State(String userId, long courseId, int completedLessons, LocalDateTime completedAt) {
+    }
+
+    @Override
+    public String getName() {
+        return "course-progress";
+    }
+
+    @Override
+    public List<State> fold(String userId, List<ProgressEvent> events) {
+        Map<Long, Set<Long>> completedByCourse = new LinkedHashMap<>();
+        Map<Long, LocalDateTime> completedAt = new HashMap<>();
+        for (ProgressEvent event : events) {
+            if (event.getCourseId() == null) {
+                continue;
+            }
+            switch (event.getType()) {
+                case LESSON_COMPLETED -> completedByCourse
+                        .computeIfAbsent(event.getCourseId(), id -> new HashSet<>())
+                        .add(event.getLessonId());
+                case COURSE_COMPLETED -> {
+                    completedByCourse.computeIfAbsent(event.getCourseId(), id -> new HashSet<>());
+                    completedAt.putIfAbsent(event.getCourseId(), event.getOccurredAt());
+                }
+                case COURSE_RESET -> {
+                    completedByCourse.put(event.getCourseId(), new HashSet<>());
+                    completedAt.remove(event.getCourseId());
+                }
+                default -> {
+                    // other events do not change the completed lessons
+                }
+            }
+        }
+        return completedByCourse.entrySet().stream()
+                .map(entry -> new State(userId, entry.getKey(), entry.getValue().size(),
+                        completedAt.get(entry.getKey())))
+                .toList();
+    }
+
+    @Override
+    public void write(List<List<State>> states) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, states.stream()
+                .flatMap(List::stream)
+                .map(state -> new Object[]{
+                        state.completedLessons(),
+                        state.completedAt() != null,
+                        state.completedLessons(),
+                        state.completedAt() != null,
+                        state.completedAt(),
+                        state.completedLessons(),
+                        state.userId(),
+                        state.courseId()
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,101 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import com.study4ever.progressservice.model.ProgressEventType;
+import com.study4ever.progressservice.model.ProgressStatus;
+import com.study4ever.progressservice.model.id.UuidV7;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rows of lesson_progress: every lesson accessed or completed since its course was last reset. Missing rows are
+ * recreated. Rows the log knows nothing about (lessons opened before the log existed) are left alone, and access
+ * dates only widen, since the seeded log holds completions but no accesses.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonProgressProjection implements ProgressProjection<List<LessonProgressProjection.State>> {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO lesson_progress (id, user_id, course_id, module_id, lesson_id, status, first_access_date,
+                                         last_access_date, completion_date, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now())
+            ON CONFLICT (user_id, course_id, module_id, lesson_id) DO UPDATE
+            SET status = EXCLUDED.status,
+                first_access_date = LEAST(lesson_progress.first_access_date, EXCLUDED.first_access_date),
+                last_access_date = GREATEST(lesson_progress.last_access_date, EXCLUDED.last_access_date),
+                completion_date = EXCLUDED.completion_date,
+                updated_at = now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record State(String userId, long courseId, long moduleId, long lessonId, LocalDateTime firstAccess,
+                        LocalDateTime lastAccess, LocalDateTime completedAt) {
+    }
+
+    private record LessonKey(long courseId, long moduleId, long lessonId) {
+    }
+
+    @Override
+    public String getName() {
+        return "lesson-progress";
+    }
+
+    @Override
+    public List<State> fold(String userId, List<ProgressEvent> events) {
+        Map<LessonKey, State> lessons = new LinkedHashMap<>();
+        for (ProgressEvent event : events) {
+            if (event.getCourseId() == null) {
+                continue;
+            }
+            switch (event.getType()) {
+                case LESSON_ACCESSED, LESSON_COMPLETED -> record(lessons, userId, event);
+                case COURSE_RESET -> lessons.keySet().removeIf(key -> key.courseId() == event.getCourseId());
+                default -> {
+                    // module, course and session events do not touch lesson rows
+                }
+            }
+        }
+        return List.copyOf(lessons.values());
+    }
+
+    private static void record(Map<LessonKey, State> lessons, String userId, ProgressEvent event) {
+        if (event.getModuleId() == null || event.getLessonId() == null) {
+            return;
+        }
+        LessonKey key = new LessonKey(event.getCourseId(), event.getModuleId(), event.getLessonId());
+        State previous = lessons.get(key);
+        LocalDateTime at = event.getOccurredAt();
+        LocalDateTime completedAt = previous != null ? previous.completedAt() : null;
+        if (completedAt == null && event.getType() == ProgressEventType.LESSON_COMPLETED) {
+            completedAt = at;
+        }
+        lessons.put(key, new State(userId, key.courseId(), key.moduleId(), key.lessonId(),
+                previous != null ? previous.firstAccess() : at, at, completedAt));
+    }
+
+    @Override
+    public void write(List<List<State>> states) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, states.stream()
+                .flatMap(List::stream)
+                .map(state -> new Object[]{
+                        UuidV7.randomUuid(),
+                        state.userId(),
+                        state.courseId(),
+                        state.moduleId(),
+                        state.lessonId(),
+                        (state.completedAt() != null ? ProgressStatus.COMPLETED : ProgressStatus.IN_PROGRESS).name(),
+                        state.firstAccess(),
+                        state.lastAccess(),
+                        state.completedAt()
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,104 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Status, completion date and percentage of module_progress since the course was last reset. Module rows carry
+ * lesson totals from the course service, so only existing rows are updated; enrollment recreates missing ones.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModuleProgressProjection implements ProgressProjection<List<ModuleProgressProjection.State>> {
+
+    private static final String UPDATE_SQL = """
+            UPDATE module_progress
+            SET status = CASE WHEN ? THEN 'COMPLETED'
+                              WHEN ? > 0 THEN 'IN_PROGRESS'
+                              WHEN status = 'COMPLETED' THEN 'NOT_STARTED'
+                              ELSE status END,
+                completion_percentage = CASE WHEN total_lessons_count > 0
+                                             THEN LEAST(100.0, ? * 100.0 / total_lessons_count)
+                                             ELSE 0 END,
+                completion_date = ?,
+                updated_at = now()
+            WHERE user_id = ? AND course_id = ? AND module_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record State(String userId, long courseId, long moduleId, int completedLessons,
+                        LocalDateTime completedAt) {
+    }
+
+    private record ModuleKey(long courseId, long moduleId) {
+    }
+
+    @Override
+    public String getName() {
+        return "module-progress";
+    }
+
+    @Override
+    public List<State> fold(String userId, List<ProgressEvent> events) {
+        Map<ModuleKey, Set<Long>> completedLessons = new LinkedHashMap<>();
+        Map<ModuleKey, LocalDateTime> completedAt = new LinkedHashMap<>();
+        for (ProgressEvent event : events) {
+            if (event.getCourseId() == null) {
+                continue;
+            }
+            ModuleKey key = event.getModuleId() != null
+                    ? new ModuleKey(event.getCourseId(), event.getModuleId())
+                    : null;
+            switch (event.getType()) {
+                case LESSON_COMPLETED -> {
+                    if (key != null) {
+                        completedLessons.computeIfAbsent(key, k -> new HashSet<>()).add(event.getLessonId());
+                    }
+                }
+                case MODULE_COMPLETED -> {
+                    if (key != null) {
+                        completedLessons.computeIfAbsent(key, k -> new HashSet<>());
+                        completedAt.putIfAbsent(key, event.getOccurredAt());
+                    }
+                }
+                case COURSE_RESET -> {
+                    completedLessons.keySet().removeIf(module -> module.courseId() == event.getCourseId());
+                    completedAt.keySet().removeIf(module -> module.courseId() == event.getCourseId());
+                }
+                default -> {
+                    // accesses, course and session events do not change a module's completion
+                }
+            }
+        }
+        return completedLessons.entrySet().stream()
+                .map(entry -> new State(userId, entry.getKey().courseId(), entry.getKey().moduleId(),
+                        entry.getValue().size(), completedAt.get(entry.getKey())))
+                .toList();
+    }
+
+    @Override
+    public void write(List<List<State>> states) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, states.stream()
+                .flatMap(List::stream)
+                .map(state -> new Object[]{
+                        state.completedAt() != null,
+                        state.completedLessons(),
+                        state.completedLessons(),
+                        state.completedAt(),
+                        state.userId(),
+                        state.courseId(),
+                        state.moduleId()
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,72 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import com.study4ever.progressservice.model.ProgressEventType;
+import com.study4ever.progressservice.outbox.CompletionEventOutbox;
+import com.study4ever.progressservice.repository.ProgressEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends to the progress event log. Every method requires the caller's transaction, so an event is stored
+ * exactly when the state change it describes commits. Completions are also handed to the outbox for publishing.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProgressEventLog {
+
+    private final ProgressEventRepository progressEventRepository;
+    private final CompletionEventOutbox completionEventOutbox;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lessonAccessed(String userId, Long courseId, Long moduleId, Long lessonId) {
+        append(event(userId, ProgressEventType.LESSON_ACCESSED, courseId, moduleId, lessonId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lessonCompleted(String userId, Long courseId, Long moduleId, Long lessonId) {
+        append(event(userId, ProgressEventType.LESSON_COMPLETED, courseId, moduleId, lessonId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moduleCompleted(String userId, Long courseId, Long moduleId) {
+        append(event(userId, ProgressEventType.MODULE_COMPLETED, courseId, moduleId, null));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void courseCompleted(String userId, Long courseId) {
+        append(event(userId, ProgressEventType.COURSE_COMPLETED, courseId, null, null));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void courseReset(String userId, Long courseId) {
+        append(event(userId, ProgressEventType.COURSE_RESET, courseId, null, null));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sessionEnded(String userId, Long courseId, int durationMinutes) {
+        ProgressEvent event = event(userId, ProgressEventType.SESSION_ENDED, courseId, null, null);
+        event.setDurationMinutes(durationMinutes);
+        append(event);
+    }
+
+    private static ProgressEvent event(String userId, ProgressEventType type,
+                                       Long courseId, Long moduleId, Long lessonId) {
+        return ProgressEvent.builder()
+                .userId(userId)
+                .type(type)
+                .courseId(courseId)
+                .moduleId(moduleId)
+                .lessonId(lessonId)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void append(ProgressEvent event) {
+        completionEventOutbox.enqueue(progressEventRepository.save(event));
+    }
+}
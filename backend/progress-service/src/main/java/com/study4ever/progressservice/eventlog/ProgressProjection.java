@@ -0,0 +1,29 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+
+import java.util.List;
+
+/**
+ * A table derived from the progress event log. The rebuild engine folds each user's complete history into a state
+ * and hands the states over in batches.
+ *
+ * @param <S> folded state of one user
+ */
+public interface ProgressProjection<S> {
+
+    /**
+     * Name used to pick the projection for a rebuild.
+     */
+    String getName();
+
+    /**
+     * Folds one user's events, oldest first. Must not touch the database; it runs once per user.
+     */
+    S fold(String userId, List<ProgressEvent> events);
+
+    /**
+     * Writes a batch of folded states. Writes must be idempotent so a rebuild can be repeated.
+     */
+    void write(List<S> states);
+}
@@ -0,0 +1,75 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lifetime counters of user_progress. They only ever grow in the live code, so resets do not take anything back.
+ * The last activity time is only moved forward because logins update it without an event.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProgressProjection implements ProgressProjection<UserProgressProjection.State> {
+
+    private static final String UPDATE_SQL = """
+            UPDATE user_progress
+            SET total_completed_lessons = ?,
+                total_completed_modules = ?,
+                total_completed_courses = ?,
+                total_study_time_minutes = ?,
+                last_active_timestamp = GREATEST(last_active_timestamp, ?),
+                updated_at = now()
+            WHERE user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record State(String userId, int completedLessons, int completedModules, int completedCourses,
+                        long studyTimeMinutes, LocalDateTime lastActive) {
+    }
+
+    @Override
+    public String getName() {
+        return "user-progress";
+    }
+
+    @Override
+    public State fold(String userId, List<ProgressEvent> events) {
+        int lessons = 0;
+        int modules = 0;
+        int courses = 0;
+        long minutes = 0;
+        for (ProgressEvent event : events) {
+            switch (event.getType()) {
+                case LESSON_COMPLETED -> lessons++;
+                case MODULE_COMPLETED -> modules++;
+                case COURSE_COMPLETED -> courses++;
+                case SESSION_ENDED -> minutes += event.getDurationMinutes() != null ? event.getDurationMinutes() : 0;
+                default -> {
+                    // accessed and reset events do not move the lifetime counters
+                }
+            }
+        }
+        LocalDateTime lastActive = events.get(events.size() - 1).getOccurredAt();
+        return new State(userId, lessons, modules, courses, minutes, lastActive);
+    }
+
+    @Override
+    public void write(List<State> states) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, states.stream()
+                .map(state -> new Object[]{
+                        state.completedLessons(),
+                        state.completedModules(),
+                        state.completedCourses(),
+                        state.studyTimeMinutes(),
+                        state.lastActive(),
+                        state.userId()
+                })
+                .toList());
+    }
+}
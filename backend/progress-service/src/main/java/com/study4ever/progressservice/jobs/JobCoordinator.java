@@ -0,0 +1,366 @@
+package com.study4ever.progressservice.jobs;
+
+import com.study4ever.progressservice.dto.JobLeaseDto;
+import com.study4ever.progressservice.dto.JobRunDto;
+import com.study4ever.progressservice.exception.BadRequestException;
+import com.study4ever.progressservice.model.JobRunStatus;
+import com.study4ever.progressservice.model.id.UuidV7;
+import com.study4ever.progressservice.repository.JobLeaseRepository;
+import com.study4ever.progressservice.repository.JobRunRepository;
+import com.study4ever.progressservice.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs scheduled jobs on one replica at a time. Each job has a row in job_lease, and a node runs the job only after
+ * taking that row over, which it can do once the lease is released or has expired. The lease is renewed in the
+ * background while the job runs, up to the job's maximum run time, so a hung node loses it and another node takes
+ * the job over on its next trigger.
+ * <p>
+ * Every takeover bumps the fencing token. Jobs call {@link #assertLeaseHeld()} inside their write transactions,
+ * which compares the token and share-locks the lease row right before commit, so a node that stalled past its
+ * lease cannot commit after the takeover.
+ * Runs are recorded in job_run, and a run whose instance key already succeeded is skipped.
+ */
+@Component
+@Slf4j
+public class JobCoordinator {
+
+    public static final int MAX_RUNS_PAGE_SIZE = 500;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final ThreadLocal<HeldLease> CURRENT_LEASE = new ThreadLocal<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final JobRunRepository jobRunRepository;
+    private final String nodeId;
+    private final Duration leaseDuration;
+    private final int historyRetentionDays;
+    private final long renewalLockTimeoutMillis;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService renewalTimer;
+    private final ExecutorService renewals;
+
+    public JobCoordinator(JdbcTemplate jdbcTemplate,
+                          JobLeaseRepository jobLeaseRepository,
+                          JobRunRepository jobRunRepository,
+                          @Value("${study.jobs.node-id:}") String nodeId,
+                          @Value("${study.jobs.lease-seconds:60}") long leaseSeconds,
+                          @Value("${study.jobs.history-retention-days:90}") int historyRetentionDays,
+                          @Value("${study.jobs.renewal-lock-timeout-millis:2000}") long renewalLockTimeoutMillis,
+                          PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.jobRunRepository = jobRunRepository;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.historyRetentionDays = historyRetentionDays;
+        this.renewalLockTimeoutMillis = renewalLockTimeoutMillis;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.renewalTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-renewal-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger renewalThreads = new AtomicInteger();
+        this.renewals = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-renewal-" + renewalThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Job coordinator running as node {}", this.nodeId);
+    }
+
+    /**
+     * The name this replica records on leases and runs. Set study.jobs.node-id to keep it stable across restarts.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs the task if this node can take the job's lease and the instance has not succeeded yet. Returns whether
+     * the task ran. A failure of the task is recorded and rethrown. A null instance key disables the skip, for
+     * jobs that are safe to repeat.
+     */
+    public boolean runExclusively(String jobName, String instanceKey, Duration maxRunTime, Runnable task) {
+        if (CURRENT_LEASE.get() != null) {
+            throw new IllegalStateException("Job " + CURRENT_LEASE.get().jobName + " is already running on this thread");
+        }
+        Long fencingToken = tryAcquire(jobName);
+        if (fencingToken == null) {
+            log.debug("Skipping job {}, its lease is held by another node", jobName);
+            return false;
+        }
+
+        HeldLease lease = new HeldLease(jobName, fencingToken, System.nanoTime() + maxRunTime.toNanos());
+        UUID runId = null;
+        ScheduledFuture<?> renewal = null;
+        try {
+            if (instanceKey != null && hasSucceeded(jobName, instanceKey)) {
+                log.debug("Skipping job {} for {}, it already succeeded", jobName, instanceKey);
+                return false;
+            }
+            abandonStaleRuns(lease);
+            runId = startRun(lease, instanceKey);
+
+            long renewPeriodMillis = Math.max(1, leaseDuration.toMillis() / 3);
+            renewal = renewalTimer.scheduleAtFixedRate(
+                    () -> submitRenewal(lease), renewPeriodMillis, renewPeriodMillis, TimeUnit.MILLISECONDS);
+            CURRENT_LEASE.set(lease);
+            task.run();
+            finishRun(runId, JobRunStatus.SUCCEEDED, null);
+            return true;
+        } catch (RuntimeException e) {
+            if (runId != null) {
+                finishRun(runId, JobRunStatus.FAILED, e.toString());
+            }
+            throw e;
+        } finally {
+            CURRENT_LEASE.remove();
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+            release(lease);
+        }
+    }
+
+    /**
+     * Fails with {@link LeaseLostException} if the job running on this thread no longer holds its lease. Inside a
+     * transaction the check runs as the last statement before commit and share-locks the lease row only for the
+     * commit itself, so no other node can take the lease over before the caller's writes are in, while renewals
+     * are not held up for the length of the job's transaction. Outside a transaction it only checks once and fences
+     * nothing, so batch jobs call it inside each batch's transaction. Does nothing outside a coordinated job, such
+     * as an admin-triggered recalculation.
+     */
+    public void assertLeaseHeld() {
+        HeldLease lease = CURRENT_LEASE.get();
+        if (lease != null) {
+            TransactionCallbacks.beforeCommit(() -> checkFencingToken(lease));
+        }
+    }
+
+    private void checkFencingToken(HeldLease lease) {
+        Long fencingToken = jdbcTemplate.query(
+                "SELECT fencing_token FROM job_lease WHERE job_name = ? FOR SHARE",
+                resultSet -> resultSet.next() ? resultSet.getLong(1) : null, lease.jobName);
+        if (fencingToken == null || fencingToken != lease.fencingToken) {
+            throw new LeaseLostException(lease.jobName, lease.fencingToken);
+        }
+    }
+
+    public List<JobLeaseDto> getLeases() {
+        return jobLeaseRepository.findAllByOrderByJobNameAsc().stream()
+                .map(lease -> JobLeaseDto.builder()
+                        .jobName(lease.getJobName())
+                        .owner(lease.getOwner())
+                        .fencingToken(lease.getFencingToken())
+                        .leaseUntil(lease.getLeaseUntil())
+                        .acquiredAt(lease.getAcquiredAt())
+                        .renewedAt(lease.getRenewedAt())
+                        .build())
+                .toList();
+    }
+
+    public List<JobRunDto> getRuns(String jobName, int limit) {
+        if (limit < 1 || limit > MAX_RUNS_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_RUNS_PAGE_SIZE);
+        }
+        return jobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, PageRequest.of(0, limit)).stream()
+                .map(run -> JobRunDto.builder()
+                        .id(run.getId())
+                        .jobName(run.getJobName())
+                        .instanceKey(run.getInstanceKey())
+                        .owner(run.getOwner())
+                        .fencingToken(run.getFencingToken())
+                        .status(run.getStatus())
+                        .startedAt(run.getStartedAt())
+                        .finishedAt(run.getFinishedAt())
+                        .error(run.getError())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Takes the lease if it is free or expired and returns the new fencing token, or null if another node holds
+     * it. The plain read first keeps a node from queueing on the row lock of a job that is busy elsewhere.
+     */
+    private Long tryAcquire(String jobName) {
+        Boolean held = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM job_lease WHERE job_name = ? AND lease_until > now())",
+                Boolean.class, jobName);
+        if (Boolean.TRUE.equals(held)) {
+            return null;
+        }
+        return jdbcTemplate.query("""
+                INSERT INTO job_lease (job_name, owner, fencing_token, lease_until, acquired_at, renewed_at)
+                VALUES (?, ?, 1, now() + make_interval(secs => ?), now(), now())
+                ON CONFLICT (job_name) DO UPDATE
+                SET owner = EXCLUDED.owner,
+                    fencing_token = job_lease.fencing_token + 1,
+                    lease_until = EXCLUDED.lease_until,
+                    acquired_at = EXCLUDED.acquired_at,
+                    renewed_at = EXCLUDED.renewed_at
+                WHERE job_lease.lease_until <= now()
+                RETURNING fencing_token
+                """, resultSet -> resultSet.next() ? resultSet.getLong(1) : null,
+                jobName, nodeId, leaseSeconds());
+    }
+
+    /**
+     * Hands the renewal to its own worker so a renewal waiting on a row lock never delays the leases of other
+     * jobs. A renewal still in flight is not stacked with another.
+     */
+    private void submitRenewal(HeldLease lease) {
+        if (lease.renewing.compareAndSet(false, true)) {
+            renewals.execute(() -> {
+                try {
+                    renew(lease);
+                } finally {
+                    lease.renewing.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Extends the lease while the job is within its maximum run time. A renewal that comes late is still safe:
+     * it only succeeds if nobody has taken the lease over in the meantime. The lock timeout bounds how long it
+     * waits on the commit of a fenced transaction.
+     */
+    private void renew(HeldLease lease) {
+        if (System.nanoTime() - lease.renewUntilNanos > 0) {
+            if (!lease.expiryLogged) {
+                lease.expiryLogged = true;
+                log.warn("Job {} exceeded its maximum run time, letting its lease expire", lease.jobName);
+            }
+            return;
+        }
+        try {
+            Integer renewed = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + renewalLockTimeoutMillis + "ms'");
+                return jdbcTemplate.update("""
+                        UPDATE job_lease SET lease_until = now() + make_interval(secs => ?), renewed_at = now()
+                        WHERE job_name = ? AND fencing_token = ?
+                        """, leaseSeconds(), lease.jobName, lease.fencingToken);
+            });
+            if (renewed != null && renewed == 0) {
+                log.warn("Lease on job {} with fencing token {} was taken over by another node",
+                        lease.jobName, lease.fencingToken);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew lease on job {}: {}", lease.jobName, e.getMessage());
+        }
+    }
+
+    private void release(HeldLease lease) {
+        try {
+            jdbcTemplate.update("UPDATE job_lease SET lease_until = now() WHERE job_name = ? AND fencing_token = ?",
+                    lease.jobName, lease.fencingToken);
+            jdbcTemplate.update(
+                    "DELETE FROM job_run WHERE job_name = ? AND started_at < now() - make_interval(days => ?)",
+                    lease.jobName, historyRetentionDays);
+        } catch (DataAccessException e) {
+            log.warn("Failed to release lease on job {}, it expires on its own: {}", lease.jobName, e.getMessage());
+        }
+    }
+
+    private boolean hasSucceeded(String jobName, String instanceKey) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM job_run WHERE job_name = ? AND instance_key = ? AND status = ?)
+                """, Boolean.class, jobName, instanceKey, JobRunStatus.SUCCEEDED.name()));
+    }
+
+    /**
+     * Closes runs left RUNNING by earlier lease holders, which crashed or stalled past their lease.
+     */
+    private void abandonStaleRuns(HeldLease lease) {
+        int abandoned = jdbcTemplate.update("""
+                UPDATE job_run SET status = ?, finished_at = now()
+                WHERE job_name = ? AND status = ? AND fencing_token < ?
+                """, JobRunStatus.ABANDONED.name(), lease.jobName, JobRunStatus.RUNNING.name(), lease.fencingToken);
+        if (abandoned > 0) {
+            log.warn("Took over job {} from a stale lease, {} unfinished runs abandoned", lease.jobName, abandoned);
+        }
+    }
+
+    private UUID startRun(HeldLease lease, String instanceKey) {
+        UUID runId = UuidV7.randomUuid();
+        jdbcTemplate.update("""
+                INSERT INTO job_run (id, job_name, instance_key, owner, fencing_token, status, started_at)
+                VALUES (?, ?, ?, ?, ?, ?, now())
+                """, runId, lease.jobName, instanceKey, nodeId, lease.fencingToken, JobRunStatus.RUNNING.name());
+        return runId;
+    }
+
+    /**
+     * Records the outcome unless the run was already abandoned by the node that took the lease over.
+     */
+    private void finishRun(UUID runId, JobRunStatus status, String error) {
+        try {
+            jdbcTemplate.update("UPDATE job_run SET status = ?, finished_at = now(), error = ? WHERE id = ? AND status = ?",
+                    status.name(), truncate(error), runId, JobRunStatus.RUNNING.name());
+        } catch (DataAccessException e) {
+            log.warn("Failed to record {} for job run {}: {}", status, runId, e.getMessage());
+        }
+    }
+
+    private double leaseSeconds() {
+        return leaseDuration.toMillis() / 1000.0;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewalTimer.shutdownNow();
+        renewals.shutdownNow();
+    }
+
+    private static final class HeldLease {
+        private final String jobName;
+        private final long fencingToken;
+        private final long renewUntilNanos;
+        private final AtomicBoolean renewing = new AtomicBoolean();
+        private volatile boolean expiryLogged;
+
+        private HeldLease(String jobName, long fencingToken, long renewUntilNanos) {
+            this.jobName = jobName;
+            this.fencingToken = fencingToken;
+            this.renewUntilNanos = renewUntilNanos;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.study4ever.progressservice.jobs;
+
+/**
+ * Thrown when a job finds that another node has taken its lease over, so the surrounding transaction rolls back
+ * instead of overwriting the new owner's work.
+ */
+public class LeaseLostException extends RuntimeException {
+    public LeaseLostException(String jobName, long fencingToken) {
+        super("Lease on job " + jobName + " with fencing token " + fencingToken + " is no longer held");
+    }
+}
@@ -0,0 +1,85 @@
+package com.study4ever.progressservice.messaging;
+
+import com.study4ever.progressservice.service.UserProgressService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers login timestamps and writes them to user_progress once per window, so a user who logs in repeatedly
+ * costs one row update per window instead of one per login. A crash loses at most one window of last-login
+ * times, which the next login or study session overwrites anyway.
+ */
+@Component
+@Slf4j
+public class LoginActivityCoalescer {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserProgressService userProgressService;
+    private final Map<String, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+
+    public LoginActivityCoalescer(JdbcTemplate jdbcTemplate, UserProgressService userProgressService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userProgressService = userProgressService;
+    }
+
+    public void recordLogin(String userId) {
+        pendingLogins.merge(userId, LocalDateTime.now(),
+                (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    @Scheduled(fixedDelayString = "${study.login.coalesce-window-millis:10000}")
+    public void flush() {
+        if (pendingLogins.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        for (String userId : List.copyOf(pendingLogins.keySet())) {
+            LocalDateTime loginTime = pendingLogins.remove(userId);
+            if (loginTime != null) {
+                batch.add(new Object[]{Timestamp.valueOf(loginTime), userId});
+            }
+        }
+
+        int updated = 0;
+        for (int from = 0; from < batch.size(); from += FLUSH_BATCH_SIZE) {
+            List<Object[]> chunk = batch.subList(from, Math.min(from + FLUSH_BATCH_SIZE, batch.size()));
+            try {
+                int[] counts = jdbcTemplate.batchUpdate("""
+                        UPDATE user_progress
+                        SET last_active_timestamp = GREATEST(last_active_timestamp, ?), updated_at = now()
+                        WHERE user_id = ?
+                        """, chunk);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        // No progress row yet; the regular path creates it
+                        userProgressService.updateLastLoginDate((String) chunk.get(i)[1]);
+                    }
+                }
+                updated += chunk.size();
+            } catch (Exception e) {
+                log.error("Failed to write {} coalesced logins, they will be retried", chunk.size(), e);
+                chunk.forEach(row -> pendingLogins.merge((String) row[1], ((Timestamp) row[0]).toLocalDateTime(),
+                        (current, failed) -> current.isAfter(failed) ? current : failed));
+            }
+        }
+        log.debug("Flushed last login times of {} users", updated);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
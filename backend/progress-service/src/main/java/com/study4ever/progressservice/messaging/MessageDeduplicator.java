@@ -0,0 +1,115 @@
+package com.study4ever.progressservice.messaging;
+
+import com.study4ever.progressservice.cache.LruCache;
+import com.study4ever.progressservice.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Drops redelivered broker messages by their message id. Recently seen ids are answered from a bounded in-memory
+ * window; anything older falls through to the processed_message table. Messages without an id are never treated
+ * as duplicates.
+ */
+@Component
+@Slf4j
+public class MessageDeduplicator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LruCache<String, Boolean> recentlyProcessed;
+    private final int retentionDays;
+
+    public MessageDeduplicator(JdbcTemplate jdbcTemplate,
+                               @Value("${study.dedupe.window-capacity:50000}") int windowCapacity,
+                               @Value("${study.dedupe.retention-days:7}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentlyProcessed = new LruCache<>(windowCapacity);
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Records the message as processed in the current transaction. Returns false if it already was, in which
+     * case the caller should skip it. A rollback releases the claim, so a failed message is processed again
+     * when it is redelivered.
+     */
+    @Transactional
+    public boolean claim(String consumer, String messageId) {
+        if (messageId == null) {
+            return true;
+        }
+        String key = key(consumer, messageId);
+        if (recentlyProcessed.getIfPresent(key) != null) {
+            return false;
+        }
+
+        // Blocks on a concurrent claim of the same id until that transaction ends
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO processed_message (consumer, message_id, processed_at) VALUES (?, ?, ?)
+                ON CONFLICT (consumer, message_id) DO NOTHING
+                """, consumer, messageId, Timestamp.valueOf(LocalDateTime.now()));
+        TransactionCallbacks.afterCommit(() -> remember(key));
+        return inserted == 1;
+    }
+
+    /**
+     * Checks for a claim without making one, for handlers that commit in several transactions and claim at the end.
+     */
+    @Transactional(readOnly = true)
+    public boolean isProcessed(String consumer, String messageId) {
+        if (messageId == null) {
+            return false;
+        }
+        String key = key(consumer, messageId);
+        if (recentlyProcessed.getIfPresent(key) != null) {
+            return true;
+        }
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM processed_message WHERE consumer = ? AND message_id = ?)",
+                Boolean.class, consumer, messageId);
+        if (Boolean.TRUE.equals(exists)) {
+            remember(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks and records the id in memory only, for messages cheap enough that a duplicate past the window is
+     * harmless.
+     */
+    public boolean claimInMemory(String consumer, String messageId) {
+        if (messageId == null) {
+            return true;
+        }
+        String key = key(consumer, messageId);
+        synchronized (recentlyProcessed) {
+            if (recentlyProcessed.getIfPresent(key) != null) {
+                return false;
+            }
+            remember(key);
+            return true;
+        }
+    }
+
+    /**
+     * Deletes ids older than the retention window and returns how many were removed.
+     */
+    @Transactional
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        return jdbcTemplate.update("DELETE FROM processed_message WHERE processed_at < ?", Timestamp.valueOf(cutoff));
+    }
+
+    private void remember(String key) {
+        recentlyProcessed.putIfUnchanged(key, Boolean.TRUE, recentlyProcessed.currentGeneration());
+    }
+
+    private static String key(String consumer, String messageId) {
+        return consumer + '|' + messageId;
+    }
+}
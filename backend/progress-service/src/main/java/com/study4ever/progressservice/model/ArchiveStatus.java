@@ -0,0 +1,6 @@
+package com.study4ever.progressservice.model;
+
+public enum ArchiveStatus {
+    ARCHIVED,
+    RESTORED
+}
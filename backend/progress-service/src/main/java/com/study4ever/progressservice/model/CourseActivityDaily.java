@@ -0,0 +1,34 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Per-day enrollment and completion counters for a course. Rows are only ever
+ * incremented through {@code CourseActivityDailyRepository} upserts.
+ */
+@Entity
+@Table(name = "course_activity_daily")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseActivityDaily {
+
+    @EmbeddedId
+    private CourseActivityDailyId id;
+
+    @Column(nullable = false)
+    private Long enrollments;
+
+    @Column(nullable = false)
+    private Long completions;
+}
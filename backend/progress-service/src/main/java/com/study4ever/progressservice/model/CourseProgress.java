@@ -1,12 +1,12 @@
 package com.study4ever.progressservice.model;
 
+import com.study4ever.progressservice.model.id.GeneratedUuid;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -25,6 +25,9 @@ import java.util.UUID;
                         name = "uk_course_progress_user_course",
                         columnNames = {"user_id", "course_id"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_course_progress_course", columnList = "course_id")
         })
 @Getter
 @Setter
@@ -34,14 +37,14 @@ import java.util.UUID;
 public class CourseProgress extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false)
     private String userId;
 
     @Column(nullable = false)
-    private String courseId;
+    private Long courseId;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -51,10 +54,10 @@ public class CourseProgress extends BaseEntity {
     private Float completionPercentage;
 
     @Column
-    private String currentModuleId;
+    private Long currentModuleId;
 
     @Column
-    private String currentLessonId;
+    private Long currentLessonId;
 
     @Column(nullable = false)
     private LocalDateTime enrollmentDate;
@@ -0,0 +1,7 @@
+package com.study4ever.progressservice.model;
+
+public enum ErasureStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,46 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Lease on a scheduled job, one row per job. The fencing token grows with every takeover, so a node can tell from
+ * the token it was handed whether the lease is still its own. Times are compared with the database clock only.
+ */
+@Entity
+@Table(name = "job_lease")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private long fencingToken;
+
+    @Column(nullable = false)
+    private Instant leaseUntil;
+
+    @Column(nullable = false)
+    private Instant acquiredAt;
+
+    @Column(nullable = false)
+    private Instant renewedAt;
+}
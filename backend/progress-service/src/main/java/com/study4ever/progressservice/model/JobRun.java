@@ -0,0 +1,64 @@
+package com.study4ever.progressservice.model;
+
+import com.study4ever.progressservice.model.id.GeneratedUuid;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One execution of a scheduled job. The instance key names the unit of work, such as the day a leaderboard is
+ * built for, so a second run of an instance that already succeeded can be skipped.
+ */
+@Entity
+@Table(name = "job_run",
+        indexes = {
+                @Index(name = "idx_job_run_instance", columnList = "job_name, instance_key"),
+                @Index(name = "idx_job_run_started", columnList = "job_name, started_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRun {
+
+    @Id
+    @GeneratedUuid
+    private UUID id;
+
+    @Column(nullable = false, length = 100)
+    private String jobName;
+
+    @Column(length = 100)
+    private String instanceKey;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private long fencingToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobRunStatus status;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+}
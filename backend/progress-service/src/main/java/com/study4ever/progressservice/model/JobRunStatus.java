@@ -0,0 +1,8 @@
+package com.study4ever.progressservice.model;
+
+public enum JobRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    ABANDONED
+}
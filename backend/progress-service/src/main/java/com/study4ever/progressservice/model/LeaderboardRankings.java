@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,11 @@ import lombok.ToString;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "leaderboard_rankings")
+@Table(name = "leaderboard_rankings",
+        indexes = {
+                @Index(name = "idx_leaderboard_rankings_user", columnList = "user_id"),
+                @Index(name = "idx_leaderboard_rankings_period", columnList = "period_type, start_date, id")
+        })
 @Getter
 @Setter
 @ToString
@@ -1,9 +1,8 @@
 package com.study4ever.progressservice.model;
 
+import com.study4ever.progressservice.model.id.GeneratedUuid;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -31,18 +30,18 @@ import java.util.UUID;
 public class LessonBookmark extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false)
     private String userId;
 
     @Column(nullable = false)
-    private String courseId;
+    private Long courseId;
 
     @Column(nullable = false)
-    private String moduleId;
+    private Long moduleId;
 
     @Column(nullable = false)
-    private String lessonId;
+    private Long lessonId;
 }
@@ -1,11 +1,10 @@
 package com.study4ever.progressservice.model;
 
+import com.study4ever.progressservice.model.id.GeneratedUuid;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -34,17 +33,17 @@ import java.util.UUID;
 public class ModuleProgress extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false)
     private String userId;
 
     @Column(nullable = false)
-    private String courseId;
+    private Long courseId;
 
     @Column(nullable = false)
-    private String moduleId;
+    private Long moduleId;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
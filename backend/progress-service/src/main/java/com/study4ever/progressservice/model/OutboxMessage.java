@@ -0,0 +1,55 @@
+package com.study4ever.progressservice.model;
+
+import com.study4ever.progressservice.model.id.GeneratedUuid;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A message waiting to be published to the events exchange. Rows are inserted in the transaction of the change
+ * they announce and deleted once the broker confirms them, so the table only holds the unpublished backlog.
+ */
+@Entity
+@Table(name = "outbox_message",
+        indexes = {
+                @Index(name = "idx_outbox_message_next_attempt", columnList = "next_attempt_at, id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedUuid
+    private UUID id;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
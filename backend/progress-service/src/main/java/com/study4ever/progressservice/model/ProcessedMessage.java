@@ -0,0 +1,35 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id of a broker message a listener has already handled. Rows are written in the handler's transaction and
+ * dropped after the retention window, which only has to outlast the broker's redelivery horizon.
+ */
+@Entity
+@Table(name = "processed_message",
+        indexes = {
+                @Index(name = "idx_processed_message_processed_at", columnList = "processed_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedMessage {
+
+    @EmbeddedId
+    private ProcessedMessageId id;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,24 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ProcessedMessageId implements Serializable {
+
+    @Column(name = "consumer", nullable = false, length = 64)
+    private String consumer;
+
+    @Column(name = "message_id", nullable = false, length = 128)
+    private String messageId;
+}
@@ -0,0 +1,61 @@
+package com.study4ever.progressservice.model;
+
+import com.study4ever.progressservice.model.id.GeneratedUuid;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the append-only progress log. Rows are never updated; derived tables can be rebuilt by replaying
+ * a user's events in {@code (occurred_at, id)} order.
+ */
+@Entity
+@Table(name = "progress_event",
+        indexes = {
+                @Index(name = "idx_progress_event_user", columnList = "user_id, occurred_at, id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProgressEvent {
+
+    @Id
+    @GeneratedUuid
+    private UUID id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ProgressEventType type;
+
+    @Column
+    private Long courseId;
+
+    @Column
+    private Long moduleId;
+
+    @Column
+    private Long lessonId;
+
+    @Column
+    private Integer durationMinutes;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,10 @@
+package com.study4ever.progressservice.model;
+
+public enum ProgressEventType {
+    LESSON_ACCESSED,
+    LESSON_COMPLETED,
+    MODULE_COMPLETED,
+    COURSE_COMPLETED,
+    COURSE_RESET,
+    SESSION_ENDED
+}
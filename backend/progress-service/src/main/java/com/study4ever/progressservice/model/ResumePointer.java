@@ -0,0 +1,42 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Where a user last was across all courses, one narrow row per user.
+ */
+@Entity
+@Table(name = "user_resume_pointer")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumePointer extends BaseEntity {
+
+    @Id
+    private String userId;
+
+    @Column(nullable = false)
+    private Long courseId;
+
+    @Column(nullable = false)
+    private Long moduleId;
+
+    @Column(nullable = false)
+    private Long lessonId;
+
+    @Column
+    private String lessonTitle;
+
+    @Column(nullable = false)
+    private Float completionPercentage;
+}
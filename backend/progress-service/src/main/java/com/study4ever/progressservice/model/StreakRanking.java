@@ -0,0 +1,6 @@
+package com.study4ever.progressservice.model;
+
+public enum StreakRanking {
+    CURRENT,
+    LONGEST
+}
@@ -1,10 +1,10 @@
 package com.study4ever.progressservice.model;
 
+import com.study4ever.progressservice.model.id.GeneratedUuid;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "study_session")
+@Table(name = "study_session",
+        indexes = {
+                @Index(name = "idx_study_session_user_start", columnList = "user_id, start_time DESC, id DESC")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,20 +28,20 @@ import java.util.UUID;
 public class StudySession extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(nullable = false)
     private String userId;
 
     @Column
-    private String courseId;
+    private Long courseId;
 
     @Column
-    private String moduleId;
+    private Long moduleId;
 
     @Column
-    private String lessonId;
+    private Long lessonId;
 
     @Column(nullable = false)
     private LocalDateTime startTime;
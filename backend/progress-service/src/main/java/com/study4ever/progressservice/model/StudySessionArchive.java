@@ -0,0 +1,57 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A month of study_session rows that was exported to disk and detached, keyed by the first day of the month.
+ */
+@Entity
+@Table(name = "study_session_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudySessionArchive extends BaseEntity {
+
+    @Id
+    private LocalDate month;
+
+    @Column(nullable = false)
+    private String partitionName;
+
+    @Column(nullable = false, length = 1000)
+    private String filePath;
+
+    @Column(nullable = false)
+    private Long rowCount;
+
+    /**
+     * Job node that wrote the file; the file is only reachable from that replica unless the archive dir is shared.
+     */
+    @Column
+    private String archivedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ArchiveStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column
+    private LocalDateTime restoredAt;
+}
@@ -1,5 +1,6 @@
 package com.study4ever.progressservice.model;
 
+import com.study4ever.progressservice.model.id.GeneratedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,16 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "study_session_stats")
+@Table(name = "study_session_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_study_session_stats_user_type_date",
+                        columnNames = {"user_id", "type", "stats_date"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_study_session_stats_type_date", columnList = "type, stats_date")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +30,7 @@ import java.util.UUID;
 public class StudySessionStats extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
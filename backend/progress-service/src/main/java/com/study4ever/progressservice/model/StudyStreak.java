@@ -3,6 +3,7 @@ package com.study4ever.progressservice.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +14,11 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "study_streak")
+@Table(name = "study_streak",
+        indexes = {
+                @Index(name = "idx_study_streak_current", columnList = "current_streak_days DESC, user_id"),
+                @Index(name = "idx_study_streak_longest", columnList = "longest_streak_days DESC, user_id")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,84 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * One user's study activity for one calendar year, indexed by day of year (0-based).
+ * activeDays is a 366-bit set (bit n lives in byte n / 8 at position n % 8, matching PostgreSQL set_bit);
+ * dailyMinutes holds a big-endian unsigned short of study minutes per day.
+ */
+@Entity
+@Table(name = "user_activity_year")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserActivityYear {
+
+    public static final int DAYS = 366;
+    public static final int ACTIVE_DAYS_BYTES = (DAYS + 7) / 8;
+    public static final int DAILY_MINUTES_BYTES = DAYS * 2;
+
+    @EmbeddedId
+    private UserActivityYearId id;
+
+    @Column(nullable = false)
+    private byte[] activeDays;
+
+    @Column(nullable = false)
+    private byte[] dailyMinutes;
+
+    public static UserActivityYear empty(String userId, int year) {
+        return UserActivityYear.builder()
+                .id(new UserActivityYearId(userId, year))
+                .activeDays(new byte[ACTIVE_DAYS_BYTES])
+                .dailyMinutes(new byte[DAILY_MINUTES_BYTES])
+                .build();
+    }
+
+    public boolean isActive(LocalDate date) {
+        int day = date.getDayOfYear() - 1;
+        return (activeDays[day >> 3] & (1 << (day & 7))) != 0;
+    }
+
+    public int getMinutes(LocalDate date) {
+        int offset = (date.getDayOfYear() - 1) * 2;
+        return ((dailyMinutes[offset] & 0xFF) << 8) | (dailyMinutes[offset + 1] & 0xFF);
+    }
+
+    public boolean hasActivity() {
+        for (byte word : activeDays) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clearActivity(LocalDate date) {
+        int day = date.getDayOfYear() - 1;
+        activeDays[day >> 3] &= (byte) ~(1 << (day & 7));
+        dailyMinutes[day * 2] = 0;
+        dailyMinutes[day * 2 + 1] = 0;
+    }
+
+    public void addActivity(LocalDate date, int minutes) {
+        int day = date.getDayOfYear() - 1;
+        activeDays[day >> 3] |= (byte) (1 << (day & 7));
+
+        int total = Math.min(Short.MAX_VALUE, getMinutes(date) + Math.max(minutes, 0));
+        dailyMinutes[day * 2] = (byte) (total >> 8);
+        dailyMinutes[day * 2 + 1] = (byte) total;
+    }
+}
@@ -0,0 +1,24 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserActivityYearId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "activity_year", nullable = false)
+    private Integer activityYear;
+}
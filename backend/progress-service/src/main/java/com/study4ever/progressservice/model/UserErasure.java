@@ -0,0 +1,51 @@
+package com.study4ever.progressservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tracks how far the erasure of a deleted user's progress data has got, one row per user.
+ */
+@Entity
+@Table(name = "user_erasure")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserErasure extends BaseEntity {
+
+    @Id
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ErasureStatus status;
+
+    @Column
+    private String currentTable;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long deletedRows = 0L;
+
+    @Column(nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -3,6 +3,7 @@ package com.study4ever.progressservice.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +14,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_progress")
+@Table(name = "user_progress",
+        indexes = {
+                @Index(name = "idx_user_progress_last_active", columnList = "last_active_timestamp DESC, user_id DESC")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
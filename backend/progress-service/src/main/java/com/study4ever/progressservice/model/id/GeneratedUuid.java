@@ -0,0 +1,27 @@
+package com.study4ever.progressservice.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates UUID primary keys on insert. Time-ordered (UUIDv7) by default so new rows
+ * land at the right edge of the primary key index instead of random pages.
+ */
+@IdGeneratorType(GeneratedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedUuid {
+
+    Style style() default Style.TIME_ORDERED;
+
+    enum Style {
+        /** RFC 9562 version 7: 48-bit Unix millis, monotonic counter, random tail */
+        TIME_ORDERED,
+        /** RFC 9562 version 4: fully random, the previous GenerationType.UUID behaviour */
+        RANDOM
+    }
+}
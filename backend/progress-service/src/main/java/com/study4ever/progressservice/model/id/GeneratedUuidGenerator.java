@@ -0,0 +1,35 @@
+package com.study4ever.progressservice.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate id generator behind {@link GeneratedUuid}.
+ */
+public class GeneratedUuidGenerator implements BeforeExecutionGenerator {
+
+    private final transient Supplier<UUID> supplier;
+
+    public GeneratedUuidGenerator(GeneratedUuid config) {
+        this.supplier = switch (config.style()) {
+            case TIME_ORDERED -> UuidV7::randomUuid;
+            case RANDOM -> UUID::randomUUID;
+        };
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return supplier.get();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
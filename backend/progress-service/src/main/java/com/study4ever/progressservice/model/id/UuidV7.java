@@ -0,0 +1,63 @@
+package com.study4ever.progressservice.model.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUID version 7 factory (RFC 9562). The 12-bit rand_a field is used as a counter that is
+ * re-seeded every millisecond, so ids generated by one instance are strictly increasing
+ * even when many are created within the same millisecond.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private static long lastMillis;
+    private static int counter;
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7.class) {
+            millis = System.currentTimeMillis();
+            if (millis > lastMillis) {
+                lastMillis = millis;
+                counter = RANDOM.nextInt(MAX_COUNTER / 2);
+            } else if (counter < MAX_COUNTER) {
+                counter++;
+            } else {
+                // Counter exhausted or clock moved backwards: borrow the next millisecond
+                lastMillis++;
+                counter = RANDOM.nextInt(MAX_COUNTER / 2);
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Returns the Unix epoch millisecond embedded in a version 7 UUID.
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    /**
+     * Returns the smallest UUID that sorts at or after every version 7 UUID generated from {@code millis} on.
+     * PostgreSQL compares UUIDs byte by byte, so this works as a lower bound in range queries on v7 ids.
+     */
+    public static UUID lowerBound(long millis) {
+        return new UUID(millis << 16, 0L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.study4ever.progressservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study4ever.progressservice.dto.ProgressCompletionEvent;
+import com.study4ever.progressservice.model.OutboxMessage;
+import com.study4ever.progressservice.model.ProgressEvent;
+import com.study4ever.progressservice.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stores completion events in the outbox. Requires the caller's transaction, so a message exists exactly when the
+ * completion it announces commits; {@link OutboxRelay} publishes it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletionEventOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${rabbitmq.routing-keys.lesson-completion}")
+    private String lessonCompletionRoutingKey;
+
+    @Value("${rabbitmq.routing-keys.module-completion}")
+    private String moduleCompletionRoutingKey;
+
+    @Value("${rabbitmq.routing-keys.course-completion}")
+    private String courseCompletionRoutingKey;
+
+    /**
+     * Enqueues the event if it is a completion; other event types are not published.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(ProgressEvent event) {
+        String routingKey = switch (event.getType()) {
+            case LESSON_COMPLETED -> lessonCompletionRoutingKey;
+            case MODULE_COMPLETED -> moduleCompletionRoutingKey;
+            case COURSE_COMPLETED -> courseCompletionRoutingKey;
+            default -> null;
+        };
+        if (routingKey == null) {
+            return;
+        }
+
+        ProgressCompletionEvent payload = ProgressCompletionEvent.builder()
+                .eventId(event.getId())
+                .type(event.getType())
+                .userId(event.getUserId())
+                .courseId(event.getCourseId())
+                .moduleId(event.getModuleId())
+                .lessonId(event.getLessonId())
+                .occurredAt(event.getOccurredAt())
+                .build();
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .routingKey(routingKey)
+                .payload(toJson(payload))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    private String toJson(ProgressCompletionEvent payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize completion event " + payload.getEventId(), e);
+        }
+    }
+}
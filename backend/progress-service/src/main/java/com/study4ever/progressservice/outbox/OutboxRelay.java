@@ -0,0 +1,167 @@
+package com.study4ever.progressservice.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox messages to the events exchange. A batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so
+ * several instances can relay side by side, and sent without waiting between messages. The confirms are
+ * collected afterwards: acknowledged rows are deleted, the rest are rescheduled with exponential backoff.
+ * Delivery is at least once; consumers dedupe on the message id.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final String eventsExchange;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+
+    public OutboxRelay(RabbitTemplate rabbitTemplate,
+                       JdbcTemplate jdbcTemplate,
+                       @Value("${rabbitmq.exchanges.events}") String eventsExchange,
+                       @Value("${study.outbox.batch-size:200}") int batchSize,
+                       @Value("${study.outbox.confirm-timeout-millis:5000}") long confirmTimeoutMillis) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventsExchange = eventsExchange;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            log.error("Publisher confirms are disabled; set spring.rabbitmq.publisher-confirm-type=correlated "
+                    + "or outbox messages will never be marked as published");
+        }
+        if (!rabbitTemplate.getConnectionFactory().isPublisherReturns()) {
+            log.error("Publisher returns are disabled; set spring.rabbitmq.publisher-returns=true "
+                    + "or unroutable outbox messages will be deleted as published");
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Relays one batch of due messages and returns how many of them the broker confirmed.
+     */
+    @Transactional
+    public int relayBatch() {
+        List<Pending> batch = jdbcTemplate.query("""
+                SELECT id, routing_key, payload, attempts FROM outbox_message
+                WHERE next_attempt_at <= ?
+                ORDER BY next_attempt_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """,
+                (rs, rowNum) -> new Pending(
+                        rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getInt(4)),
+                Timestamp.valueOf(LocalDateTime.now()), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CorrelationData> correlations = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            CorrelationData correlation = new CorrelationData(pending.id().toString());
+            correlations.add(correlation);
+            try {
+                rabbitTemplate.send(eventsExchange, pending.routingKey(), toMessage(pending), correlation);
+            } catch (AmqpException e) {
+                correlation.getFuture().completeExceptionally(e);
+            }
+        }
+
+        List<Object[]> published = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + confirmTimeoutMillis;
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            String error = awaitConfirm(correlations.get(i), deadline);
+            if (error == null) {
+                published.add(new Object[]{pending.id()});
+            } else {
+                failed.add(new Object[]{
+                        pending.attempts() + 1,
+                        Timestamp.valueOf(LocalDateTime.now().plusSeconds(backoffSeconds(pending.attempts()))),
+                        truncate(error),
+                        pending.id()});
+            }
+        }
+
+        if (!published.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM outbox_message WHERE id = ?", published);
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE outbox_message SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?", failed);
+            log.warn("{} of {} outbox messages were not confirmed and will be retried, first error: {}",
+                    failed.size(), batch.size(), failed.get(0)[2]);
+        }
+        return published.size();
+    }
+
+    private Message toMessage(Pending pending) {
+        return MessageBuilder.withBody(pending.payload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(pending.id().toString())
+                .build();
+    }
+
+    /**
+     * Waits for the broker's confirm until the batch deadline. Returns null on ack, otherwise the reason.
+     */
+    private static String awaitConfirm(CorrelationData correlation, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.MILLISECONDS);
+            if (correlation.getReturned() != null) {
+                return "Returned: " + correlation.getReturned().getReplyText();
+            }
+            return confirm.isAck() ? null : "Nacked: " + confirm.getReason();
+        } catch (TimeoutException e) {
+            return "No confirm within the timeout";
+        } catch (ExecutionException e) {
+            return e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for confirm";
+        }
+    }
+
+    private static long backoffSeconds(int attempts) {
+        return Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 20));
+    }
+
+    private static String truncate(String error) {
+        String text = String.valueOf(error);
+        return text.length() <= MAX_ERROR_LENGTH ? text : text.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record Pending(UUID id, String routingKey, String payload, int attempts) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.study4ever.progressservice.repository;
+
+import com.study4ever.progressservice.model.CourseActivityDaily;
+import com.study4ever.progressservice.model.CourseActivityDailyId;
+import com.study4ever.progressservice.repository.projection.PeriodCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CourseActivityDailyRepository extends JpaRepository<CourseActivityDaily, CourseActivityDailyId> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO course_activity_daily (activity_date, course_id, enrollments, completions)
+            VALUES (:date, :courseId, 1, 0)
+            ON CONFLICT (activity_date, course_id)
+            DO UPDATE SET enrollments = course_activity_daily.enrollments + 1
+            """, nativeQuery = true)
+    void incrementEnrollments(@Param("date") LocalDate date, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO course_activity_daily (activity_date, course_id, enrollments, completions)
+            VALUES (:date, :courseId, 0, 1)
+            ON CONFLICT (activity_date, course_id)
+            DO UPDATE SET completions = course_activity_daily.completions + 1
+            """, nativeQuery = true)
+    void incrementCompletions(@Param("date") LocalDate date, @Param("courseId") Long courseId);
+
+    /**
+     * Enrollments across all courses, summed per date_trunc bucket (day, week, month or year)
+     */
+    @Query(value = """
+            SELECT CAST(date_trunc(:unit, CAST(activity_date AS TIMESTAMP)) AS DATE) AS "periodStart",
+                   SUM(enrollments) AS "total"
+            FROM course_activity_daily
+            WHERE activity_date BETWEEN :startDate AND :endDate
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<PeriodCount> sumEnrollmentsByPeriod(
+            @Param("unit") String unit,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Completions of one course, summed per date_trunc bucket (day, week, month or year)
+     */
+    @Query(value = """
+            SELECT CAST(date_trunc(:unit, CAST(activity_date AS TIMESTAMP)) AS DATE) AS "periodStart",
+                   SUM(completions) AS "total"
+            FROM course_activity_daily
+            WHERE course_id = :courseId
+              AND activity_date BETWEEN :startDate AND :endDate
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<PeriodCount> sumCompletionsByPeriod(
+            @Param("courseId") Long courseId,
+            @Param("unit") String unit,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+}
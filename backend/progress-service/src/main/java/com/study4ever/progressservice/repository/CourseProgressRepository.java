@@ -1,11 +1,14 @@
 package com.study4ever.progressservice.repository;
 
 import com.study4ever.progressservice.model.CourseProgress;
+import com.study4ever.progressservice.repository.projection.CourseProgressAggregate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,18 +16,32 @@ import java.util.UUID;
 @Repository
 public interface CourseProgressRepository extends JpaRepository<CourseProgress, UUID> {
 
+    String AGGREGATE_SELECT = """
+            SELECT c.courseId AS courseId,
+                   COUNT(c) AS enrollments,
+                   SUM(CASE WHEN c.completed = true THEN 1 ELSE 0 END) AS completions,
+                   SUM(CASE WHEN c.completed = true THEN 1 ELSE 0 END) * 100.0 / COUNT(c) AS completionRate,
+                   SUM(CASE WHEN c.status = 'NOT_STARTED' THEN 1 ELSE 0 END) AS notStartedCount,
+                   SUM(CASE WHEN c.status = 'IN_PROGRESS' THEN 1 ELSE 0 END) AS inProgressCount,
+                   SUM(CASE WHEN c.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedCount,
+                   MAX(c.lastAccessDate) AS lastAccessDate
+            FROM CourseProgress c
+            """;
+
     List<CourseProgress> findByUserId(String userId);
 
-    Optional<CourseProgress> findByUserIdAndCourseId(String userId, String courseId);
+    Optional<CourseProgress> findByUserIdAndCourseId(String userId, Long courseId);
 
-    List<CourseProgress> findByCourseId(String courseId);
+    List<CourseProgress> findByCourseId(Long courseId);
 
     @Query("SELECT DISTINCT c.courseId FROM CourseProgress c")
-    List<String> findDistinctCourseIds();
+    List<Long> findDistinctCourseIds();
 
-    List<CourseProgress> findByCreatedAtBetween(LocalDateTime createdAtAfter, LocalDateTime createdAtBefore);
+    @Query(value = AGGREGATE_SELECT + " GROUP BY c.courseId",
+            countQuery = "SELECT COUNT(DISTINCT c.courseId) FROM CourseProgress c")
+    Page<CourseProgressAggregate> findCourseProgressAggregates(Pageable pageable);
 
-    List<CourseProgress> findByCourseIdAndCompletedAndCompletionDateBetween(
-            String courseId, Boolean completed, LocalDateTime start, LocalDateTime end);
+    @Query(AGGREGATE_SELECT + " WHERE c.courseId = :courseId GROUP BY c.courseId")
+    Optional<CourseProgressAggregate> findCourseProgressAggregate(@Param("courseId") Long courseId);
 
 }
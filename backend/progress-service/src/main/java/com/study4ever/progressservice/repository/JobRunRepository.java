@@ -0,0 +1,15 @@
+package com.study4ever.progressservice.repository;
+
+import com.study4ever.progressservice.model.JobRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, UUID> {
+
+    List<JobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+}
@@ -37,6 +37,15 @@ public interface LeaderboardRankingsRepository extends JpaRepository<Leaderboard
      */
     boolean existsByPeriodTypeAndStartDate(PeriodType periodType, LocalDate startDate);
     
+    /**
+     * Highest ranking id of a period. Rankings are replaced on recalculation, so this changes with every one
+     */
+    @Query("SELECT COALESCE(MAX(lr.id), 0) FROM LeaderboardRankings lr " +
+           "WHERE lr.periodType = :periodType AND lr.startDate = :startDate")
+    long findLatestIdForPeriod(
+            @Param("periodType") PeriodType periodType,
+            @Param("startDate") LocalDate startDate);
+
     /**
      * Get user's ranking position for a specific period
      */
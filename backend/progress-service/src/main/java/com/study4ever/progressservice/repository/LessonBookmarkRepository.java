@@ -2,6 +2,9 @@ package com.study4ever.progressservice.repository;
 
 import com.study4ever.progressservice.model.LessonBookmark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,15 +16,35 @@ public interface LessonBookmarkRepository extends JpaRepository<LessonBookmark,
 
     List<LessonBookmark> findByUserIdOrderByCreatedAtDesc(String userId);
 
-    List<LessonBookmark> findByUserIdAndCourseIdOrderByCreatedAtDesc(String userId, String courseId);
-
-    Optional<LessonBookmark> findByUserIdAndLessonId(String userId, String lessonId);
-
-    boolean existsByUserIdAndLessonId(String userId, String lessonId);
-
-    void deleteByUserIdAndLessonId(String userId, String lessonId);
-
-    void deleteByUserIdAndCourseId(String userId, String courseId);
+    List<LessonBookmark> findByUserIdAndCourseIdOrderByCreatedAtDesc(String userId, Long courseId);
+
+    Optional<LessonBookmark> findByUserIdAndLessonId(String userId, Long lessonId);
+
+    @Query("SELECT b.lessonId FROM LessonBookmark b WHERE b.userId = ?1")
+    List<Long> findLessonIdsByUserId(String userId);
+
+    /**
+     * Creates the bookmark unless the user already has one for the lesson, without raising a constraint violation
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO lesson_bookmarks (id, user_id, course_id, module_id, lesson_id, created_at, updated_at)
+            VALUES (:id, :userId, :courseId, :moduleId, :lessonId, now(), now())
+            ON CONFLICT (user_id, lesson_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("userId") String userId,
+                       @Param("courseId") Long courseId,
+                       @Param("moduleId") Long moduleId,
+                       @Param("lessonId") Long lessonId);
+
+    @Modifying
+    @Query("DELETE FROM LessonBookmark b WHERE b.userId = ?1 AND b.lessonId = ?2")
+    int deleteByUserIdAndLessonId(String userId, Long lessonId);
+
+    @Modifying
+    @Query("DELETE FROM LessonBookmark b WHERE b.userId = ?1 AND b.courseId = ?2")
+    void deleteByUserIdAndCourseId(String userId, Long courseId);
 
     long countByUserId(String userId);
 }
@@ -3,6 +3,8 @@ package com.study4ever.progressservice.repository;
 import com.study4ever.progressservice.model.LessonProgress;
 import com.study4ever.progressservice.model.ProgressStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,17 +13,19 @@ import java.util.UUID;
 @Repository
 public interface LessonProgressRepository extends JpaRepository<LessonProgress, UUID> {
 
-    List<LessonProgress> findByUserIdAndCourseId(String userId, String courseId);
+    List<LessonProgress> findByUserIdAndCourseId(String userId, Long courseId);
 
-    List<LessonProgress> findByUserIdAndCourseIdAndModuleId(String userId, String courseId, String moduleId);
+    List<LessonProgress> findByUserIdAndCourseIdAndModuleId(String userId, Long courseId, Long moduleId);
 
     List<LessonProgress> findByUserIdAndCourseIdAndModuleIdAndLessonId(
-            String userId, String courseId, String moduleId, String lessonId);
+            String userId, Long courseId, Long moduleId, Long lessonId);
 
-    void deleteByUserIdAndCourseId(String userId, String courseId);
+    @Modifying
+    @Query("DELETE FROM LessonProgress l WHERE l.userId = ?1 AND l.courseId = ?2")
+    void deleteByUserIdAndCourseId(String userId, Long courseId);
 
-    List<LessonProgress> findByUserIdAndCourseIdAndModuleIdAndStatus(String userId, String courseId, String moduleId, ProgressStatus status);
+    List<LessonProgress> findByUserIdAndCourseIdAndModuleIdAndStatus(String userId, Long courseId, Long moduleId, ProgressStatus status);
 
-    List<LessonProgress> findByUserIdAndCourseIdAndStatus(String userId, String courseId, ProgressStatus status);
+    List<LessonProgress> findByUserIdAndCourseIdAndStatus(String userId, Long courseId, ProgressStatus status);
 
 }
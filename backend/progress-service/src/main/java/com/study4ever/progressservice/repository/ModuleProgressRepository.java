@@ -13,13 +13,12 @@ import java.util.UUID;
 @Repository
 public interface ModuleProgressRepository extends JpaRepository<ModuleProgress, UUID> {
 
-    List<ModuleProgress> findByUserIdAndCourseId(String userId, String courseId);
+    List<ModuleProgress> findByUserIdAndCourseId(String userId, Long courseId);
 
-    Optional<ModuleProgress> findByUserIdAndCourseIdAndModuleId(String userId, String courseId, String moduleId);
+    Optional<ModuleProgress> findByUserIdAndCourseIdAndModuleId(String userId, Long courseId, Long moduleId);
 
     @Modifying
     @Query("DELETE FROM ModuleProgress m WHERE m.userId = ?1 AND m.courseId = ?2")
-    void deleteByUserIdAndCourseId(String userId, String courseId);
+    void deleteByUserIdAndCourseId(String userId, Long courseId);
 
-    Object findCompletedLessonsByUserIdAndCourseId(String userId, String courseId);
 }
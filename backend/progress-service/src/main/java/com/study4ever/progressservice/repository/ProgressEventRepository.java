@@ -0,0 +1,11 @@
+package com.study4ever.progressservice.repository;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProgressEventRepository extends JpaRepository<ProgressEvent, UUID> {
+}
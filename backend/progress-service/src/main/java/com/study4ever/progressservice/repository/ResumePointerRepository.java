@@ -0,0 +1,46 @@
+package com.study4ever.progressservice.repository;
+
+import com.study4ever.progressservice.model.ResumePointer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResumePointerRepository extends JpaRepository<ResumePointer, String> {
+
+    /**
+     * Points the user at the lesson, taking the completion percentage from their course progress row.
+     * A null title keeps the stored one only while the pointer stays on the same lesson.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_resume_pointer
+                (user_id, course_id, module_id, lesson_id, lesson_title, completion_percentage, created_at, updated_at)
+            SELECT cp.user_id, cp.course_id, :moduleId, :lessonId, :lessonTitle, cp.completion_percentage, now(), now()
+            FROM course_progress cp
+            WHERE cp.user_id = :userId AND cp.course_id = :courseId
+            ON CONFLICT (user_id) DO UPDATE SET
+                course_id = EXCLUDED.course_id,
+                module_id = EXCLUDED.module_id,
+                lesson_id = EXCLUDED.lesson_id,
+                lesson_title = CASE
+                    WHEN user_resume_pointer.course_id = EXCLUDED.course_id
+                        AND user_resume_pointer.lesson_id = EXCLUDED.lesson_id
+                    THEN COALESCE(EXCLUDED.lesson_title, user_resume_pointer.lesson_title)
+                    ELSE EXCLUDED.lesson_title
+                END,
+                completion_percentage = EXCLUDED.completion_percentage,
+                updated_at = now()
+            """, nativeQuery = true)
+    int upsert(@Param("userId") String userId,
+               @Param("courseId") Long courseId,
+               @Param("moduleId") Long moduleId,
+               @Param("lessonId") Long lessonId,
+               @Param("lessonTitle") String lessonTitle);
+
+    @Modifying
+    @Query("DELETE FROM ResumePointer r WHERE r.userId = ?1 AND r.courseId = ?2")
+    int deleteByUserIdAndCourseId(String userId, Long courseId);
+}
@@ -0,0 +1,17 @@
+package com.study4ever.progressservice.repository;
+
+import com.study4ever.progressservice.model.ArchiveStatus;
+import com.study4ever.progressservice.model.StudySessionArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StudySessionArchiveRepository extends JpaRepository<StudySessionArchive, LocalDate> {
+
+    List<StudySessionArchive> findAllByOrderByMonthDesc();
+
+    List<StudySessionArchive> findByStatus(ArchiveStatus status);
+}
@@ -1,8 +1,6 @@
 package com.study4ever.progressservice.repository;
 
 import com.study4ever.progressservice.model.StudySession;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,7 +17,40 @@ public interface StudySessionRepository extends JpaRepository<StudySession, UUID
 
     List<StudySession> findByUserIdAndActive(String userId, boolean active);
 
-    Page<StudySession> findByUserIdOrderByStartTimeDesc(String userId, Pageable pageable);
+    /**
+     * First page of a user's sessions starting in {@code [from, to)}, newest first. Served from
+     * {@code idx_study_session_user_start} without a sort step.
+     */
+    @Query(value = """
+            SELECT * FROM study_session
+            WHERE user_id = :userId AND start_time >= :from AND start_time < :to
+            ORDER BY start_time DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<StudySession> findSessionPage(
+            @Param("userId") String userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("limit") int limit);
+
+    /**
+     * Next page after the given {@code (start_time, id)} key. The row comparison lets PostgreSQL start the index
+     * scan right at the cursor instead of skipping over earlier pages.
+     */
+    @Query(value = """
+            SELECT * FROM study_session
+            WHERE user_id = :userId AND start_time >= :from AND start_time < :to
+              AND (start_time, id) < (:beforeTime, :beforeId)
+            ORDER BY start_time DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<StudySession> findSessionPageBefore(
+            @Param("userId") String userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") UUID beforeId,
+            @Param("limit") int limit);
 
     List<StudySession> findByUserIdAndStartTimeBetween(String userId, LocalDateTime start, LocalDateTime end);
 
@@ -66,6 +66,16 @@ public interface StudySessionStatsRepository extends JpaRepository<StudySessionS
             @Param("year") int year
     );
 
+    /**
+     * Row count and latest update of a user's stats rows. Every write, fold and delete changes one of the two
+     */
+    @Query(value = """
+        SELECT COUNT(*) || ':' || COALESCE(CAST(EXTRACT(EPOCH FROM MAX(updated_at)) * 1000000 AS BIGINT), 0)
+        FROM study_session_stats
+        WHERE user_id = :userId
+        """, nativeQuery = true)
+    String findStatsVersion(@Param("userId") String userId);
+
     void deleteByUserIdAndTypeAndStatsDate(
             String userId, 
             StudySessionStats.StatsType type, 
@@ -1,16 +1,46 @@
 package com.study4ever.progressservice.repository;
 
 import com.study4ever.progressservice.model.StudyStreak;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudyStreakRepository extends JpaRepository<StudyStreak, String> {
-    List<StudyStreak> findByLastStudyDateBefore(LocalDate date);
 
     Optional<StudyStreak> findByUserId(String userId);
+
+    List<StudyStreak> findByLastStudyDateGreaterThanEqual(LocalDate date, Pageable pageable);
+
+    List<StudyStreak> findAllBy(Pageable pageable);
+
+    /**
+     * Zeroes up to batchSize streaks whose last study date is before the cutoff, in the caller's transaction if any.
+     * Rows locked by concurrent streak updates are skipped and picked up by the next batch or run.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE study_streak
+            SET current_streak_days = 0, streak_start_date = :today, updated_at = :now
+            WHERE user_id IN (
+                SELECT user_id FROM study_streak
+                WHERE last_study_date < :cutoff AND current_streak_days > 0
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int resetExpiredStreaks(@Param("cutoff") LocalDate cutoff,
+                            @Param("today") LocalDate today,
+                            @Param("now") LocalDateTime now,
+                            @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,50 @@
+package com.study4ever.progressservice.repository;
+
+import com.study4ever.progressservice.model.UserActivityYear;
+import com.study4ever.progressservice.model.UserActivityYearId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserActivityYearRepository extends JpaRepository<UserActivityYear, UserActivityYearId> {
+
+    List<UserActivityYear> findByIdUserIdAndIdActivityYearBetweenOrderByIdActivityYear(
+            String userId, Integer fromYear, Integer toYear);
+
+    List<UserActivityYear> findByIdUserIdOrderByIdActivityYear(String userId);
+
+    void deleteByIdUserId(String userId);
+
+    /**
+     * Creates the zeroed row for a user and year unless it already exists
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_activity_year (user_id, activity_year, active_days, daily_minutes)
+            VALUES (:userId, :year, decode(repeat('00', 46), 'hex'), decode(repeat('00', 732), 'hex'))
+            ON CONFLICT (user_id, activity_year) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("userId") String userId, @Param("year") int year);
+
+    /**
+     * Marks a day active and adds minutes to it in place, so concurrent session ends never lose updates
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE user_activity_year
+            SET active_days = set_bit(active_days, :day, 1),
+                daily_minutes = overlay(daily_minutes PLACING int2send(CAST(LEAST(32767,
+                        get_byte(daily_minutes, :day * 2) * 256 + get_byte(daily_minutes, :day * 2 + 1) + :minutes)
+                    AS SMALLINT)) FROM :day * 2 + 1 FOR 2)
+            WHERE user_id = :userId AND activity_year = :year
+            """, nativeQuery = true)
+    void addActivity(@Param("userId") String userId,
+                     @Param("year") int year,
+                     @Param("day") int dayOfYearIndex,
+                     @Param("minutes") int minutes);
+}
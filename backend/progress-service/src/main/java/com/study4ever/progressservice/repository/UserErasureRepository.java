@@ -0,0 +1,14 @@
+package com.study4ever.progressservice.repository;
+
+import com.study4ever.progressservice.model.ErasureStatus;
+import com.study4ever.progressservice.model.UserErasure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserErasureRepository extends JpaRepository<UserErasure, String> {
+
+    List<UserErasure> findByStatus(ErasureStatus status);
+}
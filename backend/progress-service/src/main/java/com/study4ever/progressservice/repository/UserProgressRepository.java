@@ -1,12 +1,48 @@
 package com.study4ever.progressservice.repository;
 
 import com.study4ever.progressservice.model.UserProgress;
+import com.study4ever.progressservice.repository.projection.UserProgressWithStreak;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserProgressRepository extends JpaRepository<UserProgress, String> {
     Optional<UserProgress> findByUserId(String userId);
+
+    @Query("""
+            SELECT u AS userProgress, s AS streak
+            FROM UserProgress u
+            LEFT JOIN StudyStreak s ON s.userId = u.userId
+            ORDER BY u.lastActiveTimestamp DESC, u.userId DESC
+            """)
+    List<UserProgressWithStreak> findAllWithStreak(Pageable pageable);
+
+    @Query("""
+            SELECT u AS userProgress, s AS streak
+            FROM UserProgress u
+            LEFT JOIN StudyStreak s ON s.userId = u.userId
+            WHERE u.lastActiveTimestamp < :lastActiveTimestamp
+               OR (u.lastActiveTimestamp = :lastActiveTimestamp AND u.userId < :userId)
+            ORDER BY u.lastActiveTimestamp DESC, u.userId DESC
+            """)
+    List<UserProgressWithStreak> findAllWithStreakBefore(
+            @Param("lastActiveTimestamp") LocalDateTime lastActiveTimestamp,
+            @Param("userId") String userId,
+            Limit limit);
+
+    @Query("""
+            SELECT u AS userProgress, s AS streak
+            FROM UserProgress u
+            LEFT JOIN StudyStreak s ON s.userId = u.userId
+            WHERE u.userId = :userId
+            """)
+    Optional<UserProgressWithStreak> findWithStreakByUserId(@Param("userId") String userId);
 }
@@ -0,0 +1,25 @@
+package com.study4ever.progressservice.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-course enrollment aggregates computed in a single grouped query over course_progress.
+ */
+public interface CourseProgressAggregate {
+
+    Long getCourseId();
+
+    Long getEnrollments();
+
+    Long getCompletions();
+
+    Double getCompletionRate();
+
+    Long getNotStartedCount();
+
+    Long getInProgressCount();
+
+    Long getCompletedCount();
+
+    LocalDateTime getLastAccessDate();
+}
@@ -0,0 +1,13 @@
+package com.study4ever.progressservice.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A counter total for one time bucket, keyed by the first day of the bucket.
+ */
+public interface PeriodCount {
+
+    LocalDate getPeriodStart();
+
+    Long getTotal();
+}
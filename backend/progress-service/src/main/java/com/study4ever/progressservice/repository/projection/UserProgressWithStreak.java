@@ -0,0 +1,14 @@
+package com.study4ever.progressservice.repository.projection;
+
+import com.study4ever.progressservice.model.StudyStreak;
+import com.study4ever.progressservice.model.UserProgress;
+
+/**
+ * A user progress row together with the user's streak (null when the user has never studied).
+ */
+public interface UserProgressWithStreak {
+
+    UserProgress getUserProgress();
+
+    StudyStreak getStreak();
+}
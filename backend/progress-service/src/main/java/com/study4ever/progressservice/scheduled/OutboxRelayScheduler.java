@@ -0,0 +1,33 @@
+package com.study4ever.progressservice.scheduled;
+
+import com.study4ever.progressservice.outbox.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "study.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayScheduler {
+
+    private final OutboxRelay outboxRelay;
+
+    /**
+     * Drains the outbox one batch per transaction while full batches are confirmed; a short batch or a failure
+     * waits for the next run.
+     */
+    @Scheduled(fixedDelayString = "${study.outbox.poll-interval-millis:500}")
+    public void relayOutbox() {
+        try {
+            int published;
+            do {
+                published = outboxRelay.relayBatch();
+            } while (published == outboxRelay.getBatchSize());
+        } catch (Exception e) {
+            log.error("Failed to relay outbox messages", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.study4ever.progressservice.scheduled;
+
+import com.study4ever.progressservice.jobs.JobCoordinator;
+import com.study4ever.progressservice.messaging.MessageDeduplicator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessedMessageCleanupTask {
+
+    private static final Duration MAX_RUN_TIME = Duration.ofMinutes(10);
+
+    private final MessageDeduplicator messageDeduplicator;
+    private final JobCoordinator jobCoordinator;
+
+    /**
+     * Drops processed message ids past the retention window, hourly so each delete stays small
+     */
+    @Scheduled(cron = "0 20 * * * *")
+    public void purgeExpiredMessageIds() {
+        try {
+            jobCoordinator.runExclusively("processed-message-purge", null, MAX_RUN_TIME, () -> {
+                int purged = messageDeduplicator.purgeExpired();
+                log.debug("Purged {} processed message ids", purged);
+            });
+        } catch (Exception e) {
+            log.error("Failed to purge processed message ids", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.study4ever.progressservice.scheduled;
 
+import com.study4ever.progressservice.jobs.JobCoordinator;
 import com.study4ever.progressservice.service.StudySessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,22 +8,29 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "study.session.cleanup.enabled", havingValue = "true", matchIfMissing = true)
 public class StudySessionCleanupTask {
 
+    private static final Duration MAX_RUN_TIME = Duration.ofMinutes(5);
+
     private final StudySessionService studySessionService;
+    private final JobCoordinator jobCoordinator;
 
     /**
-     * Runs every 5 minutes to clean up expired study sessions
+     * Runs every 5 minutes to clean up expired study sessions. Ending a session twice is harmless, so there is
+     * no instance key, only the lease keeping two replicas from ending the same sessions at once.
      */
     @Scheduled(fixedRate = 300000) // 5 minutes in milliseconds
     public void cleanupExpiredSessions() {
         log.debug("Running expired study session cleanup task");
         try {
-            studySessionService.cleanupExpiredSessions();
+            jobCoordinator.runExclusively(
+                    "study-session-cleanup", null, MAX_RUN_TIME, studySessionService::cleanupExpiredSessions);
         } catch (Exception e) {
             log.error("Error during study session cleanup: {}", e.getMessage(), e);
         }
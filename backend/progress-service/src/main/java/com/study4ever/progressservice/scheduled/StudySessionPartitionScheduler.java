@@ -0,0 +1,73 @@
+package com.study4ever.progressservice.scheduled;
+
+import com.study4ever.progressservice.jobs.JobCoordinator;
+import com.study4ever.progressservice.service.StudySessionPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "study.partition.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class StudySessionPartitionScheduler {
+
+    private static final Duration MAX_RUN_TIME = Duration.ofHours(2);
+
+    private final StudySessionPartitionService partitionService;
+    private final JobCoordinator jobCoordinator;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartitionsOnStartup() {
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Keeps partitions for the next few months in place so inserts never fall into the default partition
+     */
+    @Scheduled(cron = "0 15 1 * * *")
+    public void createUpcomingPartitions() {
+        try {
+            jobCoordinator.runExclusively("session-partition-create", null, MAX_RUN_TIME, () -> {
+                int created = partitionService.createUpcomingPartitions();
+                if (created > 0) {
+                    log.info("Created {} upcoming study session partitions", created);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to create upcoming study session partitions", e);
+        }
+    }
+
+    /**
+     * Archives months past the retention window, one transaction per month.
+     * Runs on the 2nd so the daily stats for the last day of the month are already stored.
+     */
+    @Scheduled(cron = "0 30 3 2 * *")
+    public void archiveExpiredPartitions() {
+        try {
+            jobCoordinator.runExclusively("session-partition-archive", YearMonth.now().toString(), MAX_RUN_TIME, () -> {
+                List<YearMonth> months = partitionService.findArchivableMonths();
+                log.info("Archiving {} expired study session partitions", months.size());
+
+                for (YearMonth month : months) {
+                    try {
+                        partitionService.archiveMonth(month);
+                    } catch (Exception e) {
+                        log.error("Failed to archive study sessions for {}", month, e);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to archive expired study session partitions", e);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.study4ever.progressservice.scheduled;
 
+import com.study4ever.progressservice.jobs.JobCoordinator;
 import com.study4ever.progressservice.service.StudyStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
 
 @Component
@@ -13,7 +15,10 @@ import java.time.LocalDate;
 @Slf4j
 public class StudyStatsScheduler {
 
+    private static final Duration MAX_RUN_TIME = Duration.ofHours(2);
+
     private final StudyStatsService studyStatsService;
+    private final JobCoordinator jobCoordinator;
 
     /**
      * Calculate daily statistics for all users at 5 minutes after midnight
@@ -22,31 +27,32 @@ public class StudyStatsScheduler {
     @Scheduled(cron = "0 5 0 * * *") // 5 minutes after midnight
     public void calculateDailyStats() {
         LocalDate yesterday = LocalDate.now().minusDays(1);
-        
-        log.info("Starting scheduled calculation of daily stats for {}", yesterday);
-        
+
         try {
-            studyStatsService.calculateDailyStatsForAllUsers(yesterday);
-            log.info("Successfully completed daily stats calculation for {}", yesterday);
+            jobCoordinator.runExclusively("study-stats-daily", yesterday.toString(), MAX_RUN_TIME, () -> {
+                log.info("Starting scheduled calculation of daily stats for {}", yesterday);
+                studyStatsService.calculateDailyStatsForAllUsers(yesterday);
+                log.info("Successfully completed daily stats calculation for {}", yesterday);
+            });
         } catch (Exception e) {
             log.error("Failed to calculate daily stats for {}", yesterday, e);
         }
     }
 
     /**
-     * Cleanup old statistics (optional - keep last 2 years)
+     * Compact old statistics: DAILY rows past the retention window are folded into MONTHLY rows
      * Runs once a week on Sunday at 2 AM
      */
     @Scheduled(cron = "0 0 2 * * SUN")
     public void cleanupOldStats() {
-        log.info("Starting cleanup of old statistics");
-        
         try {
-            // This can be implemented later if needed
-            // studyStatsService.cleanupOldStats(LocalDate.now().minusYears(2));
-            log.info("Statistics cleanup completed");
+            jobCoordinator.runExclusively("study-stats-compaction", LocalDate.now().toString(), MAX_RUN_TIME, () -> {
+                log.info("Starting compaction of old daily statistics");
+                long folded = studyStatsService.compactDailyStats();
+                log.info("Statistics compaction completed, {} daily rows folded", folded);
+            });
         } catch (Exception e) {
-            log.error("Failed to cleanup old statistics", e);
+            log.error("Failed to compact old statistics", e);
         }
     }
 }
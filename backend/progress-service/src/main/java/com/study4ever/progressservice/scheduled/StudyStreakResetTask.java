@@ -0,0 +1,35 @@
+package com.study4ever.progressservice.scheduled;
+
+import com.study4ever.progressservice.jobs.JobCoordinator;
+import com.study4ever.progressservice.service.StudyStreakService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudyStreakResetTask {
+
+    private static final Duration MAX_RUN_TIME = Duration.ofHours(1);
+
+    private final StudyStreakService studyStreakService;
+    private final JobCoordinator jobCoordinator;
+
+    /**
+     * Resets expired streaks daily at midnight
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void resetExpiredStreaks() {
+        try {
+            jobCoordinator.runExclusively("streak-reset", LocalDate.now().toString(), MAX_RUN_TIME,
+                    studyStreakService::checkAndResetExpiredStreaks);
+        } catch (Exception e) {
+            log.error("Failed to reset expired streaks", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.study4ever.progressservice.scheduled;
+
+import com.study4ever.progressservice.jobs.JobCoordinator;
+import com.study4ever.progressservice.service.UserErasureService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserErasureRetryTask {
+
+    private static final Duration MAX_RUN_TIME = Duration.ofHours(1);
+
+    private final UserErasureService userErasureService;
+    private final JobCoordinator jobCoordinator;
+
+    /**
+     * Resumes failed erasures every 15 minutes, so a user deleted during a database hiccup does not stay
+     * half-erased until someone replays the dead-lettered event
+     */
+    @Scheduled(cron = "0 */15 * * * *")
+    public void retryFailedErasures() {
+        try {
+            jobCoordinator.runExclusively("user-erasure-retry", null, MAX_RUN_TIME, () -> {
+                int completed = userErasureService.retryFailedErasures();
+                if (completed > 0) {
+                    log.info("Completed {} previously failed user erasures", completed);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to retry user erasures", e);
+        }
+    }
+}
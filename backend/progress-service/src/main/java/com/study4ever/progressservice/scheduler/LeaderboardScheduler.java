@@ -1,5 +1,6 @@
 package com.study4ever.progressservice.scheduler;
 
+import com.study4ever.progressservice.jobs.JobCoordinator;
 import com.study4ever.progressservice.service.LeaderboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,7 +8,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 @Component
 @RequiredArgsConstructor
@@ -15,7 +18,10 @@ import java.time.LocalDate;
 @ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
 public class LeaderboardScheduler {
 
+    private static final Duration MAX_RUN_TIME = Duration.ofHours(1);
+
     private final LeaderboardService leaderboardService;
+    private final JobCoordinator jobCoordinator;
 
     /**
      * Calculate daily leaderboard every day at 01:00 AM
@@ -25,11 +31,13 @@ public class LeaderboardScheduler {
     public void calculateDailyLeaderboard() {
         try {
             LocalDate yesterday = LocalDate.now().minusDays(1);
-            log.info("Starting scheduled daily leaderboard calculation for: {}", yesterday);
-            
-            leaderboardService.calculateDailyLeaderboard(yesterday);
-            
-            log.info("Completed scheduled daily leaderboard calculation for: {}", yesterday);
+            jobCoordinator.runExclusively("leaderboard-daily", yesterday.toString(), MAX_RUN_TIME, () -> {
+                log.info("Starting scheduled daily leaderboard calculation for: {}", yesterday);
+
+                leaderboardService.calculateDailyLeaderboard(yesterday);
+
+                log.info("Completed scheduled daily leaderboard calculation for: {}", yesterday);
+            });
         } catch (Exception e) {
             log.error("Error during scheduled daily leaderboard calculation", e);
         }
@@ -43,11 +51,13 @@ public class LeaderboardScheduler {
         try {
             LocalDate lastWeekStart = LocalDate.now().minusWeeks(1)
                 .with(java.time.DayOfWeek.MONDAY);
-            log.info("Starting scheduled weekly leaderboard calculation for week starting: {}", lastWeekStart);
-            
-            leaderboardService.calculateWeeklyLeaderboard(lastWeekStart);
-            
-            log.info("Completed scheduled weekly leaderboard calculation for week starting: {}", lastWeekStart);
+            jobCoordinator.runExclusively("leaderboard-weekly", lastWeekStart.toString(), MAX_RUN_TIME, () -> {
+                log.info("Starting scheduled weekly leaderboard calculation for week starting: {}", lastWeekStart);
+
+                leaderboardService.calculateWeeklyLeaderboard(lastWeekStart);
+
+                log.info("Completed scheduled weekly leaderboard calculation for week starting: {}", lastWeekStart);
+            });
         } catch (Exception e) {
             log.error("Error during scheduled weekly leaderboard calculation", e);
         }
@@ -62,12 +72,14 @@ public class LeaderboardScheduler {
             LocalDate lastMonth = LocalDate.now().minusMonths(1);
             int year = lastMonth.getYear();
             int month = lastMonth.getMonthValue();
-            
-            log.info("Starting scheduled monthly leaderboard calculation for {}/{}", year, month);
-            
-            leaderboardService.calculateMonthlyLeaderboard(year, month);
-            
-            log.info("Completed scheduled monthly leaderboard calculation for {}/{}", year, month);
+
+            jobCoordinator.runExclusively("leaderboard-monthly", YearMonth.of(year, month).toString(), MAX_RUN_TIME, () -> {
+                log.info("Starting scheduled monthly leaderboard calculation for {}/{}", year, month);
+
+                leaderboardService.calculateMonthlyLeaderboard(year, month);
+
+                log.info("Completed scheduled monthly leaderboard calculation for {}/{}", year, month);
+            });
         } catch (Exception e) {
             log.error("Error during scheduled monthly leaderboard calculation", e);
         }
@@ -80,11 +92,13 @@ public class LeaderboardScheduler {
     public void calculateYearlyLeaderboard() {
         try {
             int lastYear = LocalDate.now().getYear() - 1;
-            log.info("Starting scheduled yearly leaderboard calculation for year: {}", lastYear);
-            
-            leaderboardService.calculateYearlyLeaderboard(lastYear);
-            
-            log.info("Completed scheduled yearly leaderboard calculation for year: {}", lastYear);
+            jobCoordinator.runExclusively("leaderboard-yearly", String.valueOf(lastYear), MAX_RUN_TIME, () -> {
+                log.info("Starting scheduled yearly leaderboard calculation for year: {}", lastYear);
+
+                leaderboardService.calculateYearlyLeaderboard(lastYear);
+
+                log.info("Completed scheduled yearly leaderboard calculation for year: {}", lastYear);
+            });
         } catch (Exception e) {
             log.error("Error during scheduled yearly leaderboard calculation", e);
         }
@@ -98,11 +112,13 @@ public class LeaderboardScheduler {
         try {
             LocalDate currentWeekStart = LocalDate.now()
                 .with(java.time.DayOfWeek.MONDAY);
-            log.info("Starting current week leaderboard calculation for week starting: {}", currentWeekStart);
-            
-            leaderboardService.calculateWeeklyLeaderboard(currentWeekStart);
-            
-            log.info("Completed current week leaderboard calculation for week starting: {}", currentWeekStart);
+            jobCoordinator.runExclusively("leaderboard-current-week", currentWeekStart.toString(), MAX_RUN_TIME, () -> {
+                log.info("Starting current week leaderboard calculation for week starting: {}", currentWeekStart);
+
+                leaderboardService.calculateWeeklyLeaderboard(currentWeekStart);
+
+                log.info("Completed current week leaderboard calculation for week starting: {}", currentWeekStart);
+            });
         } catch (Exception e) {
             log.error("Error during current week leaderboard calculation", e);
         }
@@ -117,12 +133,14 @@ public class LeaderboardScheduler {
             LocalDate currentMonth = LocalDate.now();
             int year = currentMonth.getYear();
             int month = currentMonth.getMonthValue();
-            
-            log.info("Starting current month leaderboard calculation for {}/{}", year, month);
-            
-            leaderboardService.calculateMonthlyLeaderboard(year, month);
-            
-            log.info("Completed current month leaderboard calculation for {}/{}", year, month);
+
+            jobCoordinator.runExclusively("leaderboard-current-month", YearMonth.of(year, month).toString(), MAX_RUN_TIME, () -> {
+                log.info("Starting current month leaderboard calculation for {}/{}", year, month);
+
+                leaderboardService.calculateMonthlyLeaderboard(year, month);
+
+                log.info("Completed current month leaderboard calculation for {}/{}", year, month);
+            });
         } catch (Exception e) {
             log.error("Error during current month leaderboard calculation", e);
         }
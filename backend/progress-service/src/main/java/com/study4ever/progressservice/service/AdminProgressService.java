@@ -4,21 +4,25 @@ import com.study4ever.progressservice.dto.CourseCompletionStatisticsDto;
 import com.study4ever.progressservice.dto.CourseProgressSummaryDto;
 import com.study4ever.progressservice.dto.EnrollmentStatisticsDto;
 import com.study4ever.progressservice.dto.UserProgressDto;
+import com.study4ever.progressservice.model.PeriodType;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AdminProgressService {
 
-    List<UserProgressDto> getAllUserProgress(int page, int size);
+    List<UserProgressDto> getAllUserProgress(int page, int size, LocalDateTime beforeTimestamp, String beforeUserId);
 
-    CourseProgressSummaryDto getCourseProgressSummary(String courseId);
+    UserProgressDto getUserProgress(String userId);
 
-    List<CourseProgressSummaryDto> getAllCourseProgressSummaries();
+    CourseProgressSummaryDto getCourseProgressSummary(Long courseId);
 
-    EnrollmentStatisticsDto getNewEnrollmentsByDateRange(LocalDate startDate, LocalDate endDate);
+    List<CourseProgressSummaryDto> getAllCourseProgressSummaries(int page, int size, String sortBy, String direction);
 
-    CourseCompletionStatisticsDto getCourseCompletionsByDateRange(String courseId, LocalDate startDate, LocalDate endDate);
+    EnrollmentStatisticsDto getNewEnrollmentsByDateRange(LocalDate startDate, LocalDate endDate, PeriodType granularity);
 
-    void resetUserProgress(String userId, String courseId);
+    CourseCompletionStatisticsDto getCourseCompletionsByDateRange(Long courseId, LocalDate startDate, LocalDate endDate, PeriodType granularity);
+
+    void resetUserProgress(String userId, Long courseId);
 }
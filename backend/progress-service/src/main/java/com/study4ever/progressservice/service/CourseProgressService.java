@@ -2,27 +2,30 @@ package com.study4ever.progressservice.service;
 
 import com.study4ever.progressservice.dto.CourseEnrollmentRequest;
 import com.study4ever.progressservice.dto.CourseProgressDto;
+import com.study4ever.progressservice.dto.CourseProgressTreeDto;
 import com.study4ever.progressservice.dto.NextLessonDto;
 
 import java.util.List;
 
 public interface CourseProgressService {
 
-    CourseProgressDto getCourseProgress(String userId, String courseId);
+    CourseProgressDto getCourseProgress(String userId, Long courseId);
 
-    void enrollInCourse(String userId, String courseId, CourseEnrollmentRequest request);
+    CourseProgressTreeDto getCourseProgressTree(String userId, Long courseId);
+
+    void enrollInCourse(String userId, Long courseId, CourseEnrollmentRequest request);
 
     List<CourseProgressDto> getAllCourseProgress(String userId);
 
-    void updateLastAccessed(String userId, String courseId);
+    void updateLastAccessed(String userId, Long courseId);
 
-    void markCourseCompleted(String userId, String courseId);
+    void markCourseCompleted(String userId, Long courseId);
 
-    void resetCourseProgress(String userId, String courseId);
+    void resetCourseProgress(String userId, Long courseId);
 
-    Integer updateCompletedLessonsCount(String userId, String courseId);
+    Integer updateCompletedLessonsCount(String userId, Long courseId);
 
-    void removeEnrolledCourse(String userId, String courseId);
+    void removeEnrolledCourse(String userId, Long courseId);
     
     /**
      * Find the next lesson a user should continue with in a course.
@@ -34,5 +37,5 @@ public interface CourseProgressService {
      * @param courseId The course ID
      * @return NextLessonDto containing the next lesson information
      */
-    NextLessonDto getNextLesson(String userId, String courseId);
+    NextLessonDto getNextLesson(String userId, Long courseId);
 }
@@ -0,0 +1,8 @@
+package com.study4ever.progressservice.service;
+
+import com.study4ever.progressservice.dto.DashboardDto;
+
+public interface DashboardService {
+
+    DashboardDto getDashboard(String userId, int days, int weeks);
+}
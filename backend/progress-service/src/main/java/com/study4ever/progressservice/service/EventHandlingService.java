@@ -4,7 +4,9 @@ import java.util.Map;
 
 public interface EventHandlingService {
 
-    void handleUserCreatedEvent(Map<String, Object> userData);
+    void handleUserCreatedEvent(Map<String, Object> userData, String messageId);
 
-    void handleUserLoginEvent(String userId);
+    void handleUserLoginEvent(String userId, String messageId);
+
+    void handleUserDeletedEvent(Map<String, Object> userData, String messageId);
 }
@@ -33,6 +33,11 @@ public interface LeaderboardService {
      */
     LeaderboardEntryDto getUserRankForPeriod(String userId, PeriodType periodType, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Version of the stored rankings of a period, 0 while none are stored. Every recalculation raises it.
+     */
+    long getLeaderboardVersion(PeriodType periodType, LocalDate startDate);
+
     /**
      * Calculate and store daily leaderboard rankings
      * Called by scheduled task
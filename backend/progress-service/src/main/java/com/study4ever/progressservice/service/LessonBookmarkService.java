@@ -2,21 +2,25 @@ package com.study4ever.progressservice.service;
 
 import com.study4ever.progressservice.dto.LessonBookmarkDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface LessonBookmarkService {
 
-    LessonBookmarkDto addBookmark(String userId, String courseId, String moduleId, String lessonId);
+    LessonBookmarkDto addBookmark(String userId, Long courseId, Long moduleId, Long lessonId);
 
-    void removeBookmark(String userId, String lessonId);
+    void removeBookmark(String userId, Long lessonId);
 
     List<LessonBookmarkDto> getUserBookmarks(String userId);
 
-    List<LessonBookmarkDto> getUserBookmarksByCourse(String userId, String courseId);
+    List<LessonBookmarkDto> getUserBookmarksByCourse(String userId, Long courseId);
 
-    boolean isBookmarked(String userId, String lessonId);
+    boolean isBookmarked(String userId, Long lessonId);
+
+    Map<Long, Boolean> getBookmarkStatuses(String userId, Collection<Long> lessonIds);
 
     long getUserBookmarkCount(String userId);
 
-    void removeAllUserBookmarks(String userId, String courseId);
+    void removeAllUserBookmarks(String userId, Long courseId);
 }
@@ -6,19 +6,19 @@ import java.util.List;
 
 public interface LessonProgressService {
 
-    LessonProgressDto getLessonProgress(String userId, String courseId, String moduleId, String lessonId);
+    LessonProgressDto getLessonProgress(String userId, Long courseId, Long moduleId, Long lessonId);
 
-    LessonProgressDto initializeLessonProgress(String userId, String courseId, String moduleId, String lessonId);
+    LessonProgressDto initializeLessonProgress(String userId, Long courseId, Long moduleId, Long lessonId);
 
-    List<LessonProgressDto> getAllLessonsProgressInModule(String userId, String courseId, String moduleId);
+    List<LessonProgressDto> getAllLessonsProgressInModule(String userId, Long courseId, Long moduleId);
 
-    void markLessonCompleted(String userId, String courseId, String moduleId, String lessonId);
+    void markLessonCompleted(String userId, Long courseId, Long moduleId, Long lessonId);
 
-    void updateLastAccessed(String userId, String courseId, String moduleId, String lessonId);
+    void updateLastAccessed(String userId, Long courseId, Long moduleId, Long lessonId);
 
-    void deleteLessonProgress(String userId, String courseId, String moduleId, String lessonId);
+    void deleteLessonProgress(String userId, Long courseId, Long moduleId, Long lessonId);
 
-    List<String> getCompletedLessons(String userId, String courseId, String moduleId);
+    List<String> getCompletedLessons(String userId, Long courseId, Long moduleId);
 
-    List<String> getCompletedLessonsInCourse(String userId, String courseId);
+    List<String> getCompletedLessonsInCourse(String userId, Long courseId);
 }
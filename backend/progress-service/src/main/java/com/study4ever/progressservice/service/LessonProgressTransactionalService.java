@@ -12,8 +12,8 @@ public interface LessonProgressTransactionalService {
      * If duplicates exist, keeps the oldest one and removes others.
      */
     LessonProgress getOrCleanupLessonProgress(String userId,
-                                             String courseId,
-                                             String moduleId,
-                                             String lessonId,
+                                             Long courseId,
+                                             Long moduleId,
+                                             Long lessonId,
                                              boolean throwIfNotFound);
 }
@@ -6,13 +6,13 @@ import java.util.List;
 
 public interface ModuleProgressService {
 
-    ModuleProgressDto getModuleProgress(String userId, String courseId, String moduleId);
+    ModuleProgressDto getModuleProgress(String userId, Long courseId, Long moduleId);
 
-    ModuleProgressDto initializeModuleProgress(String userId, String courseId, String moduleId, Integer totalLessonsCount);
+    ModuleProgressDto initializeModuleProgress(String userId, Long courseId, Long moduleId, Integer totalLessonsCount);
 
-    List<ModuleProgressDto> getAllModulesProgressInCourse(String userId, String courseId);
+    List<ModuleProgressDto> getAllModulesProgressInCourse(String userId, Long courseId);
 
-    void updateLastAccessed(String userId, String courseId, String moduleId);
+    void updateLastAccessed(String userId, Long courseId, Long moduleId);
 
-    void removeModuleProgress(String userId, String courseId, String moduleId);
+    void removeModuleProgress(String userId, Long courseId, Long moduleId);
 }
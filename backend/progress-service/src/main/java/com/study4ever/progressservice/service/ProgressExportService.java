@@ -0,0 +1,14 @@
+package com.study4ever.progressservice.service;
+
+import com.study4ever.progressservice.dto.ExportDataset;
+import com.study4ever.progressservice.dto.ExportFilter;
+import com.study4ever.progressservice.dto.ExportFormat;
+
+import java.io.OutputStream;
+
+public interface ProgressExportService {
+
+    void validateFilter(ExportDataset dataset, ExportFilter filter);
+
+    long export(ExportDataset dataset, ExportFormat format, ExportFilter filter, OutputStream outputStream);
+}
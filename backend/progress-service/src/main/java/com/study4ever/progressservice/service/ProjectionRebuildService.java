@@ -0,0 +1,14 @@
+package com.study4ever.progressservice.service;
+
+import com.study4ever.progressservice.dto.ProjectionRebuildResultDto;
+
+import java.util.List;
+
+public interface ProjectionRebuildService {
+
+    List<String> getProjectionNames();
+
+    ProjectionRebuildResultDto rebuild(String projectionName, int parallelism);
+
+    ProjectionRebuildResultDto rebuildUser(String projectionName, String userId);
+}
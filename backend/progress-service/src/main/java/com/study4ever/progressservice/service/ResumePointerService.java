@@ -0,0 +1,15 @@
+package com.study4ever.progressservice.service;
+
+import com.study4ever.progressservice.dto.ResumePointerDto;
+
+public interface ResumePointerService {
+
+    ResumePointerDto getResumePointer(String userId);
+
+    /**
+     * Moves the user's pointer to the lesson. The title may be null when the caller does not know it.
+     */
+    void recordLesson(String userId, Long courseId, Long moduleId, Long lessonId, String lessonTitle);
+
+    void clearCourse(String userId, Long courseId);
+}
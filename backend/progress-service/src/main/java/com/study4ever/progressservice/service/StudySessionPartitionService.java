@@ -0,0 +1,33 @@
+package com.study4ever.progressservice.service;
+
+import com.study4ever.progressservice.dto.SessionArchiveDto;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+public interface StudySessionPartitionService {
+
+    boolean isPartitioned();
+
+    int createUpcomingPartitions();
+
+    List<YearMonth> findArchivableMonths();
+
+    SessionArchiveDto archiveMonth(YearMonth month);
+
+    SessionArchiveDto restoreMonth(YearMonth month);
+
+    List<SessionArchiveDto> getArchives();
+
+    /**
+     * Months whose sessions are archived and detached, so study_session no longer holds them
+     */
+    Set<YearMonth> findArchivedMonths();
+
+    /**
+     * Whether any month between the two dates (inclusive) is archived
+     */
+    boolean isArchived(LocalDate startDate, LocalDate endDate);
+}
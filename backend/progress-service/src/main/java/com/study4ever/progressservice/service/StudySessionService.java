@@ -3,6 +3,7 @@ package com.study4ever.progressservice.service;
 import com.study4ever.progressservice.dto.HeartbeatRequest;
 import com.study4ever.progressservice.dto.StartStudySessionRequest;
 import com.study4ever.progressservice.dto.StudySessionDto;
+import com.study4ever.progressservice.dto.StudySessionPageDto;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,11 +17,12 @@ public interface StudySessionService {
 
     StudySessionDto getStudySession(String userId, UUID sessionId);
 
-    List<StudySessionDto> getUserStudySessions(String userId);
+    StudySessionPageDto getUserStudySessions(String userId, String cursor, int size);
 
     List<StudySessionDto> getUserStudySessionsByDate(String userId, LocalDate date);
 
-    List<StudySessionDto> getUserStudySessionsByDateRange(String userId, LocalDate startDate, LocalDate endDate);
+    StudySessionPageDto getUserStudySessionsByDateRange(
+            String userId, LocalDate startDate, LocalDate endDate, String cursor, int size);
 
     List<StudySessionDto> getAllActiveSessions();
 
@@ -62,4 +62,15 @@ public interface StudyStatsService {
      * Useful for data corrections or manual recalculation
      */
     void recalculateStats(String userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Fold DAILY rows older than the retention horizon into MONTHLY rows
+     * Returns the number of DAILY rows folded
+     */
+    long compactDailyStats();
+
+    /**
+     * Version of the user's stored stats rows; it changes whenever one is written, folded or deleted
+     */
+    String getStatsVersion(String userId);
 }
@@ -2,6 +2,7 @@ package com.study4ever.progressservice.service;
 
 import com.study4ever.progressservice.dto.StreakHistoryEntryDto;
 import com.study4ever.progressservice.dto.StudyStreakDto;
+import com.study4ever.progressservice.model.StreakRanking;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,9 +17,13 @@ public interface StudyStreakService {
 
     List<StreakHistoryEntryDto> getStreakHistoryByDateRange(String userId, LocalDate startDate, LocalDate endDate);
 
-    List<StudyStreakDto> getTopStreaks(int limit);
+    StudyStreakDto recalculateLongestStreak(String userId);
+
+    List<StudyStreakDto> getTopStreaks(StreakRanking ranking, int limit);
 
     void updateLastStudyDateToday(String userId);
 
     StudyStreakDto createInitialStreak(String userId);
+
+    void checkAndResetExpiredStreaks();
 }
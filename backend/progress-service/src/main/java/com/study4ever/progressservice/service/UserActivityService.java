@@ -0,0 +1,19 @@
+package com.study4ever.progressservice.service;
+
+import com.study4ever.progressservice.dto.ActivityHeatmapDto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface UserActivityService {
+
+    void recordStudyDay(String userId, LocalDate date, int minutes);
+
+    Map<LocalDate, Integer> getActiveDays(String userId, LocalDate startDate, LocalDate endDate);
+
+    ActivityHeatmapDto getHeatmap(String userId, int year);
+
+    int computeLongestStreak(String userId);
+
+    void rebuildFromSessions(String userId);
+}
@@ -0,0 +1,16 @@
+package com.study4ever.progressservice.service;
+
+import com.study4ever.progressservice.model.UserErasure;
+
+public interface UserErasureService {
+
+    /**
+     * Deletes every progress row owned by the user in small batches. Safe to run again for the same user.
+     */
+    UserErasure eraseUser(String userId);
+
+    /**
+     * Runs every failed erasure again and returns how many completed.
+     */
+    int retryFailedErasures();
+}
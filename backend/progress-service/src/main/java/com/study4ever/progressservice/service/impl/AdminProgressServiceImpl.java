@@ -4,31 +4,35 @@ import com.study4ever.progressservice.dto.CourseCompletionStatisticsDto;
 import com.study4ever.progressservice.dto.CourseProgressSummaryDto;
 import com.study4ever.progressservice.dto.EnrollmentStatisticsDto;
 import com.study4ever.progressservice.dto.UserProgressDto;
+import com.study4ever.progressservice.exception.BadRequestException;
 import com.study4ever.progressservice.exception.NotFoundException;
 import com.study4ever.progressservice.model.CourseProgress;
+import com.study4ever.progressservice.model.PeriodType;
 import com.study4ever.progressservice.model.ProgressStatus;
-import com.study4ever.progressservice.model.UserProgress;
+import com.study4ever.progressservice.repository.CourseActivityDailyRepository;
 import com.study4ever.progressservice.repository.CourseProgressRepository;
 import com.study4ever.progressservice.repository.UserProgressRepository;
+import com.study4ever.progressservice.repository.projection.CourseProgressAggregate;
+import com.study4ever.progressservice.repository.projection.PeriodCount;
+import com.study4ever.progressservice.repository.projection.UserProgressWithStreak;
 import com.study4ever.progressservice.service.AdminProgressService;
 import com.study4ever.progressservice.service.CourseProgressService;
-import com.study4ever.progressservice.service.UserProgressService;
 import com.study4ever.progressservice.util.ProgressMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -37,120 +41,100 @@ public class AdminProgressServiceImpl implements AdminProgressService {
 
     private final UserProgressRepository userProgressRepository;
     private final CourseProgressRepository courseProgressRepository;
-    private final UserProgressService userProgressService;
+    private final CourseActivityDailyRepository courseActivityDailyRepository;
     private final CourseProgressService courseProgressService;
 
+    private static final Set<String> SUMMARY_SORT_PROPERTIES =
+            Set.of("courseId", "enrollments", "completions", "completionRate", "lastAccessDate");
+
     @Override
     @Transactional(readOnly = true)
-    public List<UserProgressDto> getAllUserProgress(int page, int size) {
-        Page<String> userIds = userProgressRepository.findAll(
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "lastActiveTimestamp")))
-                .map(UserProgress::getUserId);
+    public List<UserProgressDto> getAllUserProgress(int page, int size, LocalDateTime beforeTimestamp, String beforeUserId) {
+        if ((beforeTimestamp == null) != (beforeUserId == null)) {
+            throw new BadRequestException("beforeTimestamp and beforeUserId must be provided together");
+        }
+
+        List<UserProgressWithStreak> rows = beforeTimestamp == null
+                ? userProgressRepository.findAllWithStreak(PageRequest.of(page, size))
+                : userProgressRepository.findAllWithStreakBefore(beforeTimestamp, beforeUserId, Limit.of(size));
 
-        return userIds.stream()
-                .map(userProgressService::getUserProgress)
+        return rows.stream()
+                .map(row -> ProgressMapper.mapToUserDto(row.getUserProgress(), row.getStreak()))
                 .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public CourseProgressSummaryDto getCourseProgressSummary(String courseId) {
-        List<CourseProgress> courseProgresses = courseProgressRepository.findByCourseId(courseId);
-
-        if (courseProgresses.isEmpty()) {
-            log.warn("No progress data found for course ID: {}", courseId);
-            throw new NotFoundException("No progress data found for course ID: " + courseId);
-        }
-
-        int totalEnrollments = courseProgresses.size();
-        long totalCompleted = courseProgresses.stream()
-                .filter(cp -> Boolean.TRUE.equals(cp.getCompleted()))
-                .count();
-
-        float completionRate = (float) totalCompleted / totalEnrollments * 100;
-
-        LocalDateTime lastAccessDate = courseProgresses.stream()
-                .map(CourseProgress::getLastAccessDate)
-                .filter(Objects::nonNull)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-
-        return CourseProgressSummaryDto.builder()
-                .courseId(courseId)
-                .status(ProgressMapper.mapStatus(mostFrequentStatus(courseProgresses)))
-                .completionPercentage(completionRate)
-                .lastAccessDate(lastAccessDate)
-                .build();
+    public UserProgressDto getUserProgress(String userId) {
+        return userProgressRepository.findWithStreakByUserId(userId)
+                .map(row -> ProgressMapper.mapToUserDto(row.getUserProgress(), row.getStreak()))
+                .orElseThrow(() -> new NotFoundException("User progress not found for user " + userId));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CourseProgressSummaryDto> getAllCourseProgressSummaries() {
-        List<String> courseIds = courseProgressRepository.findDistinctCourseIds();
-
-        return courseIds.stream()
-                .map(this::getCourseProgressSummary)
-                .toList();
+    public CourseProgressSummaryDto getCourseProgressSummary(Long courseId) {
+        return courseProgressRepository.findCourseProgressAggregate(courseId)
+                .map(this::mapToSummaryDto)
+                .orElseThrow(() -> {
+                    log.warn("No progress data found for course ID: {}", courseId);
+                    return new NotFoundException("No progress data found for course ID: " + courseId);
+                });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public EnrollmentStatisticsDto getNewEnrollmentsByDateRange(LocalDate startDate, LocalDate endDate) {
-        List<CourseProgress> enrollments = courseProgressRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay().minusSeconds(1));
+    public List<CourseProgressSummaryDto> getAllCourseProgressSummaries(int page, int size, String sortBy, String direction) {
+        if (!SUMMARY_SORT_PROPERTIES.contains(sortBy)) {
+            throw new BadRequestException("Unsupported sort property: " + sortBy + ". Allowed: " + SUMMARY_SORT_PROPERTIES);
+        }
 
-        Map<LocalDate, Integer> enrollmentsByDate = new HashMap<>();
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Unsupported sort direction: " + direction));
 
-        LocalDate date = startDate;
-        while (!date.isAfter(endDate)) {
-            enrollmentsByDate.put(date, 0);
-            date = date.plusDays(1);
+        Sort sort = Sort.by(sortDirection, sortBy);
+        if (!"courseId".equals(sortBy)) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, "courseId"));
         }
 
-        for (CourseProgress enrollment : enrollments) {
-            LocalDate enrollmentDate = enrollment.getCreatedAt().toLocalDate();
-            enrollmentsByDate.put(enrollmentDate, enrollmentsByDate.getOrDefault(enrollmentDate, 0) + 1);
-        }
+        return courseProgressRepository.findCourseProgressAggregates(PageRequest.of(page, size, sort)).stream()
+                .map(this::mapToSummaryDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EnrollmentStatisticsDto getNewEnrollmentsByDateRange(LocalDate startDate, LocalDate endDate, PeriodType granularity) {
+        List<PeriodCount> counts = courseActivityDailyRepository.sumEnrollmentsByPeriod(
+                truncationUnit(granularity), startDate, endDate);
 
         return EnrollmentStatisticsDto.builder()
                 .startDate(startDate)
                 .endDate(endDate)
-                .enrollmentsByDate(enrollmentsByDate)
+                .granularity(granularity)
+                .enrollmentsByDate(fillPeriods(counts, startDate, endDate, granularity))
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public CourseCompletionStatisticsDto getCourseCompletionsByDateRange(String courseId, LocalDate startDate, LocalDate endDate) {
-        List<CourseProgress> completions = courseProgressRepository.findByCourseIdAndCompletedAndCompletionDateBetween(
-                courseId, true, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay().minusSeconds(1));
-
-        Map<LocalDate, Integer> completionsByDate = new HashMap<>();
-
-        LocalDate date = startDate;
-        while (!date.isAfter(endDate)) {
-            completionsByDate.put(date, 0);
-            date = date.plusDays(1);
-        }
-
-        for (CourseProgress completion : completions) {
-            if (completion.getCompletionDate() != null) {
-                LocalDate completionDate = completion.getCompletionDate().toLocalDate();
-                completionsByDate.put(completionDate, completionsByDate.getOrDefault(completionDate, 0) + 1);
-            }
-        }
+    public CourseCompletionStatisticsDto getCourseCompletionsByDateRange(Long courseId, LocalDate startDate, LocalDate endDate,
+                                                                         PeriodType granularity) {
+        List<PeriodCount> counts = courseActivityDailyRepository.sumCompletionsByPeriod(
+                courseId, truncationUnit(granularity), startDate, endDate);
 
         return CourseCompletionStatisticsDto.builder()
-                .courseId(courseId)
+                .courseId(ProgressMapper.mapId(courseId))
                 .startDate(startDate)
                 .endDate(endDate)
-                .completionsByDate(completionsByDate)
+                .granularity(granularity)
+                .completionsByDate(fillPeriods(counts, startDate, endDate, granularity))
                 .build();
     }
 
     @Override
     @Transactional
-    public void resetUserProgress(String userId, String courseId) {
+    public void resetUserProgress(String userId, Long courseId) {
         log.info("Resetting progress for user {} in course {}", userId, courseId);
 
         if (courseId == null) {
@@ -164,13 +148,69 @@ public class AdminProgressServiceImpl implements AdminProgressService {
         log.info("Progress reset completed for user {}", userId);
     }
 
-    private ProgressStatus mostFrequentStatus(List<CourseProgress> progresses) {
-        Map<ProgressStatus, Long> statusCounts = progresses.stream()
-                .collect(Collectors.groupingBy(CourseProgress::getStatus, Collectors.counting()));
+    private String truncationUnit(PeriodType granularity) {
+        return switch (granularity) {
+            case DAILY -> "day";
+            case WEEKLY -> "week";
+            case MONTHLY -> "month";
+            case YEARLY -> "year";
+        };
+    }
+
+    /**
+     * Returns one entry per bucket in the range, keyed by the bucket's first day, with zero for empty buckets
+     */
+    private Map<LocalDate, Integer> fillPeriods(List<PeriodCount> counts, LocalDate startDate, LocalDate endDate,
+                                                PeriodType granularity) {
+        Map<LocalDate, Integer> result = new TreeMap<>();
+
+        LocalDate period = periodStart(startDate, granularity);
+        while (!period.isAfter(endDate)) {
+            result.put(period, 0);
+            period = switch (granularity) {
+                case DAILY -> period.plusDays(1);
+                case WEEKLY -> period.plusWeeks(1);
+                case MONTHLY -> period.plusMonths(1);
+                case YEARLY -> period.plusYears(1);
+            };
+        }
+
+        for (PeriodCount count : counts) {
+            result.put(count.getPeriodStart(), count.getTotal().intValue());
+        }
+        return result;
+    }
+
+    private LocalDate periodStart(LocalDate date, PeriodType granularity) {
+        return switch (granularity) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(DayOfWeek.MONDAY);
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    private CourseProgressSummaryDto mapToSummaryDto(CourseProgressAggregate aggregate) {
+        return CourseProgressSummaryDto.builder()
+                .courseId(ProgressMapper.mapId(aggregate.getCourseId()))
+                .enrollments(aggregate.getEnrollments())
+                .completions(aggregate.getCompletions())
+                .status(ProgressMapper.mapStatus(mostFrequentStatus(aggregate)))
+                .completionPercentage(aggregate.getCompletionRate().floatValue())
+                .lastAccessDate(aggregate.getLastAccessDate())
+                .build();
+    }
 
-        return statusCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(ProgressStatus.NOT_STARTED);
+    private ProgressStatus mostFrequentStatus(CourseProgressAggregate aggregate) {
+        ProgressStatus status = ProgressStatus.NOT_STARTED;
+        long max = aggregate.getNotStartedCount();
+        if (aggregate.getInProgressCount() > max) {
+            status = ProgressStatus.IN_PROGRESS;
+            max = aggregate.getInProgressCount();
+        }
+        if (aggregate.getCompletedCount() > max) {
+            status = ProgressStatus.COMPLETED;
+        }
+        return status;
     }
 }
@@ -3,19 +3,25 @@ package com.study4ever.progressservice.service.impl;
 import com.study4ever.progressservice.client.CourseServiceClient;
 import com.study4ever.progressservice.dto.CourseEnrollmentRequest;
 import com.study4ever.progressservice.dto.CourseProgressDto;
+import com.study4ever.progressservice.dto.CourseProgressTreeDto;
+import com.study4ever.progressservice.dto.ModuleProgressNodeDto;
 import com.study4ever.progressservice.dto.NextLessonDto;
 import com.study4ever.progressservice.dto.client.CourseDetailsDto;
 import com.study4ever.progressservice.dto.client.LessonDto;
 import com.study4ever.progressservice.dto.client.ModuleDto;
+import com.study4ever.progressservice.eventlog.ProgressEventLog;
 import com.study4ever.progressservice.exception.BadRequestException;
 import com.study4ever.progressservice.exception.NotFoundException;
 import com.study4ever.progressservice.model.CourseProgress;
 import com.study4ever.progressservice.model.LessonProgress;
+import com.study4ever.progressservice.model.ModuleProgress;
 import com.study4ever.progressservice.model.ProgressStatus;
+import com.study4ever.progressservice.repository.CourseActivityDailyRepository;
 import com.study4ever.progressservice.repository.CourseProgressRepository;
 import com.study4ever.progressservice.repository.LessonProgressRepository;
 import com.study4ever.progressservice.repository.ModuleProgressRepository;
 import com.study4ever.progressservice.service.CourseProgressService;
+import com.study4ever.progressservice.service.ResumePointerService;
 import com.study4ever.progressservice.service.UserProgressService;
 import com.study4ever.progressservice.util.ProgressMapper;
 import lombok.RequiredArgsConstructor;
@@ -23,10 +29,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,21 +45,64 @@ import java.util.Set;
 public class CourseProgressServiceImpl implements CourseProgressService {
 
     private final CourseProgressRepository courseProgressRepository;
+    private final CourseActivityDailyRepository courseActivityDailyRepository;
     private final ModuleProgressRepository moduleProgressRepository;
     private final LessonProgressRepository lessonProgressRepository;
     private final UserProgressService userProgressService;
     private final CourseServiceClient courseServiceClient;
+    private final ResumePointerService resumePointerService;
+    private final ProgressEventLog progressEventLog;
 
     @Override
-    public CourseProgressDto getCourseProgress(String userId, String courseId) {
+    public CourseProgressDto getCourseProgress(String userId, Long courseId) {
         return courseProgressRepository.findByUserIdAndCourseId(userId, courseId)
                 .map(ProgressMapper::mapToCourseDto)
                 .orElseThrow(() -> new NotFoundException("Course progress not found for user " + userId + " and course " + courseId));
     }
 
+    /**
+     * Builds the whole sidebar from one lookup of the course row and two (user_id, course_id) range scans,
+     * however many modules the course has. Duplicate lesson rows keep the earliest one.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CourseProgressTreeDto getCourseProgressTree(String userId, Long courseId) {
+        CourseProgressDto course = getCourseProgress(userId, courseId);
+
+        Map<Long, ModuleProgress> modules = new TreeMap<>();
+        for (ModuleProgress module : moduleProgressRepository.findByUserIdAndCourseId(userId, courseId)) {
+            modules.put(module.getModuleId(), module);
+        }
+
+        Map<Long, Map<Long, LessonProgress>> lessonsByModule = new TreeMap<>();
+        for (LessonProgress lesson : lessonProgressRepository.findByUserIdAndCourseId(userId, courseId)) {
+            lessonsByModule.computeIfAbsent(lesson.getModuleId(), id -> new TreeMap<>())
+                    .merge(lesson.getLessonId(), lesson, (existing, candidate) ->
+                            candidate.getFirstAccessDate().isBefore(existing.getFirstAccessDate()) ? candidate : existing);
+        }
+
+        Set<Long> moduleIds = new TreeSet<>(modules.keySet());
+        moduleIds.addAll(lessonsByModule.keySet());
+
+        List<ModuleProgressNodeDto> nodes = moduleIds.stream()
+                .map(moduleId -> ModuleProgressNodeDto.builder()
+                        .moduleId(ProgressMapper.mapId(moduleId))
+                        .progress(modules.containsKey(moduleId) ? ProgressMapper.mapToModuleDto(modules.get(moduleId)) : null)
+                        .lessons(lessonsByModule.getOrDefault(moduleId, Map.of()).values().stream()
+                                .map(ProgressMapper::mapToLessonDto)
+                                .toList())
+                        .build())
+                .toList();
+
+        return CourseProgressTreeDto.builder()
+                .course(course)
+                .modules(nodes)
+                .build();
+    }
+
     @Override
     @Transactional
-    public void enrollInCourse(String userId, String courseId, CourseEnrollmentRequest request) {
+    public void enrollInCourse(String userId, Long courseId, CourseEnrollmentRequest request) {
         var existingProgress = courseProgressRepository.findByUserIdAndCourseId(userId, courseId);
         if (existingProgress.isPresent()) {
             throw new BadRequestException("User " + userId + " is already enrolled in course " + courseId);
@@ -68,6 +122,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
                 .build();
 
         courseProgressRepository.save(courseProgress);
+        courseActivityDailyRepository.incrementEnrollments(LocalDate.now(), courseId);
         log.info("User {} enrolled in course with id {}", userId, courseId);
     }
 
@@ -80,8 +135,8 @@ public class CourseProgressServiceImpl implements CourseProgressService {
 
     @Override
     @Transactional
-    public void updateLastAccessed(String userId, String courseId) {
-        if (userId == null || userId.isBlank() || courseId == null || courseId.isBlank()) {
+    public void updateLastAccessed(String userId, Long courseId) {
+        if (userId == null || userId.isBlank() || courseId == null) {
             throw new BadRequestException("User ID and course ID are required");
         }
 
@@ -100,7 +155,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
 
     @Override
     @Transactional
-    public void markCourseCompleted(String userId, String courseId) {
+    public void markCourseCompleted(String userId, Long courseId) {
         var courseProgress = courseProgressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new NotFoundException("Course progress not found for user " + userId + " and course " + courseId));
 
@@ -116,15 +171,17 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         courseProgress.setCompletionPercentage(100.0f);
         courseProgress.setCompletionDate(LocalDateTime.now());
         courseProgressRepository.save(courseProgress);
+        courseActivityDailyRepository.incrementCompletions(LocalDate.now(), courseId);
 
         userProgressService.increaseCompletedCoursesCount(userId);
+        progressEventLog.courseCompleted(userId, courseId);
 
         log.info("Marked course {} as completed for user {}", courseId, userId);
     }
 
     @Override
     @Transactional
-    public void resetCourseProgress(String userId, String courseId) {
+    public void resetCourseProgress(String userId, Long courseId) {
         var courseProgress = courseProgressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new NotFoundException("Course progress not found for user " + userId + " and course " + courseId));
 
@@ -140,11 +197,17 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         courseProgressRepository.save(courseProgress);
         moduleProgressRepository.deleteByUserIdAndCourseId(userId, courseId);
         lessonProgressRepository.deleteByUserIdAndCourseId(userId, courseId);
+        resumePointerService.clearCourse(userId, courseId);
+        progressEventLog.courseReset(userId, courseId);
 
         log.info("Reset course progress for user {} and course {}", userId, courseId);
     }
 
-    public Integer updateCompletedLessonsCount(String userId, String courseId) {
+    /**
+     * Recounts completed lessons. Completing the course is left to {@link #markCourseCompleted}, which also
+     * bumps the counters and records the completion event.
+     */
+    public Integer updateCompletedLessonsCount(String userId, Long courseId) {
         var courseProgress = courseProgressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new NotFoundException("Course progress not found for user " + userId + " and course " + courseId));
         var lessons = lessonProgressRepository.findByUserIdAndCourseId(userId, courseId);
@@ -156,10 +219,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         courseProgress.setCompletedLessonsCount((int) completedLessonsCount);
         courseProgress.setCompletionPercentage((float) completedLessonsCount / courseProgress.getTotalLessonsCount() * 100);
 
-        if (completedLessonsCount == courseProgress.getTotalLessonsCount()) {
-            courseProgress.setStatus(ProgressStatus.COMPLETED);
-            courseProgress.setCompletionDate(LocalDateTime.now());
-        } else if (completedLessonsCount > 0) {
+        if (completedLessonsCount > 0 && courseProgress.getStatus() != ProgressStatus.COMPLETED) {
             courseProgress.setStatus(ProgressStatus.IN_PROGRESS);
         }
         courseProgressRepository.save(courseProgress);
@@ -168,23 +228,24 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     }
 
     @Override
-    public void removeEnrolledCourse(String userId, String courseId) {
+    public void removeEnrolledCourse(String userId, Long courseId) {
         var courseProgress = courseProgressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new NotFoundException("Course progress not found for user " + userId + " and course " + courseId));
 
         courseProgressRepository.delete(courseProgress);
+        resumePointerService.clearCourse(userId, courseId);
         log.info("Removed course {} from enrolled courses for user {}", courseId, userId);
     }
     
     @Override
-    public NextLessonDto getNextLesson(String userId, String courseId) {
+    public NextLessonDto getNextLesson(String userId, Long courseId) {
         log.info("Finding next lesson for user {} in course {}", userId, courseId);
         
         var courseProgress = validateUserEnrollment(userId, courseId);
         
         CourseDetailsDto courseDetails = getCourseStructure(courseId);
         
-        List<String> completedLessonIds = getCompletedLessonIds(userId, courseId);
+        Set<Long> completedLessonIds = getCompletedLessonIds(userId, courseId);
         log.debug("User has completed {} lessons in course {}", completedLessonIds.size(), courseId);
         
         List<ModuleDto> sortedModules = sortModulesByOrder(courseDetails.getModules());
@@ -192,6 +253,8 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         NextLessonDto nextLesson = findNextLessonInModules(sortedModules, completedLessonIds, courseProgress);
         
         updateCourseProgressTracking(courseProgress, nextLesson);
+        resumePointerService.recordLesson(userId, courseId,
+                Long.valueOf(nextLesson.getModuleId()), Long.valueOf(nextLesson.getLessonId()), nextLesson.getLessonTitle());
         
         return nextLesson;
     }
@@ -199,7 +262,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     /**
      * Validates that the user is enrolled in the course
      */
-    private CourseProgress validateUserEnrollment(String userId, String courseId) {
+    private CourseProgress validateUserEnrollment(String userId, Long courseId) {
         return courseProgressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new NotFoundException("Course progress not found for user " + userId + " and course " + courseId));
     }
@@ -207,7 +270,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     /**
      * Gets course structure from Course Service
      */
-    private CourseDetailsDto getCourseStructure(String courseId) {
+    private CourseDetailsDto getCourseStructure(Long courseId) {
         CourseDetailsDto courseDetails = courseServiceClient.getCourseDetails(courseId);
         if (courseDetails == null) {
             throw new NotFoundException("Course details not found for course " + courseId);
@@ -221,11 +284,11 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     /**
      * Gets list of completed lesson IDs for the user in the course
      */
-    private List<String> getCompletedLessonIds(String userId, String courseId) {
+    private Set<Long> getCompletedLessonIds(String userId, Long courseId) {
         return lessonProgressRepository.findByUserIdAndCourseIdAndStatus(userId, courseId, ProgressStatus.COMPLETED)
                 .stream()
                 .map(LessonProgress::getLessonId)
-                .toList();
+                .collect(Collectors.toSet());
     }
     
     /**
@@ -240,7 +303,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     /**
      * Finds the next lesson using proper module-by-module progression
      */
-    private NextLessonDto findNextLessonInModules(List<ModuleDto> modules, List<String> completedLessonIds, CourseProgress courseProgress) {
+    private NextLessonDto findNextLessonInModules(List<ModuleDto> modules, Set<Long> completedLessonIds, CourseProgress courseProgress) {
         for (ModuleDto module : modules) {
             List<LessonDto> sortedLessons = sortLessonsByOrder(module.getLessons());
             
@@ -250,9 +313,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
             if (!moduleComplete) {
                 // Find first uncompleted lesson in this module
                 for (LessonDto lesson : sortedLessons) {
-                    String lessonId = String.valueOf(lesson.getId());
-                    
-                    if (!completedLessonIds.contains(lessonId)) {
+                    if (!completedLessonIds.contains(lesson.getId())) {
                         return buildNextLessonDto(lesson, module, courseProgress, completedLessonIds);
                     }
                 }
@@ -275,21 +336,21 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     /**
      * Checks if all lessons in a module are completed
      */
-    private boolean isModuleComplete(List<LessonDto> lessons, List<String> completedLessonIds) {
+    private boolean isModuleComplete(List<LessonDto> lessons, Set<Long> completedLessonIds) {
         return lessons.stream()
-                .allMatch(lesson -> completedLessonIds.contains(String.valueOf(lesson.getId())));
+                .allMatch(lesson -> completedLessonIds.contains(lesson.getId()));
     }
     
     /**
      * Builds NextLessonDto for the next lesson to study
      */
-    private NextLessonDto buildNextLessonDto(LessonDto lesson, ModuleDto module, CourseProgress courseProgress, List<String> completedLessonIds) {
+    private NextLessonDto buildNextLessonDto(LessonDto lesson, ModuleDto module, CourseProgress courseProgress, Set<Long> completedLessonIds) {
         double completionPercentage = calculateCompletionPercentage(completedLessonIds.size(), courseProgress.getTotalLessonsCount());
         
         return NextLessonDto.builder()
-                .lessonId(String.valueOf(lesson.getId()))
+                .lessonId(ProgressMapper.mapId(lesson.getId()))
                 .lessonTitle(lesson.getTitle())
-                .moduleId(String.valueOf(module.getId()))
+                .moduleId(ProgressMapper.mapId(module.getId()))
                 .moduleTitle(module.getTitle())
                 .courseCompletionPercentage(completionPercentage)
                 .lastUpdated(LocalDateTime.now().toString())
@@ -314,9 +375,9 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         LessonDto lastLesson = lastModuleLessons.get(lastModuleLessons.size() - 1);
         
         return NextLessonDto.builder()
-                .lessonId(String.valueOf(lastLesson.getId()))
+                .lessonId(ProgressMapper.mapId(lastLesson.getId()))
                 .lessonTitle(lastLesson.getTitle())
-                .moduleId(String.valueOf(lastModule.getId()))
+                .moduleId(ProgressMapper.mapId(lastModule.getId()))
                 .moduleTitle(lastModule.getTitle())
                 .courseCompletionPercentage(100.0)
                 .lastUpdated(LocalDateTime.now().toString())
@@ -327,8 +388,8 @@ public class CourseProgressServiceImpl implements CourseProgressService {
      * Updates course progress tracking with current lesson/module
      */
     private void updateCourseProgressTracking(CourseProgress courseProgress, NextLessonDto nextLesson) {
-        courseProgress.setCurrentLessonId(nextLesson.getLessonId());
-        courseProgress.setCurrentModuleId(nextLesson.getModuleId());
+        courseProgress.setCurrentLessonId(Long.valueOf(nextLesson.getLessonId()));
+        courseProgress.setCurrentModuleId(Long.valueOf(nextLesson.getModuleId()));
         courseProgress.setLastAccessDate(LocalDateTime.now());
         courseProgressRepository.save(courseProgress);
     }
@@ -0,0 +1,195 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.study4ever.progressservice.dto.DashboardDto;
+import com.study4ever.progressservice.dto.DashboardSectionMeta;
+import com.study4ever.progressservice.dto.DashboardSectionStatus;
+import com.study4ever.progressservice.service.CourseProgressService;
+import com.study4ever.progressservice.service.DashboardService;
+import com.study4ever.progressservice.service.StudySessionService;
+import com.study4ever.progressservice.service.StudyStatsService;
+import com.study4ever.progressservice.service.StudyStreakService;
+import com.study4ever.progressservice.service.UserProgressService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class DashboardServiceImpl implements DashboardService {
+
+    private final UserProgressService userProgressService;
+    private final StudyStreakService studyStreakService;
+    private final StudyStatsService studyStatsService;
+    private final CourseProgressService courseProgressService;
+    private final StudySessionService studySessionService;
+    private final long timeoutMillis;
+
+    /**
+     * Bounded pool owned by this service rather than registered as a bean, so it does not replace Spring's
+     * default task executor. When the queue is full a section is rejected rather than run on the request thread,
+     * which would let one slow section hold the request past the timeout.
+     */
+    private final ThreadPoolExecutor dashboardExecutor;
+
+    public DashboardServiceImpl(UserProgressService userProgressService,
+                                StudyStreakService studyStreakService,
+                                StudyStatsService studyStatsService,
+                                CourseProgressService courseProgressService,
+                                StudySessionService studySessionService,
+                                @Value("${study.dashboard.pool-size:8}") int poolSize,
+                                @Value("${study.dashboard.queue-capacity:100}") int queueCapacity,
+                                @Value("${study.dashboard.timeout-millis:2000}") long timeoutMillis) {
+        this.userProgressService = userProgressService;
+        this.studyStreakService = studyStreakService;
+        this.studyStatsService = studyStatsService;
+        this.courseProgressService = courseProgressService;
+        this.studySessionService = studySessionService;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dashboardExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dashboardExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dashboardExecutor.shutdownNow();
+    }
+
+    /**
+     * Runs every section concurrently and waits at most the configured timeout for all of them.
+     * Sections that fail, are rejected by a saturated pool or are still running at the deadline are left empty and
+     * the payload is flagged partial. A timed-out section that has not started yet is skipped, but one already
+     * running cannot be interrupted through its CompletableFuture: it runs to completion on its pool thread and
+     * its result is discarded.
+     */
+    @Override
+    public DashboardDto getDashboard(String userId, int days, int weeks) {
+        long startTime = System.currentTimeMillis();
+        DashboardDto dashboard = new DashboardDto();
+
+        List<Section<?>> sections = new ArrayList<>();
+        sections.add(section("progress", () -> userProgressService.getUserProgress(userId), dashboard::setProgress));
+        sections.add(section("streak", () -> studyStreakService.getUserStreak(userId), dashboard::setStreak));
+        sections.add(section("dailyStats",
+                () -> studyStatsService.getDailyStatsRange(userId, days), dashboard::setDailyStats));
+        sections.add(section("weeklyStats",
+                () -> studyStatsService.getWeeklyStatsRange(userId, weeks), dashboard::setWeeklyStats));
+        sections.add(section("statsSummary",
+                () -> studyStatsService.getMonthlyStats(userId, LocalDate.now().getYear()), dashboard::setStatsSummary));
+        sections.add(section("courses",
+                () -> courseProgressService.getAllCourseProgress(userId), dashboard::setCourses));
+        sections.add(section("activeSession",
+                () -> studySessionService.getActiveUserSession(userId), dashboard::setActiveSession));
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(
+                sections.stream().map(Section::future).toArray(CompletableFuture[]::new));
+        try {
+            all.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Individual sections are inspected below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Map<String, DashboardSectionMeta> meta = new LinkedHashMap<>();
+        boolean partial = false;
+        for (Section<?> section : sections) {
+            DashboardSectionMeta sectionMeta = section.complete(startTime);
+            meta.put(section.name(), sectionMeta);
+            partial |= sectionMeta.getStatus() != DashboardSectionStatus.OK;
+        }
+
+        dashboard.setSections(meta);
+        dashboard.setPartial(partial);
+        dashboard.setDurationMillis(System.currentTimeMillis() - startTime);
+
+        if (partial) {
+            log.warn("Returning partial dashboard for user {}: {}", userId, meta);
+        } else {
+            log.debug("Built dashboard for user {} in {} ms", userId, dashboard.getDurationMillis());
+        }
+        return dashboard;
+    }
+
+    private <T> Section<T> section(String name, Supplier<T> loader, Consumer<T> setter) {
+        long[] finishedAt = new long[1];
+        try {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.get();
+                } finally {
+                    finishedAt[0] = System.currentTimeMillis();
+                }
+            }, dashboardExecutor);
+            return new Section<>(name, future, setter, finishedAt, false);
+        } catch (RejectedExecutionException e) {
+            log.warn("Dashboard section {} rejected, pool is saturated", name);
+            return new Section<>(name, CompletableFuture.completedFuture(null), setter, finishedAt, true);
+        }
+    }
+
+    private record Section<T>(String name, CompletableFuture<T> future, Consumer<T> setter, long[] finishedAt,
+                              boolean rejected) {
+
+        DashboardSectionMeta complete(long startTime) {
+            if (rejected) {
+                return DashboardSectionMeta.builder()
+                        .status(DashboardSectionStatus.REJECTED)
+                        .durationMillis(0L)
+                        .error("Dashboard pool is saturated")
+                        .build();
+            }
+            if (!future.isDone()) {
+                // Keeps a queued section from starting; a running one is not interrupted
+
+                future.cancel(true);
+                return DashboardSectionMeta.builder()
+                        .status(DashboardSectionStatus.TIMED_OUT)
+                        .durationMillis(System.currentTimeMillis() - startTime)
+                        .build();
+            }
+
+            long duration = finishedAt[0] - startTime;
+            try {
+                setter.accept(future.join());
+                return DashboardSectionMeta.builder()
+                        .status(DashboardSectionStatus.OK)
+                        .durationMillis(duration)
+                        .build();
+            } catch (RuntimeException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Dashboard section {} failed: {}", name, cause.getMessage());
+                return DashboardSectionMeta.builder()
+                        .status(DashboardSectionStatus.FAILED)
+                        .durationMillis(duration)
+                        .error(cause.getMessage())
+                        .build();
+            }
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.study4ever.progressservice.service.impl;
 
+import com.study4ever.progressservice.messaging.LoginActivityCoalescer;
+import com.study4ever.progressservice.messaging.MessageDeduplicator;
 import com.study4ever.progressservice.service.EventHandlingService;
+import com.study4ever.progressservice.service.UserErasureService;
 import com.study4ever.progressservice.service.UserProgressInitializeService;
-import com.study4ever.progressservice.service.UserProgressService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,34 +21,82 @@ import java.util.Map;
 @Slf4j
 public class EventHandlingServiceImpl implements EventHandlingService {
 
-    private final UserProgressService userProgressService;
+    private static final String USER_CREATED_CONSUMER = "user-created";
+    private static final String USER_LOGIN_CONSUMER = "user-login";
+    private static final String USER_DELETED_CONSUMER = "user-deleted";
+
     private final UserProgressInitializeService userProgressInitializeService;
+    private final UserErasureService userErasureService;
+    private final MessageDeduplicator messageDeduplicator;
+    private final LoginActivityCoalescer loginActivityCoalescer;
 
     @Override
     @RabbitListener(queues = "${rabbitmq.queues.user-created}")
     @Transactional
-    public void handleUserCreatedEvent(Map<String, Object> userData) {
+    public void handleUserCreatedEvent(Map<String, Object> userData,
+                                       @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
         String userId = (String) userData.get("userId");
 
         if (userId == null) {
             log.error("Received user created event with null userId");
             return;
         }
+        if (!messageDeduplicator.claim(USER_CREATED_CONSUMER, messageId)) {
+            log.info("Skipping redelivered user created event {} for user ID: {}", messageId, userId);
+            return;
+        }
 
         log.info("Handling user created event for user ID: {}", userId);
         userProgressInitializeService.initializeUserProgress(userId);
     }
 
+    /**
+     * Not transactional: the login time is buffered and written once per window. Redeliveries only move the
+     * buffered time, so the in-memory window is enough to drop them.
+     */
     @Override
     @RabbitListener(queues = "${rabbitmq.queues.user-login}")
-    @Transactional
-    public void handleUserLoginEvent(String userId) {
+    public void handleUserLoginEvent(String userId,
+                                     @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
         if (userId == null) {
             log.error("Received user login event with null userId");
             return;
         }
+        if (!messageDeduplicator.claimInMemory(USER_LOGIN_CONSUMER, messageId)) {
+            log.debug("Skipping redelivered user login event {} for user ID: {}", messageId, userId);
+            return;
+        }
+
+        log.debug("Handling user login event for user ID: {}", userId);
+        loginActivityCoalescer.recordLogin(userId);
+    }
 
-        log.info("Handling user login event for user ID: {}", userId);
-        userProgressService.updateLastLoginDate(userId);
+    /**
+     * Not transactional: the erasure commits batch by batch, so the message is only claimed once it has finished.
+     * Auth-service publishes the id as "id".
+     */
+    @Override
+    @RabbitListener(queues = "${rabbitmq.queues.user-deleted}")
+    public void handleUserDeletedEvent(Map<String, Object> userData,
+                                       @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        Object userId = userData.get("userId") != null ? userData.get("userId") : userData.get("id");
+
+        if (userId == null) {
+            log.error("Received user deleted event with null userId");
+            return;
+        }
+        if (messageDeduplicator.isProcessed(USER_DELETED_CONSUMER, messageId)) {
+            log.info("Skipping redelivered user deleted event {} for user ID: {}", messageId, userId);
+            return;
+        }
+
+        log.info("Handling user deleted event for user ID: {}", userId);
+        try {
+            userErasureService.eraseUser(userId.toString());
+        } catch (RuntimeException e) {
+            log.error("Failed to erase progress data for user {}", userId, e);
+            throw new AmqpRejectAndDontRequeueException("Failed to erase progress data for user " + userId, e);
+        }
+        messageDeduplicator.claim(USER_DELETED_CONSUMER, messageId);
     }
 }
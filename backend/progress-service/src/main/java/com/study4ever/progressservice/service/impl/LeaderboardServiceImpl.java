@@ -2,12 +2,17 @@ package com.study4ever.progressservice.service.impl;
 
 import com.study4ever.progressservice.dto.LeaderboardEntryDto;
 import com.study4ever.progressservice.dto.LeaderboardResponseDto;
+import com.study4ever.progressservice.exception.ConflictOperationException;
+import com.study4ever.progressservice.jobs.JobCoordinator;
 import com.study4ever.progressservice.model.LeaderboardRankings;
 import com.study4ever.progressservice.model.PeriodType;
 import com.study4ever.progressservice.model.StudySession;
 import com.study4ever.progressservice.repository.LeaderboardRankingsRepository;
 import com.study4ever.progressservice.repository.StudySessionRepository;
 import com.study4ever.progressservice.service.LeaderboardService;
+import com.study4ever.progressservice.service.StudySessionPartitionService;
+import com.study4ever.progressservice.util.ConditionalResponses;
+import com.study4ever.progressservice.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -31,6 +36,9 @@ public class LeaderboardServiceImpl implements LeaderboardService {
 
     private final LeaderboardRankingsRepository leaderboardRepository;
     private final StudySessionRepository studySessionRepository;
+    private final ConditionalResponses conditionalResponses;
+    private final JobCoordinator jobCoordinator;
+    private final StudySessionPartitionService partitionService;
 
     @Override
     public LeaderboardResponseDto getDailyLeaderboard(LocalDate date, int limit) {
@@ -195,8 +203,12 @@ public class LeaderboardServiceImpl implements LeaderboardService {
 
         LocalDateTime startDateTime = date.atStartOfDay();
         LocalDateTime endDateTime = date.atTime(LocalTime.MAX);
+        if (isArchived(PeriodType.DAILY, date, date)) {
+            return;
+        }
 
         // Delete existing rankings for this period
+        jobCoordinator.assertLeaseHeld();
         leaderboardRepository.deleteByPeriodTypeAndStartDate(PeriodType.DAILY, date);
 
         // Get all study sessions for the day
@@ -241,6 +253,7 @@ public class LeaderboardServiceImpl implements LeaderboardService {
 
         // Save rankings
         leaderboardRepository.saveAll(rankings);
+        forgetEtags(PeriodType.DAILY, date);
         log.info("Saved {} daily leaderboard entries for date: {}", rankings.size(), date);
     }
 
@@ -253,8 +266,12 @@ public class LeaderboardServiceImpl implements LeaderboardService {
 
         LocalDateTime startDateTime = adjustedWeekStart.atStartOfDay();
         LocalDateTime endDateTime = weekEnd.atTime(LocalTime.MAX);
+        if (isArchived(PeriodType.WEEKLY, adjustedWeekStart, weekEnd)) {
+            return;
+        }
 
         // Delete existing rankings for this period
+        jobCoordinator.assertLeaseHeld();
         leaderboardRepository.deleteByPeriodTypeAndStartDate(PeriodType.WEEKLY, adjustedWeekStart);
 
         calculateAndSaveLeaderboard(PeriodType.WEEKLY, adjustedWeekStart, weekEnd, startDateTime, endDateTime);
@@ -269,8 +286,12 @@ public class LeaderboardServiceImpl implements LeaderboardService {
 
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
+        if (isArchived(PeriodType.MONTHLY, startDate, endDate)) {
+            return;
+        }
 
         // Delete existing rankings for this period
+        jobCoordinator.assertLeaseHeld();
         leaderboardRepository.deleteByPeriodTypeAndStartDate(PeriodType.MONTHLY, startDate);
 
         calculateAndSaveLeaderboard(PeriodType.MONTHLY, startDate, endDate, startDateTime, endDateTime);
@@ -285,16 +306,30 @@ public class LeaderboardServiceImpl implements LeaderboardService {
 
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
+        if (isArchived(PeriodType.YEARLY, startDate, endDate)) {
+            return;
+        }
 
         // Delete existing rankings for this period
+        jobCoordinator.assertLeaseHeld();
         leaderboardRepository.deleteByPeriodTypeAndStartDate(PeriodType.YEARLY, startDate);
 
         calculateAndSaveLeaderboard(PeriodType.YEARLY, startDate, endDate, startDateTime, endDateTime);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long getLeaderboardVersion(PeriodType periodType, LocalDate startDate) {
+        return leaderboardRepository.findLatestIdForPeriod(periodType, startDate);
+    }
+
     @Override
     public void recalculateLeaderboard(PeriodType periodType, LocalDate startDate, LocalDate endDate) {
         log.info("Recalculating leaderboard for period: {} from {} to {}", periodType, startDate, endDate);
+        if (partitionService.isArchived(startDate, endDate)) {
+            throw new ConflictOperationException("Sessions between " + startDate + " and " + endDate
+                    + " are partly archived; restore the month before recalculating its leaderboard");
+        }
 
         switch (periodType) {
             case DAILY:
@@ -373,10 +408,29 @@ public class LeaderboardServiceImpl implements LeaderboardService {
 
         // Save rankings
         leaderboardRepository.saveAll(rankings);
+        forgetEtags(periodType, startDate);
         log.info("Saved {} {} leaderboard entries for period {} to {}",
                 rankings.size(), periodType.name().toLowerCase(), startDate, endDate);
     }
 
+    /**
+     * Rankings of a period that overlaps an archived month are kept as they are, since the sessions needed to
+     * rebuild them are no longer in study_session
+     */
+    private boolean isArchived(PeriodType periodType, LocalDate startDate, LocalDate endDate) {
+        if (!partitionService.isArchived(startDate, endDate)) {
+            return false;
+        }
+        log.info("Keeping {} leaderboard for {} to {}: its sessions are archived",
+                periodType.name().toLowerCase(), startDate, endDate);
+        return true;
+    }
+
+    private void forgetEtags(PeriodType periodType, LocalDate startDate) {
+        String keyPrefix = ConditionalResponses.leaderboardKey(periodType, startDate);
+        TransactionCallbacks.afterCommit(() -> conditionalResponses.invalidate(keyPrefix));
+    }
+
     private LeaderboardEntryDto convertToLeaderboardEntry(LeaderboardRankings ranking) {
         return LeaderboardEntryDto.builder()
                 .userId(ranking.getUserId())
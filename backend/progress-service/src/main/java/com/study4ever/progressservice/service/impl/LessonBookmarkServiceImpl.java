@@ -1,16 +1,24 @@
 package com.study4ever.progressservice.service.impl;
 
+import com.study4ever.progressservice.cache.UserBookmarkCache;
 import com.study4ever.progressservice.dto.LessonBookmarkDto;
+import com.study4ever.progressservice.exception.BadRequestException;
 import com.study4ever.progressservice.model.LessonBookmark;
+import com.study4ever.progressservice.model.id.UuidV7;
 import com.study4ever.progressservice.repository.LessonBookmarkRepository;
 import com.study4ever.progressservice.service.LessonBookmarkService;
+import com.study4ever.progressservice.util.ProgressMapper;
+import com.study4ever.progressservice.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -18,49 +26,38 @@ import java.util.List;
 @Transactional
 public class LessonBookmarkServiceImpl implements LessonBookmarkService {
 
+    private static final int MAX_STATUS_LESSON_IDS = 500;
+
     private final LessonBookmarkRepository bookmarkRepository;
+    private final UserBookmarkCache bookmarkCache;
 
     @Override
-    public LessonBookmarkDto addBookmark(String userId, String courseId, String moduleId, String lessonId) {
+    public LessonBookmarkDto addBookmark(String userId, Long courseId, Long moduleId, Long lessonId) {
         log.debug("Adding bookmark for user {} to lesson {} in course {}", userId, lessonId, courseId);
 
-        if (bookmarkRepository.existsByUserIdAndLessonId(userId, lessonId)) {
+        int inserted = bookmarkRepository.insertIfAbsent(UuidV7.randomUuid(), userId, courseId, moduleId, lessonId);
+        if (inserted > 0) {
+            TransactionCallbacks.afterCommit(() -> bookmarkCache.invalidate(userId));
+            log.info("Successfully created bookmark for user {} and lesson {}", userId, lessonId);
+        } else {
             log.debug("Bookmark already exists for user {} and lesson {}", userId, lessonId);
-            LessonBookmark existingBookmark = bookmarkRepository.findByUserIdAndLessonId(userId, lessonId)
-                    .orElseThrow(() -> new IllegalStateException("Bookmark should exist but was not found"));
-            return mapToDto(existingBookmark);
         }
 
-        try {
-            LessonBookmark bookmark = LessonBookmark.builder()
-                    .userId(userId)
-                    .courseId(courseId)
-                    .moduleId(moduleId)
-                    .lessonId(lessonId)
-                    .build();
-
-            LessonBookmark savedBookmark = bookmarkRepository.save(bookmark);
-            log.info("Successfully created bookmark for user {} and lesson {}", userId, lessonId);
-            return mapToDto(savedBookmark);
-
-        } catch (DataIntegrityViolationException e) {
-            log.warn("Duplicate bookmark attempt for user {} and lesson {}", userId, lessonId);
-            LessonBookmark existingBookmark = bookmarkRepository.findByUserIdAndLessonId(userId, lessonId)
-                    .orElseThrow(() -> new IllegalStateException("Bookmark should exist but was not found"));
-            return mapToDto(existingBookmark);
-        }
+        LessonBookmark bookmark = bookmarkRepository.findByUserIdAndLessonId(userId, lessonId)
+                .orElseThrow(() -> new IllegalStateException("Bookmark should exist but was not found"));
+        return mapToDto(bookmark);
     }
 
     @Override
-    public void removeBookmark(String userId, String lessonId) {
+    public void removeBookmark(String userId, Long lessonId) {
         log.debug("Removing bookmark for user {} from lesson {}", userId, lessonId);
 
-        if (!bookmarkRepository.existsByUserIdAndLessonId(userId, lessonId)) {
+        if (bookmarkRepository.deleteByUserIdAndLessonId(userId, lessonId) == 0) {
             log.debug("No bookmark found for user {} and lesson {}", userId, lessonId);
             return;
         }
 
-        bookmarkRepository.deleteByUserIdAndLessonId(userId, lessonId);
+        TransactionCallbacks.afterCommit(() -> bookmarkCache.invalidate(userId));
         log.info("Successfully removed bookmark for user {} and lesson {}", userId, lessonId);
     }
 
@@ -76,7 +73,7 @@ public class LessonBookmarkServiceImpl implements LessonBookmarkService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<LessonBookmarkDto> getUserBookmarksByCourse(String userId, String courseId) {
+    public List<LessonBookmarkDto> getUserBookmarksByCourse(String userId, Long courseId) {
         log.debug("Getting bookmarks for user {} in course {}", userId, courseId);
         return bookmarkRepository.findByUserIdAndCourseIdOrderByCreatedAtDesc(userId, courseId)
                 .stream()
@@ -86,8 +83,23 @@ public class LessonBookmarkServiceImpl implements LessonBookmarkService {
 
     @Override
     @Transactional(readOnly = true)
-    public boolean isBookmarked(String userId, String lessonId) {
-        return bookmarkRepository.existsByUserIdAndLessonId(userId, lessonId);
+    public boolean isBookmarked(String userId, Long lessonId) {
+        return getBookmarkedLessonIds(userId).contains(lessonId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> getBookmarkStatuses(String userId, Collection<Long> lessonIds) {
+        if (lessonIds.size() > MAX_STATUS_LESSON_IDS) {
+            throw new BadRequestException("At most " + MAX_STATUS_LESSON_IDS + " lesson ids can be checked at once");
+        }
+
+        Set<Long> bookmarked = getBookmarkedLessonIds(userId);
+        Map<Long, Boolean> statuses = new LinkedHashMap<>();
+        for (Long lessonId : lessonIds) {
+            statuses.put(lessonId, bookmarked.contains(lessonId));
+        }
+        return statuses;
     }
 
     @Override
@@ -97,19 +109,24 @@ public class LessonBookmarkServiceImpl implements LessonBookmarkService {
     }
 
     @Override
-    public void removeAllUserBookmarks(String userId, String courseId) {
+    public void removeAllUserBookmarks(String userId, Long courseId) {
         log.debug("Removing all bookmarks for user {} in course {}", userId, courseId);
         bookmarkRepository.deleteByUserIdAndCourseId(userId, courseId);
+        TransactionCallbacks.afterCommit(() -> bookmarkCache.invalidate(userId));
         log.info("Successfully removed all bookmarks for user {} in course {}", userId, courseId);
     }
 
+    private Set<Long> getBookmarkedLessonIds(String userId) {
+        return bookmarkCache.get(userId, id -> Set.copyOf(bookmarkRepository.findLessonIdsByUserId(id)));
+    }
+
     private LessonBookmarkDto mapToDto(LessonBookmark bookmark) {
         return LessonBookmarkDto.builder()
                 .id(bookmark.getId())
                 .userId(bookmark.getUserId())
-                .courseId(bookmark.getCourseId())
-                .moduleId(bookmark.getModuleId())
-                .lessonId(bookmark.getLessonId())
+                .courseId(ProgressMapper.mapId(bookmark.getCourseId()))
+                .moduleId(ProgressMapper.mapId(bookmark.getModuleId()))
+                .lessonId(ProgressMapper.mapId(bookmark.getLessonId()))
                 .createdAt(bookmark.getCreatedAt())
                 .build();
     }
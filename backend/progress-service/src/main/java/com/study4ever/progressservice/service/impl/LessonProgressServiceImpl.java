@@ -1,6 +1,7 @@
 package com.study4ever.progressservice.service.impl;
 
 import com.study4ever.progressservice.dto.LessonProgressDto;
+import com.study4ever.progressservice.eventlog.ProgressEventLog;
 import com.study4ever.progressservice.exception.NotFoundException;
 import com.study4ever.progressservice.model.CourseProgress;
 import com.study4ever.progressservice.model.LessonProgress;
@@ -13,6 +14,7 @@ import com.study4ever.progressservice.service.CourseProgressService;
 import com.study4ever.progressservice.service.LessonProgressService;
 import com.study4ever.progressservice.service.LessonProgressTransactionalService;
 import com.study4ever.progressservice.service.ModuleProgressService;
+import com.study4ever.progressservice.service.ResumePointerService;
 import com.study4ever.progressservice.service.StudyStreakService;
 import com.study4ever.progressservice.service.UserProgressService;
 import com.study4ever.progressservice.util.ProgressMapper;
@@ -39,6 +41,8 @@ public class LessonProgressServiceImpl implements LessonProgressService {
     private final UserProgressService userProgressService;
     private final StudyStreakService studyStreakService;
     private final LessonProgressTransactionalService lessonProgressTransactionalService;
+    private final ResumePointerService resumePointerService;
+    private final ProgressEventLog progressEventLog;
 
     /**
      * Gets a unique lesson progress entry, handling duplicates appropriately.
@@ -46,15 +50,15 @@ public class LessonProgressServiceImpl implements LessonProgressService {
      * This method delegates to {@link LessonProgressTransactionalService} to ensure proper transaction management.
      */
     public LessonProgress getOrCleanupLessonProgress(String userId,
-                                                     String courseId,
-                                                     String moduleId,
-                                                     String lessonId,
+                                                     Long courseId,
+                                                     Long moduleId,
+                                                     Long lessonId,
                                                      boolean throwIfNotFound) {
         return lessonProgressTransactionalService.getOrCleanupLessonProgress(userId, courseId, moduleId, lessonId, throwIfNotFound);
     }
 
     @Override
-    public LessonProgressDto getLessonProgress(String userId, String courseId, String moduleId, String lessonId) {
+    public LessonProgressDto getLessonProgress(String userId, Long courseId, Long moduleId, Long lessonId) {
         checkCourseProgressExists(userId, courseId);
         checkModuleProgressExists(userId, courseId, moduleId);
 
@@ -65,7 +69,7 @@ public class LessonProgressServiceImpl implements LessonProgressService {
 
     @Override
     @Transactional
-    public LessonProgressDto initializeLessonProgress(String userId, String courseId, String moduleId, String lessonId) {
+    public LessonProgressDto initializeLessonProgress(String userId, Long courseId, Long moduleId, Long lessonId) {
         // First, try to get existing progress - this will also clean up any duplicates
         LessonProgress existingProgress = getOrCleanupLessonProgress(userId, courseId, moduleId, lessonId, false);
         if (existingProgress != null) {
@@ -92,6 +96,8 @@ public class LessonProgressServiceImpl implements LessonProgressService {
             log.info("Initialized lesson progress for user {} and lesson {}", userId, lessonId);
 
             moduleProgressService.updateLastAccessed(userId, courseId, moduleId);
+            resumePointerService.recordLesson(userId, courseId, moduleId, lessonId, null);
+            progressEventLog.lessonAccessed(userId, courseId, moduleId, lessonId);
 
             return ProgressMapper.mapToLessonDto(savedProgress);
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
@@ -113,16 +119,16 @@ public class LessonProgressServiceImpl implements LessonProgressService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<LessonProgressDto> getAllLessonsProgressInModule(String userId, String courseId, String moduleId) {
+    public List<LessonProgressDto> getAllLessonsProgressInModule(String userId, Long courseId, Long moduleId) {
         checkCourseProgressExists(userId, courseId);
         checkModuleProgressExists(userId, courseId, moduleId);
 
-        Map<String, LessonProgress> uniqueLessonProgresses = new HashMap<>();
+        Map<Long, LessonProgress> uniqueLessonProgresses = new HashMap<>();
 
         List<LessonProgress> allProgresses = lessonProgressRepository.findByUserIdAndCourseIdAndModuleId(userId, courseId, moduleId);
 
         for (LessonProgress progress : allProgresses) {
-            String lessonId = progress.getLessonId();
+            Long lessonId = progress.getLessonId();
             uniqueLessonProgresses.compute(lessonId, (key, existingProgress) ->
                     existingProgress == null ||
                             existingProgress.getFirstAccessDate().isAfter(progress.getFirstAccessDate()) ?
@@ -136,17 +142,21 @@ public class LessonProgressServiceImpl implements LessonProgressService {
 
     @Override
     @Transactional
-    public void markLessonCompleted(String userId, String courseId, String moduleId, String lessonId) {
+    public void markLessonCompleted(String userId, Long courseId, Long moduleId, Long lessonId) {
         checkCourseProgressExists(userId, courseId);
         checkModuleProgressExists(userId, courseId, moduleId);
 
         LessonProgress lessonProgress = getOrCleanupLessonProgress(userId, courseId, moduleId, lessonId, true);
 
-        lessonProgress.setStatus(ProgressStatus.COMPLETED);
-        lessonProgress.setCompletionDate(LocalDateTime.now());
-        lessonProgressRepository.save(lessonProgress);
+        // Completing a lesson again only moves the resume position; counters and events fire once
+        if (lessonProgress.getStatus() != ProgressStatus.COMPLETED) {
+            lessonProgress.setStatus(ProgressStatus.COMPLETED);
+            lessonProgress.setCompletionDate(LocalDateTime.now());
+            lessonProgressRepository.save(lessonProgress);
 
-        userProgressService.increaseCompletedLessonsCount(userId);
+            userProgressService.increaseCompletedLessonsCount(userId);
+            progressEventLog.lessonCompleted(userId, courseId, moduleId, lessonId);
+        }
 
         var courseProgress = courseProgressRepository
                 .findByUserIdAndCourseId(userId, courseId)
@@ -157,6 +167,7 @@ public class LessonProgressServiceImpl implements LessonProgressService {
         courseProgressRepository.save(courseProgress);
 
         updateCompletionProgress(userId, courseId, moduleId);
+        resumePointerService.recordLesson(userId, courseId, moduleId, lessonId, null);
         studyStreakService.updateLastStudyDateToday(userId);
 
         log.info("Marked lesson {} as completed for user {}", lessonId, userId);
@@ -164,7 +175,7 @@ public class LessonProgressServiceImpl implements LessonProgressService {
 
     @Override
     @Transactional
-    public void updateLastAccessed(String userId, String courseId, String moduleId, String lessonId) {
+    public void updateLastAccessed(String userId, Long courseId, Long moduleId, Long lessonId) {
         LessonProgress lessonProgress = getOrCleanupLessonProgress(userId, courseId, moduleId, lessonId, true);
 
         lessonProgress.setLastAccessDate(LocalDateTime.now());
@@ -175,13 +186,15 @@ public class LessonProgressServiceImpl implements LessonProgressService {
 
         lessonProgressRepository.save(lessonProgress);
         moduleProgressService.updateLastAccessed(userId, courseId, moduleId);
+        resumePointerService.recordLesson(userId, courseId, moduleId, lessonId, null);
+        progressEventLog.lessonAccessed(userId, courseId, moduleId, lessonId);
 
         log.debug("Updated last access time for user {} and lesson {}", userId, lessonId);
     }
 
     @Override
     @Transactional
-    public void deleteLessonProgress(String userId, String courseId, String moduleId, String lessonId) {
+    public void deleteLessonProgress(String userId, Long courseId, Long moduleId, Long lessonId) {
         checkCourseProgressExists(userId, courseId);
         checkModuleProgressExists(userId, courseId, moduleId);
 
@@ -197,7 +210,7 @@ public class LessonProgressServiceImpl implements LessonProgressService {
     }
 
     @Override
-    public List<String> getCompletedLessons(String userId, String courseId, String moduleId) {
+    public List<String> getCompletedLessons(String userId, Long courseId, Long moduleId) {
         checkCourseProgressExists(userId, courseId);
         checkModuleProgressExists(userId, courseId, moduleId);
 
@@ -205,21 +218,23 @@ public class LessonProgressServiceImpl implements LessonProgressService {
                 .stream()
                 .map(LessonProgress::getLessonId)
                 .distinct()
+                .map(ProgressMapper::mapId)
                 .toList();
     }
 
     @Override
-    public List<String> getCompletedLessonsInCourse(String userId, String courseId) {
+    public List<String> getCompletedLessonsInCourse(String userId, Long courseId) {
         checkCourseProgressExists(userId, courseId);
 
         return lessonProgressRepository.findByUserIdAndCourseIdAndStatus(userId, courseId, ProgressStatus.COMPLETED)
                 .stream()
                 .map(LessonProgress::getLessonId)
                 .distinct()
+                .map(ProgressMapper::mapId)
                 .toList();
     }
 
-    private void updateCompletionProgress(String userId, String courseId, String moduleId) {
+    private void updateCompletionProgress(String userId, Long courseId, Long moduleId) {
         var moduleProgress = moduleProgressRepository.findByUserIdAndCourseIdAndModuleId(userId, courseId, moduleId)
                 .orElseThrow(() -> new NotFoundException("Module progress not found for user " + userId + " and module " + moduleId));
 
@@ -254,14 +269,14 @@ public class LessonProgressServiceImpl implements LessonProgressService {
         moduleProgressRepository.save(moduleProgress);
     }
 
-    private void updateCourseProgress(String userId, String courseId, CourseProgress courseProgress) {
+    private void updateCourseProgress(String userId, Long courseId, CourseProgress courseProgress) {
         int totalLessons = courseProgress.getTotalLessonsCount();
         long completedLessons = courseProgressService.updateCompletedLessonsCount(userId, courseId);
 
         float completionPercentage = ((float) completedLessons / totalLessons) * 100;
         courseProgress.setCompletionPercentage(completionPercentage);
 
-        if (completedLessons == totalLessons) {
+        if (completedLessons == totalLessons && courseProgress.getStatus() != ProgressStatus.COMPLETED) {
             courseProgressService.markCourseCompleted(userId, courseId);
         }
 
@@ -272,23 +287,28 @@ public class LessonProgressServiceImpl implements LessonProgressService {
     private void updateModuleStatus(ModuleProgress moduleProgress,
                                     long completedLessons, int totalLessons) {
         if (completedLessons == totalLessons) {
+            if (moduleProgress.getStatus() == ProgressStatus.COMPLETED) {
+                return;
+            }
             moduleProgress.setStatus(ProgressStatus.COMPLETED);
             moduleProgress.setCompletionDate(LocalDateTime.now());
 
             userProgressService.increaseCompletedModulesCount(moduleProgress.getUserId());
+            progressEventLog.moduleCompleted(
+                    moduleProgress.getUserId(), moduleProgress.getCourseId(), moduleProgress.getModuleId());
         } else if (completedLessons > 0) {
             moduleProgress.setStatus(ProgressStatus.IN_PROGRESS);
         }
     }
 
-    private void checkModuleProgressExists(String userId, String courseId, String moduleId) {
+    private void checkModuleProgressExists(String userId, Long courseId, Long moduleId) {
         var moduleProgress = moduleProgressRepository.findByUserIdAndCourseIdAndModuleId(userId, courseId, moduleId);
         if (moduleProgress.isEmpty()) {
             throw new NotFoundException("Module progress not found for user " + userId + " and module " + moduleId);
         }
     }
 
-    private void checkCourseProgressExists(String userId, String courseId) {
+    private void checkCourseProgressExists(String userId, Long courseId) {
         var courseProgress = courseProgressRepository.findByUserIdAndCourseId(userId, courseId);
         if (courseProgress.isEmpty()) {
             throw new NotFoundException("Course progress not found for user " + userId + " and course " + courseId);
@@ -27,9 +27,9 @@ public class LessonProgressTransactionalServiceImpl implements LessonProgressTra
     @Override
     @Transactional
     public LessonProgress getOrCleanupLessonProgress(String userId,
-                                                     String courseId,
-                                                     String moduleId,
-                                                     String lessonId,
+                                                     Long courseId,
+                                                     Long moduleId,
+                                                     Long lessonId,
                                                      boolean throwIfNotFound) {
         List<LessonProgress> progressEntries = lessonProgressRepository.findByUserIdAndCourseIdAndModuleIdAndLessonId(
                 userId, courseId, moduleId, lessonId);
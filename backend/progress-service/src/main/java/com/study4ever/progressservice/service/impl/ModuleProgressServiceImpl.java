@@ -29,7 +29,7 @@ public class ModuleProgressServiceImpl implements ModuleProgressService {
     private final CourseProgressService courseProgressService;
 
     @Override
-    public ModuleProgressDto getModuleProgress(String userId, String courseId, String moduleId) {
+    public ModuleProgressDto getModuleProgress(String userId, Long courseId, Long moduleId) {
         return moduleProgressRepository.findByUserIdAndCourseIdAndModuleId(userId, courseId, moduleId)
                 .map(ProgressMapper::mapToModuleDto)
                 .orElseThrow(() -> new NotFoundException("Module progress not found for user " +
@@ -38,7 +38,7 @@ public class ModuleProgressServiceImpl implements ModuleProgressService {
 
     @Override
     @Transactional
-    public ModuleProgressDto initializeModuleProgress(String userId, String courseId, String moduleId, Integer totalLessonsCount) {
+    public ModuleProgressDto initializeModuleProgress(String userId, Long courseId, Long moduleId, Integer totalLessonsCount) {
         var existingProgress = moduleProgressRepository.findByUserIdAndCourseIdAndModuleId(userId, courseId, moduleId);
         if (existingProgress.isPresent()) {
             throw new BadRequestException("Module progress already exists for user " +
@@ -71,7 +71,7 @@ public class ModuleProgressServiceImpl implements ModuleProgressService {
     }
 
     @Override
-    public List<ModuleProgressDto> getAllModulesProgressInCourse(String userId, String courseId) {
+    public List<ModuleProgressDto> getAllModulesProgressInCourse(String userId, Long courseId) {
         var courseProgress = courseProgressRepository.findByUserIdAndCourseId(userId, courseId);
         if (courseProgress.isEmpty()) {
             return Collections.emptyList();
@@ -84,7 +84,7 @@ public class ModuleProgressServiceImpl implements ModuleProgressService {
 
     @Override
     @Transactional
-    public void updateLastAccessed(String userId, String courseId, String moduleId) {
+    public void updateLastAccessed(String userId, Long courseId, Long moduleId) {
         var moduleProgress = moduleProgressRepository.findByUserIdAndCourseIdAndModuleId(userId, courseId, moduleId)
                 .orElseThrow(() -> new NotFoundException("Module progress not found for user " +
                         userId + " in course " + courseId + " and module " + moduleId));
@@ -103,7 +103,7 @@ public class ModuleProgressServiceImpl implements ModuleProgressService {
     }
 
     @Override
-    public void removeModuleProgress(String userId, String courseId, String moduleId) {
+    public void removeModuleProgress(String userId, Long courseId, Long moduleId) {
         var moduleProgress = moduleProgressRepository.findByUserIdAndCourseIdAndModuleId(userId, courseId, moduleId)
                 .orElseThrow(() -> new NotFoundException("Module progress not found for user " +
                         userId + " in course " + courseId + " and module " + moduleId));
@@ -0,0 +1,253 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study4ever.progressservice.dto.ExportDataset;
+import com.study4ever.progressservice.dto.ExportFilter;
+import com.study4ever.progressservice.dto.ExportFormat;
+import com.study4ever.progressservice.exception.BadRequestException;
+import com.study4ever.progressservice.service.ProgressExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressExportServiceImpl implements ProgressExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${study.export.fetch-size:5000}")
+    private int fetchSize;
+
+    @Override
+    public void validateFilter(ExportDataset dataset, ExportFilter filter) {
+        if (filter.getCourseId() != null && dataset.getCourseColumn() == null) {
+            throw new BadRequestException("Dataset " + dataset + " cannot be filtered by course");
+        }
+        if (filter.getFromDate() != null && filter.getToDate() != null
+                && filter.getFromDate().isAfter(filter.getToDate())) {
+            throw new BadRequestException("fromDate must not be after toDate");
+        }
+    }
+
+    /**
+     * Streams every matching row to the output without materializing the result. The surrounding read-only
+     * transaction disables auto-commit, which lets the PostgreSQL driver honour the fetch size with a server-side cursor.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long export(ExportDataset dataset, ExportFormat format, ExportFilter filter, OutputStream outputStream) {
+        validateFilter(dataset, filter);
+
+        List<Object> params = new ArrayList<>();
+        String sql = buildQuery(dataset, filter, params);
+        long startTime = System.currentTimeMillis();
+
+        try (RowWriter writer = format == ExportFormat.CSV
+                ? new CsvRowWriter(outputStream)
+                : new NdjsonRowWriter(objectMapper, outputStream)) {
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                return statement;
+            }, writer::write);
+
+            log.info("Exported {} rows from {} as {} in {} ms",
+                    writer.getRowCount(), dataset.getTableName(), format, System.currentTimeMillis() - startTime);
+            return writer.getRowCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + dataset + " export", e);
+        }
+    }
+
+    private String buildQuery(ExportDataset dataset, ExportFilter filter, List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(dataset.getTableName()).append(" WHERE 1 = 1");
+
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = ?");
+            params.add(filter.getUserId());
+        }
+        if (filter.getCourseId() != null) {
+            sql.append(" AND ").append(dataset.getCourseColumn()).append(" = ?");
+            params.add(filter.getCourseId());
+        }
+        if (filter.getFromDate() != null) {
+            sql.append(" AND ").append(dataset.getDateColumn()).append(" >= ?");
+            params.add(filter.getFromDate().atStartOfDay());
+        }
+        if (filter.getToDate() != null) {
+            sql.append(" AND ").append(dataset.getDateColumn()).append(" < ?");
+            params.add(filter.getToDate().plusDays(1).atStartOfDay());
+        }
+        return sql.toString();
+    }
+
+    private static Object exportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof String || value == null) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    private abstract static class RowWriter implements AutoCloseable {
+
+        private String[] columns;
+        private long rowCount;
+
+        void write(ResultSet resultSet) throws SQLException {
+            try {
+                if (columns == null) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    columns = new String[metaData.getColumnCount()];
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i] = metaData.getColumnLabel(i + 1);
+                    }
+                    writeHeader(columns);
+                }
+
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = exportValue(resultSet.getObject(i + 1));
+                }
+                writeRow(columns, values);
+
+                if (++rowCount % FLUSH_EVERY_ROWS == 0) {
+                    flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long getRowCount() {
+            return rowCount;
+        }
+
+        abstract void writeHeader(String[] columns) throws IOException;
+
+        abstract void writeRow(String[] columns, Object[] values) throws IOException;
+
+        abstract void flush() throws IOException;
+
+        @Override
+        public abstract void close() throws IOException;
+    }
+
+    private static class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeHeader(String[] columns) {
+            // NDJSON rows are self-describing
+        }
+
+        @Override
+        void writeRow(String[] columns, Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeObjectField(columns[i], values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream outputStream) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void writeHeader(String[] columns) throws IOException {
+            writeLine(columns);
+        }
+
+        @Override
+        void writeRow(String[] columns, Object[] values) throws IOException {
+            writeLine(values);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.study4ever.progressservice.dto.ProjectionRebuildResultDto;
+import com.study4ever.progressservice.eventlog.ProgressProjection;
+import com.study4ever.progressservice.exception.BadRequestException;
+import com.study4ever.progressservice.exception.ConflictOperationException;
+import com.study4ever.progressservice.exception.NotFoundException;
+import com.study4ever.progressservice.model.ProgressEvent;
+import com.study4ever.progressservice.model.ProgressEventType;
+import com.study4ever.progressservice.model.id.UuidV7;
+import com.study4ever.progressservice.service.ProjectionRebuildService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Regenerates derived tables from the progress event log. The users are split into contiguous id ranges, one per
+ * worker, so every worker reads its own slice of idx_progress_event_user in order and folds one user at a time.
+ * Users who got new events while the rebuild ran are replayed once more at the end.
+ */
+@Service
+@Slf4j
+public class ProjectionRebuildServiceImpl implements ProjectionRebuildService {
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final long LATE_EVENT_MARGIN_MILLIS = 60_000;
+    private static final String EVENT_COLUMNS =
+            "SELECT user_id, type, course_id, module_id, lesson_id, duration_minutes, occurred_at FROM progress_event";
+    private static final String EVENT_ORDER = " ORDER BY user_id, occurred_at, id";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, ProgressProjection<?>> projections;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private final int maxParallelism;
+    private final int writeBatchSize;
+
+    public ProjectionRebuildServiceImpl(DataSource dataSource,
+                                        JdbcTemplate jdbcTemplate,
+                                        List<ProgressProjection<?>> projections,
+                                        @Value("${study.projection.max-parallelism:4}") int maxParallelism,
+                                        @Value("${study.projection.write-batch-size:500}") int writeBatchSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.projections = projections.stream()
+                .collect(Collectors.toMap(ProgressProjection::getName, Function.identity()));
+        this.maxParallelism = maxParallelism;
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    @Override
+    public List<String> getProjectionNames() {
+        return projections.keySet().stream().sorted().toList();
+    }
+
+    @Override
+    public ProjectionRebuildResultDto rebuild(String projectionName, int parallelism) {
+        if (parallelism < 1 || parallelism > maxParallelism) {
+            throw new BadRequestException("parallelism must be between 1 and " + maxParallelism);
+        }
+        ProgressProjection<?> projection = findProjection(projectionName);
+        if (!running.add(projectionName)) {
+            throw new ConflictOperationException("Projection " + projectionName + " is already being rebuilt");
+        }
+
+        long startTime = System.currentTimeMillis();
+        UUID lateEventsFrom = UuidV7.lowerBound(startTime - LATE_EVENT_MARGIN_MILLIS);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "projection-rebuild-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<String> bounds = userRangeBounds(parallelism);
+            List<CompletableFuture<long[]>> workers = new ArrayList<>();
+            for (int i = 0; i <= bounds.size(); i++) {
+                String fromUserId = i == 0 ? null : bounds.get(i - 1);
+                String toUserId = i == bounds.size() ? null : bounds.get(i);
+                workers.add(CompletableFuture.supplyAsync(
+                        () -> replayRange(projection, fromUserId, toUserId), executor));
+            }
+
+            long users = 0;
+            long events = 0;
+            for (CompletableFuture<long[]> worker : workers) {
+                long[] counts = worker.join();
+                users += counts[0];
+                events += counts[1];
+            }
+
+            List<String> lateUsers = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT user_id FROM progress_event WHERE id >= ?", String.class, lateEventsFrom);
+            for (String userId : lateUsers) {
+                replayUser(projection, userId);
+            }
+
+            long durationMillis = Math.max(1, System.currentTimeMillis() - startTime);
+            log.info("Rebuilt projection {} from {} events of {} users with {} workers in {} ms ({} late users)",
+                    projectionName, events, users, workers.size(), durationMillis, lateUsers.size());
+            return ProjectionRebuildResultDto.builder()
+                    .projection(projectionName)
+                    .parallelism(workers.size())
+                    .users(users)
+                    .events(events)
+                    .lateUsers(lateUsers.size())
+                    .durationMillis(durationMillis)
+                    .eventsPerSecond(events * 1000 / durationMillis)
+                    .build();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdownNow();
+            running.remove(projectionName);
+        }
+    }
+
+    @Override
+    public ProjectionRebuildResultDto rebuildUser(String projectionName, String userId) {
+        ProgressProjection<?> projection = findProjection(projectionName);
+        long startTime = System.currentTimeMillis();
+        long[] counts = replayUser(projection, userId);
+        long durationMillis = Math.max(1, System.currentTimeMillis() - startTime);
+        return ProjectionRebuildResultDto.builder()
+                .projection(projectionName)
+                .parallelism(1)
+                .users(counts[0])
+                .events(counts[1])
+                .durationMillis(durationMillis)
+                .eventsPerSecond(counts[1] * 1000 / durationMillis)
+                .build();
+    }
+
+    private ProgressProjection<?> findProjection(String projectionName) {
+        ProgressProjection<?> projection = projections.get(projectionName);
+        if (projection == null) {
+            throw new NotFoundException("Unknown projection " + projectionName + ", expected one of " + getProjectionNames());
+        }
+        return projection;
+    }
+
+    /**
+     * Lower bounds of all but the first of {@code parallelism} user ranges of roughly equal size. user_progress
+     * has one row per user, so splitting it is far cheaper than splitting the log.
+     */
+    private List<String> userRangeBounds(int parallelism) {
+        List<String> lowerBounds = jdbcTemplate.queryForList("""
+                SELECT MIN(user_id) FROM (
+                    SELECT user_id, ntile(?) OVER (ORDER BY user_id) AS bucket FROM user_progress
+                ) buckets
+                GROUP BY bucket
+                ORDER BY 1
+                """, String.class, parallelism);
+        return lowerBounds.isEmpty() ? List.of() : lowerBounds.subList(1, lowerBounds.size());
+    }
+
+    private long[] replayRange(ProgressProjection<?> projection, String fromUserId, String toUserId) {
+        StringBuilder sql = new StringBuilder(EVENT_COLUMNS).append(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (fromUserId != null) {
+            sql.append(" AND user_id >= ?");
+            params.add(fromUserId);
+        }
+        if (toUserId != null) {
+            sql.append(" AND user_id < ?");
+            params.add(toUserId);
+        }
+        return replay(projection, sql.append(EVENT_ORDER).toString(), params);
+    }
+
+    private long[] replayUser(ProgressProjection<?> projection, String userId) {
+        return replay(projection, EVENT_COLUMNS + " WHERE user_id = ?" + EVENT_ORDER, List.of(userId));
+    }
+
+    /**
+     * Streams events ordered by user and folds each user as soon as the next one starts, so memory holds one user's
+     * history plus one write batch. Returns the number of users and events replayed.
+     */
+    private <S> long[] replay(ProgressProjection<S> projection, String sql, List<Object> params) {
+        long users = 0;
+        long events = 0;
+        List<S> batch = new ArrayList<>(writeBatchSize);
+
+        // Autocommit has to be off for the driver to stream with a server-side cursor instead of buffering
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    String currentUserId = null;
+                    List<ProgressEvent> userEvents = new ArrayList<>();
+                    while (resultSet.next()) {
+                        String userId = resultSet.getString(1);
+                        if (currentUserId != null && !currentUserId.equals(userId)) {
+                            batch.add(projection.fold(currentUserId, userEvents));
+                            users++;
+                            userEvents = new ArrayList<>();
+                            if (batch.size() >= writeBatchSize) {
+                                projection.write(batch);
+                                batch.clear();
+                            }
+                        }
+                        currentUserId = userId;
+                        userEvents.add(readEvent(userId, resultSet));
+                        events++;
+                    }
+                    if (currentUserId != null) {
+                        batch.add(projection.fold(currentUserId, userEvents));
+                        users++;
+                    }
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw jdbcTemplate.getExceptionTranslator().translate("Replay progress events", sql, e);
+        }
+
+        if (!batch.isEmpty()) {
+            projection.write(batch);
+        }
+        return new long[]{users, events};
+    }
+
+    private static ProgressEvent readEvent(String userId, ResultSet resultSet) throws SQLException {
+        Timestamp occurredAt = resultSet.getTimestamp(7);
+        return ProgressEvent.builder()
+                .userId(userId)
+                .type(ProgressEventType.valueOf(resultSet.getString(2)))
+                .courseId(resultSet.getObject(3, Long.class))
+                .moduleId(resultSet.getObject(4, Long.class))
+                .lessonId(resultSet.getObject(5, Long.class))
+                .durationMinutes(resultSet.getObject(6, Integer.class))
+                .occurredAt(occurredAt.toLocalDateTime())
+                .build();
+    }
+}
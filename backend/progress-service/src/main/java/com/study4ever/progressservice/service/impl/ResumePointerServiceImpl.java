@@ -0,0 +1,63 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.study4ever.progressservice.cache.ResumePointerCache;
+import com.study4ever.progressservice.dto.ResumePointerDto;
+import com.study4ever.progressservice.exception.NotFoundException;
+import com.study4ever.progressservice.model.ResumePointer;
+import com.study4ever.progressservice.repository.ResumePointerRepository;
+import com.study4ever.progressservice.service.ResumePointerService;
+import com.study4ever.progressservice.util.ProgressMapper;
+import com.study4ever.progressservice.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumePointerServiceImpl implements ResumePointerService {
+
+    private final ResumePointerRepository resumePointerRepository;
+    private final ResumePointerCache resumePointerCache;
+
+    /**
+     * Served from the cache; only a miss reads the pointer row.
+     */
+    @Override
+    public ResumePointerDto getResumePointer(String userId) {
+        return resumePointerCache.get(userId, id -> resumePointerRepository.findById(id).map(this::mapToDto))
+                .orElseThrow(() -> new NotFoundException("No lesson to resume for user " + userId));
+    }
+
+    @Override
+    @Transactional
+    public void recordLesson(String userId, Long courseId, Long moduleId, Long lessonId, String lessonTitle) {
+        if (resumePointerRepository.upsert(userId, courseId, moduleId, lessonId, lessonTitle) > 0) {
+            TransactionCallbacks.afterCommit(() -> resumePointerCache.invalidate(userId));
+            log.debug("Moved resume pointer for user {} to lesson {} in course {}", userId, lessonId, courseId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void clearCourse(String userId, Long courseId) {
+        if (resumePointerRepository.deleteByUserIdAndCourseId(userId, courseId) > 0) {
+            TransactionCallbacks.afterCommit(() -> resumePointerCache.invalidate(userId));
+            log.debug("Cleared resume pointer for user {} in course {}", userId, courseId);
+        }
+    }
+
+    private ResumePointerDto mapToDto(ResumePointer pointer) {
+        return ResumePointerDto.builder()
+                .courseId(ProgressMapper.mapId(pointer.getCourseId()))
+                .moduleId(ProgressMapper.mapId(pointer.getModuleId()))
+                .lessonId(ProgressMapper.mapId(pointer.getLessonId()))
+                .lessonTitle(pointer.getLessonTitle())
+                .courseCompletionPercentage(pointer.getCompletionPercentage())
+                .lastUpdated(pointer.getUpdatedAt())
+                .build();
+    }
+}
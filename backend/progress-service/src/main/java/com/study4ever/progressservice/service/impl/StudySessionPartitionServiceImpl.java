@@ -0,0 +1,509 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.study4ever.progressservice.dto.SessionArchiveDto;
+import com.study4ever.progressservice.exception.BadRequestException;
+import com.study4ever.progressservice.exception.ConflictOperationException;
+import com.study4ever.progressservice.exception.NotFoundException;
+import com.study4ever.progressservice.jobs.JobCoordinator;
+import com.study4ever.progressservice.model.ArchiveStatus;
+import com.study4ever.progressservice.model.StudySessionArchive;
+import com.study4ever.progressservice.model.UserErasure;
+import com.study4ever.progressservice.repository.StudySessionArchiveRepository;
+import com.study4ever.progressservice.repository.UserErasureRepository;
+import com.study4ever.progressservice.service.StudySessionPartitionService;
+import com.study4ever.progressservice.util.ProgressMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly range partitions of study_session (see db/06_partition_study_session.sql). Old months are
+ * written to gzipped CSV files and dropped once their sessions are rolled up into study_session_stats; an archived
+ * month can be loaded back and re-attached on demand.
+ * <p>
+ * Archive files are written to the local study.partition.archive-dir of the replica holding the maintenance lease,
+ * and each archive records that node. With more than one replica the directory should be a shared volume (and
+ * study.partition.archive-shared set to true); otherwise a restore only works on the node that wrote the file.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudySessionPartitionServiceImpl implements StudySessionPartitionService {
+
+    private static final String PARENT_TABLE = "study_session";
+    private static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final int EXPORT_FETCH_SIZE = 5000;
+    private static final int RESTORE_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudySessionArchiveRepository archiveRepository;
+    private final UserErasureRepository userErasureRepository;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${study.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${study.partition.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${study.partition.archive-dir:archive/study-session}")
+    private String archiveDir;
+
+    @Value("${study.partition.archive-shared:false}")
+    private boolean archiveShared;
+
+    @PostConstruct
+    void checkArchiveDir() {
+        if (!archiveShared) {
+            log.warn("Session archives go to local directory {}; restores must run on the node that archived the "
+                    + "month unless study.partition.archive-shared is set for a shared volume",
+                    Path.of(archiveDir).toAbsolutePath());
+        }
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt
+                               JOIN pg_class c ON c.oid = pt.partrelid
+                               WHERE c.relname = ? AND pg_table_is_visible(c.oid))
+                """, Boolean.class, PARENT_TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    @Override
+    public int createUpcomingPartitions() {
+        if (!isPartitioned()) {
+            log.warn("{} is not partitioned yet, skipping partition creation", PARENT_TABLE);
+            return 0;
+        }
+
+        List<String> attached = findAttachedPartitions();
+        YearMonth current = YearMonth.now();
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = partitionName(month);
+            if (attached.contains(partition)) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + PARENT_TABLE
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            log.info("Created partition {} for {}", partition, month);
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Attached months past the retention window. Months restored on purpose stay attached until someone archives
+     * them again explicitly.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<YearMonth> findArchivableMonths() {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        List<YearMonth> months = new ArrayList<>();
+        for (String partition : findAttachedPartitions()) {
+            YearMonth month = monthOf(partition);
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+            boolean restored = archiveRepository.findById(month.atDay(1))
+                    .map(archive -> archive.getStatus() == ArchiveStatus.RESTORED)
+                    .orElse(false);
+            if (!restored) {
+                months.add(month);
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    /**
+     * Exports and drops one month in a single transaction. The partition is share-locked first so no session can
+     * land in it between the export and the detach; if anything fails the partition stays attached.
+     */
+    @Override
+    @Transactional
+    public SessionArchiveDto archiveMonth(YearMonth month) {
+        jobCoordinator.assertLeaseHeld();
+        if (!isPartitioned()) {
+            throw new ConflictOperationException(PARENT_TABLE + " is not partitioned");
+        }
+        if (!month.isBefore(YearMonth.now())) {
+            throw new BadRequestException("Only past months can be archived");
+        }
+        String partition = partitionName(month);
+        if (!findAttachedPartitions().contains(partition)) {
+            throw new NotFoundException("No attached partition for " + month);
+        }
+
+        long startTime = System.currentTimeMillis();
+        jdbcTemplate.execute("LOCK TABLE " + partition + " IN SHARE MODE");
+
+        Long pending = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM %s s
+                WHERE s.active
+                   OR NOT EXISTS (SELECT 1 FROM study_session_stats st
+                                  WHERE st.user_id = s.user_id
+                                    AND ((st.type = 'DAILY' AND st.stats_date = CAST(s.start_time AS date))
+                                      OR (st.type = 'MONTHLY'
+                                          AND CAST(s.start_time AS date) BETWEEN st.start_date AND st.end_date)))
+                """.formatted(partition), Long.class);
+        if (pending != null && pending > 0) {
+            throw new ConflictOperationException(
+                    pending + " sessions in " + partition + " are not rolled up into study_session_stats yet");
+        }
+
+        Path file = archiveFile(partition);
+        long rowCount = exportPartition(partition, file);
+
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+
+        StudySessionArchive archive = archiveRepository.findById(month.atDay(1))
+                .orElseGet(() -> StudySessionArchive.builder().month(month.atDay(1)).build());
+        archive.setPartitionName(partition);
+        archive.setFilePath(file.toAbsolutePath().toString());
+        archive.setRowCount(rowCount);
+        archive.setArchivedBy(jobCoordinator.getNodeId());
+        archive.setStatus(ArchiveStatus.ARCHIVED);
+        archive.setArchivedAt(LocalDateTime.now());
+        archive.setRestoredAt(null);
+        archive = archiveRepository.save(archive);
+
+        log.info("Archived {} sessions from {} to {} in {} ms",
+                rowCount, partition, file, System.currentTimeMillis() - startTime);
+        return ProgressMapper.mapToArchiveDto(archive);
+    }
+
+    /**
+     * Loads an archived month into a fresh table and attaches it back. Attaching validates the range and builds the
+     * partitioned indexes on the new table.
+     */
+    @Override
+    @Transactional
+    public SessionArchiveDto restoreMonth(YearMonth month) {
+        StudySessionArchive archive = archiveRepository.findById(month.atDay(1))
+                .orElseThrow(() -> new NotFoundException("No archive found for " + month));
+        if (archive.getStatus() == ArchiveStatus.RESTORED) {
+            throw new ConflictOperationException("Sessions for " + month + " are already restored");
+        }
+        Path file = Path.of(archive.getFilePath());
+        if (!Files.isReadable(file)) {
+            if (!archiveShared && archive.getArchivedBy() != null
+                    && !archive.getArchivedBy().equals(jobCoordinator.getNodeId())) {
+                throw new ConflictOperationException("Archive file " + file + " was written on node "
+                        + archive.getArchivedBy() + " and is not reachable from " + jobCoordinator.getNodeId()
+                        + "; restore it there or put study.partition.archive-dir on a shared volume");
+            }
+            throw new NotFoundException("Archive file " + file + " is missing");
+        }
+
+        long startTime = System.currentTimeMillis();
+        String partition = archive.getPartitionName();
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + PARENT_TABLE
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+
+        Set<String> erasedUsers = userErasureRepository.findAll().stream()
+                .map(UserErasure::getUserId)
+                .collect(Collectors.toSet());
+        ImportResult result = importArchive(partition, file, erasedUsers);
+        if (result.restored() + result.skipped() != archive.getRowCount()) {
+            throw new ConflictOperationException("Archive " + file + " holds " + (result.restored() + result.skipped())
+                    + " sessions but " + archive.getRowCount() + " were archived");
+        }
+        long restored = result.restored();
+
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+
+        archive.setStatus(ArchiveStatus.RESTORED);
+        archive.setRestoredAt(LocalDateTime.now());
+        archive = archiveRepository.save(archive);
+
+        log.info("Restored {} sessions into {} from {} in {} ms, skipped {} of erased users",
+                restored, partition, file, System.currentTimeMillis() - startTime, result.skipped());
+        return ProgressMapper.mapToArchiveDto(archive);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessionArchiveDto> getArchives() {
+        return archiveRepository.findAllByOrderByMonthDesc().stream()
+                .map(ProgressMapper::mapToArchiveDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<YearMonth> findArchivedMonths() {
+        return archiveRepository.findByStatus(ArchiveStatus.ARCHIVED).stream()
+                .map(archive -> YearMonth.from(archive.getMonth()))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isArchived(LocalDate startDate, LocalDate endDate) {
+        YearMonth first = YearMonth.from(startDate);
+        YearMonth last = YearMonth.from(endDate);
+        return findArchivedMonths().stream().anyMatch(month -> !month.isBefore(first) && !month.isAfter(last));
+    }
+
+    private List<String> findAttachedPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ? AND pg_table_is_visible(p.oid)
+                ORDER BY c.relname
+                """, String.class, PARENT_TABLE);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private Path archiveFile(String partition) {
+        return Path.of(archiveDir).resolve(partition + ".csv.gz");
+    }
+
+    /**
+     * Writes the partition as gzipped CSV in PostgreSQL's text representation, so restoring can cast every value
+     * straight back to its column type. Every value is quoted; an empty unquoted field is NULL.
+     */
+    private long exportPartition(String partition, Path file) {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        long[] rowCount = {0};
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tempFile)), StandardCharsets.UTF_8))) {
+
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT * FROM " + partition, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(EXPORT_FETCH_SIZE);
+                    return statement;
+                }, (ResultSet resultSet) -> {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    String[] values = new String[metaData.getColumnCount()];
+                    if (rowCount[0] == 0) {
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = metaData.getColumnLabel(i + 1);
+                        }
+                        writeCsvLine(writer, values);
+                    }
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = resultSet.getString(i + 1);
+                    }
+                    writeCsvLine(writer, values);
+                    rowCount[0]++;
+                });
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export " + partition + " to " + file, e);
+        }
+        return rowCount[0];
+    }
+
+    private static void writeCsvLine(Writer writer, String[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write('"');
+                    writer.write(values[i].replace("\"", "\"\""));
+                    writer.write('"');
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the archive into the partition table. Rows of users with a user_erasure record are skipped, since the
+     * erasure never rewrites archive files and restoring them would bring the erased data back.
+     */
+    private ImportResult importArchive(String partition, Path file, Set<String> erasedUsers) {
+        Map<String, String> columnTypes = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT a.attname, format_type(a.atttypid, a.atttypmod) FROM pg_attribute a
+                WHERE a.attrelid = CAST(? AS regclass) AND a.attnum > 0 AND NOT a.attisdropped
+                """, (ResultSet resultSet) -> {
+            columnTypes.put(resultSet.getString(1), resultSet.getString(2));
+        }, PARENT_TABLE);
+
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8)))) {
+
+            List<String> header = reader.next();
+            if (header == null) {
+                return new ImportResult(0, 0);
+            }
+            int userIdColumn = header.indexOf("user_id");
+            if (userIdColumn < 0) {
+                throw new ConflictOperationException("Archive " + file + " has no user_id column");
+            }
+            List<String> placeholders = new ArrayList<>();
+            for (String column : header) {
+                String type = columnTypes.get(column);
+                if (type == null) {
+                    throw new ConflictOperationException("Archive " + file + " has unknown column " + column);
+                }
+                placeholders.add("CAST(? AS " + type + ")");
+            }
+            String sql = "INSERT INTO " + partition + " (" + String.join(", ", header) + ") VALUES ("
+                    + String.join(", ", placeholders) + ")";
+
+            long restored = 0;
+            long skipped = 0;
+            List<Object[]> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+            List<String> row;
+            while ((row = reader.next()) != null) {
+                if (row.size() != header.size()) {
+                    throw new ConflictOperationException(
+                            "Archive " + file + " has a malformed row " + (restored + skipped + 1));
+                }
+                if (erasedUsers.contains(row.get(userIdColumn))) {
+                    skipped++;
+                    continue;
+                }
+                batch.add(row.toArray());
+                if (batch.size() == RESTORE_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(sql, batch);
+                    restored += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                restored += batch.size();
+            }
+            return new ImportResult(restored, skipped);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive " + file, e);
+        }
+    }
+
+    private record ImportResult(long restored, long skipped) {
+    }
+
+    /**
+     * Reads back what {@link #writeCsvLine} wrote: quoted fields may contain commas, doubled quotes and newlines,
+     * and an empty unquoted field is NULL.
+     */
+    private static class CsvReader implements AutoCloseable {
+
+        private final Reader reader;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean inQuotes = false;
+            while (true) {
+                if (inQuotes) {
+                    if (c < 0) {
+                        throw new IOException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            c = peek;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    inQuotes = true;
+                } else if (c == ',' || c == '\n' || c < 0) {
+                    fields.add(quoted ? field.toString() : null);
+                    field.setLength(0);
+                    quoted = false;
+                    if (c != ',') {
+                        return fields;
+                    }
+                } else {
+                    throw new IOException("Unexpected character outside quotes");
+                }
+                c = reader.read();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -2,17 +2,22 @@ package com.study4ever.progressservice.service.impl;
 
 import com.study4ever.progressservice.dto.StartStudySessionRequest;
 import com.study4ever.progressservice.dto.StudySessionDto;
+import com.study4ever.progressservice.dto.StudySessionPageDto;
 import com.study4ever.progressservice.dto.HeartbeatRequest;
+import com.study4ever.progressservice.eventlog.ProgressEventLog;
 import com.study4ever.progressservice.exception.BadRequestException;
 import com.study4ever.progressservice.exception.ConflictOperationException;
 import com.study4ever.progressservice.exception.ForbiddenOperationException;
 import com.study4ever.progressservice.exception.NotFoundException;
+import com.study4ever.progressservice.jobs.JobCoordinator;
 import com.study4ever.progressservice.model.StudySession;
 import com.study4ever.progressservice.repository.StudySessionRepository;
 import com.study4ever.progressservice.service.StudySessionService;
 import com.study4ever.progressservice.service.StudyStreakService;
+import com.study4ever.progressservice.service.UserActivityService;
 import com.study4ever.progressservice.service.UserProgressService;
 import com.study4ever.progressservice.util.ProgressMapper;
+import com.study4ever.progressservice.util.SessionCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -30,9 +35,18 @@ import java.util.UUID;
 @Slf4j
 public class StudySessionServiceImpl implements StudySessionService {
 
+    public static final int MAX_SESSION_PAGE_SIZE = 200;
+
+    // Bounds for the unfiltered history, both within PostgreSQL's timestamp range
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final StudySessionRepository studySessionRepository;
     private final StudyStreakService studyStreakService;
     private final UserProgressService userProgressService;
+    private final UserActivityService userActivityService;
+    private final ProgressEventLog progressEventLog;
+    private final JobCoordinator jobCoordinator;
 
     @Value("${study.session.timeout.minutes:30}")
     private int sessionTimeoutMinutes;
@@ -93,12 +107,14 @@ public class StudySessionServiceImpl implements StudySessionService {
         session.setDurationMinutes(durationMinutes);
 
         StudySession savedSession = studySessionRepository.save(session);
+        userActivityService.recordStudyDay(userId, session.getStartTime().toLocalDate(), durationMinutes);
 
         if (durationMinutes >= 1) {
             studyStreakService.updateStreak(userId);
         }
 
         userProgressService.logStudySession(userId, durationMinutes);
+        progressEventLog.sessionEnded(userId, session.getCourseId(), durationMinutes);
 
         return ProgressMapper.mapToSessionDto(savedSession);
     }
@@ -118,10 +134,8 @@ public class StudySessionServiceImpl implements StudySessionService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<StudySessionDto> getUserStudySessions(String userId) {
-        return studySessionRepository.findByUserId(userId).stream()
-                .map(ProgressMapper::mapToSessionDto)
-                .toList();
+    public StudySessionPageDto getUserStudySessions(String userId, String cursor, int size) {
+        return findSessionPage(userId, HISTORY_START, HISTORY_END, cursor, size);
     }
 
     @Override
@@ -137,13 +151,39 @@ public class StudySessionServiceImpl implements StudySessionService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<StudySessionDto> getUserStudySessionsByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
+    public StudySessionPageDto getUserStudySessionsByDateRange(
+            String userId, LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        return findSessionPage(userId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), cursor, size);
+    }
 
-        return studySessionRepository.findByUserIdAndStartTimeBetween(userId, startDateTime, endDateTime).stream()
-                .map(ProgressMapper::mapToSessionDto)
-                .toList();
+    /**
+     * Reads one keyset page of sessions starting in {@code [from, to)}. One extra row is fetched to tell whether
+     * another page exists, so the last page never hands out a cursor that leads to an empty response.
+     */
+    private StudySessionPageDto findSessionPage(
+            String userId, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        if (size < 1 || size > MAX_SESSION_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SESSION_PAGE_SIZE);
+        }
+
+        List<StudySession> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = studySessionRepository.findSessionPage(userId, from, to, size + 1);
+        } else {
+            SessionCursor after = SessionCursor.decode(cursor);
+            rows = studySessionRepository.findSessionPageBefore(
+                    userId, from, to, after.startTime(), after.id(), size + 1);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<StudySession> page = hasMore ? rows.subList(0, size) : rows;
+        return StudySessionPageDto.builder()
+                .sessions(page.stream().map(ProgressMapper::mapToSessionDto).toList())
+                .nextCursor(hasMore ? SessionCursor.after(page.get(size - 1)).encode() : null)
+                .build();
     }
 
     @Override
@@ -225,6 +265,7 @@ public class StudySessionServiceImpl implements StudySessionService {
     @Override
     @Transactional
     public void cleanupExpiredSessions() {
+        jobCoordinator.assertLeaseHeld();
         LocalDateTime expirationTime = LocalDateTime.now().minusMinutes(sessionTimeoutMinutes);
         List<StudySession> expiredSessions = studySessionRepository.findExpiredActiveSessions(expirationTime);
         
@@ -238,11 +279,13 @@ public class StudySessionServiceImpl implements StudySessionService {
                 session.setDurationMinutes(durationMinutes);
                 
                 studySessionRepository.save(session);
+                userActivityService.recordStudyDay(session.getUserId(), session.getStartTime().toLocalDate(), durationMinutes);
                 
                 // Only update streak and log session if it was at least 1 minute
                 if (durationMinutes >= 1) {
                     studyStreakService.updateStreak(session.getUserId());
                     userProgressService.logStudySession(session.getUserId(), durationMinutes);
+                    progressEventLog.sessionEnded(session.getUserId(), session.getCourseId(), durationMinutes);
                 }
                 
                 log.info("Automatically ended expired session {} for user {} (duration: {} minutes)",
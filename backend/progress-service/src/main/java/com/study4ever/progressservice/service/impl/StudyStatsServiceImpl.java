@@ -4,20 +4,28 @@ import com.study4ever.progressservice.dto.DailyStatsDto;
 import com.study4ever.progressservice.dto.WeeklyStatsDto;
 import com.study4ever.progressservice.dto.MonthlyStatsDto;
 import com.study4ever.progressservice.dto.YearlyStatsDto;
+import com.study4ever.progressservice.exception.ConflictOperationException;
+import com.study4ever.progressservice.jobs.JobCoordinator;
 import com.study4ever.progressservice.model.StudySession;
 import com.study4ever.progressservice.model.StudySessionStats;
 import com.study4ever.progressservice.repository.StudySessionRepository;
 import com.study4ever.progressservice.repository.StudySessionStatsRepository;
+import com.study4ever.progressservice.service.StudySessionPartitionService;
 import com.study4ever.progressservice.service.StudyStatsService;
+import com.study4ever.progressservice.util.ConditionalResponses;
+import com.study4ever.progressservice.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
@@ -28,8 +36,51 @@ import java.util.stream.Collectors;
 @Slf4j
 public class StudyStatsServiceImpl implements StudyStatsService {
 
+    /**
+     * Deletes one chunk of old DAILY rows and adds them to the MONTHLY row of their month in the same statement,
+     * so a crash between chunks can neither lose nor double count a day. Returns the number of DAILY rows folded.
+     */
+    private static final String FOLD_DAILY_STATS_SQL = """
+            WITH folded AS (
+                DELETE FROM study_session_stats
+                WHERE id IN (SELECT id FROM study_session_stats
+                             WHERE type = 'DAILY' AND stats_date < ?
+                             ORDER BY stats_date
+                             LIMIT ?)
+                RETURNING user_id, stats_date, duration_minutes, session_count
+            ), monthly AS (
+                SELECT user_id, CAST(date_trunc('month', stats_date) AS DATE) AS month_start,
+                       SUM(duration_minutes) AS duration_minutes, SUM(session_count) AS session_count
+                FROM folded
+                GROUP BY user_id, CAST(date_trunc('month', stats_date) AS DATE)
+            ), upserted AS (
+                INSERT INTO study_session_stats (id, user_id, stats_date, duration_minutes, session_count, type,
+                                                 start_date, end_date, created_at, updated_at)
+                SELECT gen_random_uuid(), user_id, month_start, duration_minutes, session_count, 'MONTHLY',
+                       month_start, CAST(month_start + INTERVAL '1 month' - INTERVAL '1 day' AS DATE), now(), now()
+                FROM monthly
+                ON CONFLICT (user_id, type, stats_date) DO UPDATE
+                SET duration_minutes = study_session_stats.duration_minutes + EXCLUDED.duration_minutes,
+                    session_count = study_session_stats.session_count + EXCLUDED.session_count,
+                    updated_at = now()
+                RETURNING 1
+            )
+            SELECT COUNT(*) FROM folded
+            """;
+
     private final StudySessionRepository studySessionRepository;
     private final StudySessionStatsRepository studySessionStatsRepository;
+    private final ConditionalResponses conditionalResponses;
+    private final JdbcTemplate jdbcTemplate;
+    private final JobCoordinator jobCoordinator;
+    private final StudySessionPartitionService partitionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${study.stats.daily-retention-days:400}")
+    private int dailyRetentionDays;
+
+    @Value("${study.stats.compaction-batch-size:1000}")
+    private int compactionBatchSize;
 
     @Override
     @Transactional(readOnly = true)
@@ -56,6 +107,18 @@ public class StudyStatsServiceImpl implements StudyStatsService {
                     .build();
         }
 
+        // Folded days have no DAILY row left and their sessions may be archived, so recounting would report zeros
+        if (date.isBefore(dailyCompactionHorizon()) && studySessionStatsRepository
+                .findByUserIdAndTypeAndDateInRange(userId, StudySessionStats.StatsType.MONTHLY, date).isPresent()) {
+            return DailyStatsDto.builder()
+                    .date(date)
+                    .dayOfWeek(date.getDayOfWeek().name())
+                    .durationMinutes(0L)
+                    .sessionCount(0)
+                    .compacted(true)
+                    .build();
+        }
+
         // Calculate on-the-fly if not cached
         return calculateDailyStatsOnTheFly(userId, date);
     }
@@ -78,6 +141,7 @@ public class StudyStatsServiceImpl implements StudyStatsService {
         List<DailyStatsDto> dailyStats = new ArrayList<>();
         long totalDuration = 0;
         int totalSessions = 0;
+        boolean compacted = false;
 
         // Get stats for each day of the week
         for (LocalDate date = monday; !date.isAfter(sunday); date = date.plusDays(1)) {
@@ -85,6 +149,7 @@ public class StudyStatsServiceImpl implements StudyStatsService {
             dailyStats.add(dayStats);
             totalDuration += dayStats.getDurationMinutes();
             totalSessions += dayStats.getSessionCount();
+            compacted |= dayStats.isCompacted();
         }
 
         String weekLabel = String.format("Week of %s", 
@@ -97,6 +162,7 @@ public class StudyStatsServiceImpl implements StudyStatsService {
                 .dailyStats(dailyStats)
                 .totalDurationMinutes(totalDuration)
                 .totalSessionCount(totalSessions)
+                .compacted(compacted)
                 .build();
     }
 
@@ -105,46 +171,20 @@ public class StudyStatsServiceImpl implements StudyStatsService {
     public YearlyStatsDto getMonthlyStats(String userId, int year) {
         log.debug("Getting monthly stats for user {} for year {}", userId, year);
 
-        List<StudySessionStats> monthlyStats = studySessionStatsRepository
-                .findMonthlyStatsByYear(userId, year);
-
-        // Create a map for quick lookup
-        Map<Integer, StudySessionStats> statsMap = monthlyStats.stream()
-                .collect(Collectors.toMap(
-                        stats -> stats.getStatsDate().getMonthValue(),
-                        stats -> stats
-                ));
-
+        YearMonth currentMonth = YearMonth.now();
         List<MonthlyStatsDto> monthlyStatsList = new ArrayList<>();
         long totalDuration = 0;
         int totalSessions = 0;
 
-        // Generate stats for all 12 months
+        // Generate stats for all 12 months, months still ahead stay empty
         for (int month = 1; month <= 12; month++) {
-            StudySessionStats stats = statsMap.get(month);
-            
-            MonthlyStatsDto monthDto;
-            if (stats != null) {
-                monthDto = MonthlyStatsDto.builder()
-                        .month(Month.of(month).name())
-                        .monthNumber(month)
-                        .year(year)
-                        .durationMinutes(stats.getDurationMinutes())
-                        .sessionCount(stats.getSessionCount())
-                        .build();
-                totalDuration += stats.getDurationMinutes();
-                totalSessions += stats.getSessionCount();
-            } else {
-                // No data for this month
-                monthDto = MonthlyStatsDto.builder()
-                        .month(Month.of(month).name())
-                        .monthNumber(month)
-                        .year(year)
-                        .durationMinutes(0L)
-                        .sessionCount(0)
-                        .build();
-            }
+            YearMonth yearMonth = YearMonth.of(year, month);
+            MonthlyStatsDto monthDto = yearMonth.isAfter(currentMonth)
+                    ? emptyMonth(yearMonth)
+                    : getMonthTotals(userId, yearMonth);
 
+            totalDuration += monthDto.getDurationMinutes();
+            totalSessions += monthDto.getSessionCount();
             monthlyStatsList.add(monthDto);
         }
 
@@ -156,17 +196,80 @@ public class StudyStatsServiceImpl implements StudyStatsService {
                 .build();
     }
 
+    /**
+     * Totals for one month. A compacted month is its MONTHLY row plus any DAILY rows not folded yet; its sessions
+     * are never re-read because the folded days have no DAILY row left and may already be archived. Other months
+     * use their DAILY rows and count sessions on the fly for days without one.
+     */
+    private MonthlyStatsDto getMonthTotals(String userId, YearMonth month) {
+        LocalDate monthStart = month.atDay(1);
+        LocalDate lastDay = month.atEndOfMonth().isAfter(LocalDate.now()) ? LocalDate.now() : month.atEndOfMonth();
+
+        List<StudySessionStats> dailyRows = studySessionStatsRepository.findByUserIdAndTypeAndStatsDateBetween(
+                userId, StudySessionStats.StatsType.DAILY, monthStart, lastDay);
+        long duration = dailyRows.stream().mapToLong(StudySessionStats::getDurationMinutes).sum();
+        int sessions = dailyRows.stream().mapToInt(StudySessionStats::getSessionCount).sum();
+
+        Optional<StudySessionStats> monthly = monthStart.isBefore(dailyCompactionHorizon())
+                ? studySessionStatsRepository.findByUserIdAndTypeAndStatsDate(
+                        userId, StudySessionStats.StatsType.MONTHLY, monthStart)
+                : Optional.empty();
+
+        if (monthly.isPresent()) {
+            duration += monthly.get().getDurationMinutes();
+            sessions += monthly.get().getSessionCount();
+        } else {
+            Set<LocalDate> storedDays = dailyRows.stream()
+                    .map(StudySessionStats::getStatsDate)
+                    .collect(Collectors.toSet());
+            List<StudySession> unstoredSessions = studySessionRepository
+                    .findByUserIdAndStartTimeBetween(userId, monthStart.atStartOfDay(), lastDay.atTime(23, 59, 59))
+                    .stream()
+                    .filter(session -> !storedDays.contains(session.getStartTime().toLocalDate()))
+                    .toList();
+            duration += unstoredSessions.stream().mapToLong(this::calculateSessionDuration).sum();
+            sessions += unstoredSessions.size();
+        }
+
+        return MonthlyStatsDto.builder()
+                .month(month.getMonth().name())
+                .monthNumber(month.getMonthValue())
+                .year(month.getYear())
+                .durationMinutes(duration)
+                .sessionCount(sessions)
+                .build();
+    }
+
+    private static MonthlyStatsDto emptyMonth(YearMonth month) {
+        return MonthlyStatsDto.builder()
+                .month(month.getMonth().name())
+                .monthNumber(month.getMonthValue())
+                .year(month.getYear())
+                .durationMinutes(0L)
+                .sessionCount(0)
+                .build();
+    }
+
     @Override
     @Transactional
     public void calculateAndStoreDailyStats(String userId, LocalDate date) {
         log.debug("Calculating and storing daily stats for user {} on date {}", userId, date);
+        rejectArchived(date, date);
         calculateAndStoreDailyStatsInternal(userId, date);
+        forgetEtags(userId);
     }
 
     /**
      * Internal method to calculate and store daily stats without transaction boundary issues
      */
     private void calculateAndStoreDailyStatsInternal(String userId, LocalDate date) {
+        // A DAILY row inside an already compacted month would be counted twice
+        if (date.isBefore(dailyCompactionHorizon()) && studySessionStatsRepository
+                .findByUserIdAndTypeAndDateInRange(userId, StudySessionStats.StatsType.MONTHLY, date).isPresent()) {
+            log.debug("Skipping daily stats for user {} on {}: the month is already compacted", userId, date);
+            return;
+        }
+
         DailyStatsDto dailyStats = calculateDailyStatsOnTheFly(userId, date);
 
         // Save or update the daily stats
@@ -192,6 +295,7 @@ public class StudyStatsServiceImpl implements StudyStatsService {
     @Transactional
     public void calculateDailyStatsForAllUsers(LocalDate date) {
         log.info("Calculating daily stats for all users on date {}", date);
+        jobCoordinator.assertLeaseHeld();
 
         // Get all unique user IDs who had sessions on this date
         LocalDateTime startOfDay = date.atStartOfDay();
@@ -222,14 +326,37 @@ public class StudyStatsServiceImpl implements StudyStatsService {
     @Transactional
     public void recalculateStats(String userId, LocalDate startDate, LocalDate endDate) {
         log.info("Recalculating stats for user {} from {} to {}", userId, startDate, endDate);
+        rejectArchived(startDate, endDate);
 
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
             calculateAndStoreDailyStatsInternal(userId, date);
         }
 
+        forgetEtags(userId);
+
         log.info("Completed recalculating stats for user {} from {} to {}", userId, startDate, endDate);
     }
 
+    /**
+     * Sessions of archived months are no longer in study_session, so recalculating them would overwrite the stored
+     * rows with zeros
+     */
+    private void rejectArchived(LocalDate startDate, LocalDate endDate) {
+        if (partitionService.isArchived(startDate, endDate)) {
+            throw new ConflictOperationException("Sessions between " + startDate + " and " + endDate
+                    + " are partly archived; restore the month before recalculating its stats");
+        }
+    }
+
+    /**
+     * Settled-period ETags are only remembered once the nightly run for that day is past, so only
+     * explicit recalculations need to drop them.
+     */
+    private void forgetEtags(String userId) {
+        String keyPrefix = ConditionalResponses.userStatsKey(userId);
+        TransactionCallbacks.afterCommit(() -> conditionalResponses.invalidate(keyPrefix));
+    }
+
     /**
      * Calculate daily stats on-the-fly without caching
      */
@@ -355,66 +482,25 @@ public class StudyStatsServiceImpl implements StudyStatsService {
     @Transactional(readOnly = true)
     public List<MonthlyStatsDto> getMonthlyStatsRange(String userId, int months) {
         log.debug("Getting monthly stats range for user {} for {} months", userId, months);
-        
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusMonths((long) months - 1);
-        
+
+        YearMonth endMonth = YearMonth.now();
+        YearMonth startMonth = endMonth.minusMonths((long) months - 1);
+
         List<MonthlyStatsDto> statsList = new ArrayList<>();
-        LocalDate currentMonth = startDate.withDayOfMonth(1);
-        MonthlyStatsDto previousMonthStats = null;
-        
-        while (!currentMonth.isAfter(endDate.withDayOfMonth(1))) {
-            LocalDate monthStart = currentMonth;
-            LocalDate monthEnd = currentMonth.withDayOfMonth(currentMonth.lengthOfMonth());
-            
-            // Get all daily stats for this month
-            long totalDuration = 0;
-            int totalSessions = 0;
-            
-            for (LocalDate date = monthStart; !date.isAfter(monthEnd) && !date.isAfter(LocalDate.now()); date = date.plusDays(1)) {
-                DailyStatsDto dayStats = getDailyStatsInternal(userId, date);
-                totalDuration += dayStats.getDurationMinutes();
-                totalSessions += dayStats.getSessionCount();
-            }
-            
-            // Create a proper monthly stats DTO
-            MonthlyStatsDto monthStats = MonthlyStatsDto.builder()
-                    .month(monthStart.getMonth().name())
-                    .monthNumber(monthStart.getMonthValue())
-                    .year(monthStart.getYear())
-                    .durationMinutes(totalDuration)
-                    .sessionCount(totalSessions)
-                    .build();
-            
-            // Calculate percentage change from previous month
-            if (previousMonthStats != null) {
-                Double percentageChange = calculatePercentageChange(
-                    monthStats.getDurationMinutes(), 
+        // The month before the range is only needed for the first percentage change
+        MonthlyStatsDto previousMonthStats = getMonthTotals(userId, startMonth.minusMonths(1));
+
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            MonthlyStatsDto monthStats = getMonthTotals(userId, month);
+            monthStats.setPercentageChange(calculatePercentageChange(
+                    monthStats.getDurationMinutes(),
                     previousMonthStats.getDurationMinutes()
-                );
-                monthStats.setPercentageChange(percentageChange);
-            } else {
-                // For the first month, get previous month's stats to calculate percentage
-                LocalDate previousMonthDate = currentMonth.minusMonths(1);
-                long prevTotalDuration = 0;
-                
-                LocalDate prevMonthStart = previousMonthDate.withDayOfMonth(1);
-                LocalDate prevMonthEnd = previousMonthDate.withDayOfMonth(previousMonthDate.lengthOfMonth());
-                
-                for (LocalDate date = prevMonthStart; !date.isAfter(prevMonthEnd); date = date.plusDays(1)) {
-                    DailyStatsDto dayStats = getDailyStatsInternal(userId, date);
-                    prevTotalDuration += dayStats.getDurationMinutes();
-                }
-                
-                Double percentageChange = calculatePercentageChange(totalDuration, prevTotalDuration);
-                monthStats.setPercentageChange(percentageChange);
-            }
-            
+            ));
+
             statsList.add(monthStats);
             previousMonthStats = monthStats;
-            currentMonth = currentMonth.plusMonths(1);
         }
-        
+
         return statsList;
     }
 
@@ -422,91 +508,70 @@ public class StudyStatsServiceImpl implements StudyStatsService {
     @Transactional(readOnly = true)
     public List<YearlyStatsDto> getYearlyStatsRange(String userId, int years) {
         log.debug("Getting yearly stats range for user {} for {} years", userId, years);
-        
+
         int endYear = LocalDate.now().getYear();
         int startYear = endYear - years + 1;
-        
+
         List<YearlyStatsDto> statsList = new ArrayList<>();
-        YearlyStatsDto previousYearStats = null;
-        
+        // The year before the range is only needed for the first percentage change
+        YearlyStatsDto previousYearStats = getMonthlyStats(userId, startYear - 1);
+
         for (int year = startYear; year <= endYear; year++) {
-            LocalDate yearStart = LocalDate.of(year, 1, 1);
-            LocalDate yearEnd = LocalDate.of(year, 12, 31);
-            LocalDate actualEnd = yearEnd.isAfter(LocalDate.now()) ? LocalDate.now() : yearEnd;
-            
-            // Get all daily stats for this year and group by month
-            Map<Integer, Long> monthlyDurations = new HashMap<>();
-            Map<Integer, Integer> monthlySessions = new HashMap<>();
-            
-            for (LocalDate date = yearStart; !date.isAfter(actualEnd); date = date.plusDays(1)) {
-                DailyStatsDto dayStats = getDailyStatsInternal(userId, date);
-                int month = date.getMonthValue();
-                
-                monthlyDurations.merge(month, dayStats.getDurationMinutes(), Long::sum);
-                monthlySessions.merge(month, dayStats.getSessionCount(), Integer::sum);
-            }
-            
-            // Create monthly stats for this year
-            List<MonthlyStatsDto> monthlyStats = new ArrayList<>();
-            long totalDuration = 0;
-            int totalSessions = 0;
-            
-            for (int month = 1; month <= 12; month++) {
-                long duration = monthlyDurations.getOrDefault(month, 0L);
-                int sessions = monthlySessions.getOrDefault(month, 0);
-                
-                MonthlyStatsDto monthDto = MonthlyStatsDto.builder()
-                        .month(Month.of(month).name())
-                        .monthNumber(month)
-                        .year(year)
-                        .durationMinutes(duration)
-                        .sessionCount(sessions)
-                        .build();
-                
-                monthlyStats.add(monthDto);
-                totalDuration += duration;
-                totalSessions += sessions;
-            }
-            
-            // Create a yearly stats DTO
-            YearlyStatsDto yearlyStats = YearlyStatsDto.builder()
-                    .year(year)
-                    .monthlyStats(monthlyStats)
-                    .totalDurationMinutes(totalDuration)
-                    .totalSessionCount(totalSessions)
-                    .build();
-            
-            // Calculate percentage change from previous year
-            if (previousYearStats != null) {
-                Double percentageChange = calculatePercentageChange(
-                    yearlyStats.getTotalDurationMinutes(), 
+            YearlyStatsDto yearlyStats = getMonthlyStats(userId, year);
+            yearlyStats.setPercentageChange(calculatePercentageChange(
+                    yearlyStats.getTotalDurationMinutes(),
                     previousYearStats.getTotalDurationMinutes()
-                );
-                yearlyStats.setPercentageChange(percentageChange);
-            } else {
-                // For the first year, get previous year's stats to calculate percentage
-                int previousYear = year - 1;
-                long prevYearTotalDuration = 0;
-                
-                LocalDate prevYearStart = LocalDate.of(previousYear, 1, 1);
-                LocalDate prevYearEnd = LocalDate.of(previousYear, 12, 31);
-                
-                for (LocalDate date = prevYearStart; !date.isAfter(prevYearEnd); date = date.plusDays(1)) {
-                    DailyStatsDto dayStats = getDailyStatsInternal(userId, date);
-                    prevYearTotalDuration += dayStats.getDurationMinutes();
-                }
-                
-                Double percentageChange = calculatePercentageChange(totalDuration, prevYearTotalDuration);
-                yearlyStats.setPercentageChange(percentageChange);
-            }
-            
+            ));
+
             statsList.add(yearlyStats);
             previousYearStats = yearlyStats;
         }
-        
+
         return statsList;
     }
 
+    /**
+     * Folds DAILY rows of whole months older than the retention window into MONTHLY rows, one chunk per statement.
+     * Every chunk commits in its own transaction, together with the lease check, so locks stay short and a node
+     * that lost the lease cannot fold anything after the takeover.
+     */
+    @Override
+    public long compactDailyStats() {
+        LocalDate horizon = dailyCompactionHorizon();
+        long startTime = System.currentTimeMillis();
+        long folded = 0;
+        int chunk;
+        do {
+            Integer count = transactionTemplate.execute(status -> {
+                jobCoordinator.assertLeaseHeld();
+                return jdbcTemplate.queryForObject(FOLD_DAILY_STATS_SQL, Integer.class, horizon, compactionBatchSize);
+            });
+            chunk = count != null ? count : 0;
+            folded += chunk;
+        } while (chunk == compactionBatchSize);
+
+        if (folded > 0) {
+            // Day-level responses inside compacted months are now computed differently
+            conditionalResponses.invalidate(ConditionalResponses.USER_STATS_PREFIX);
+        }
+        log.info("Folded {} daily stats rows before {} into monthly rows in {} ms",
+                folded, horizon, System.currentTimeMillis() - startTime);
+        return folded;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getStatsVersion(String userId) {
+        return studySessionStatsRepository.findStatsVersion(userId);
+    }
+
+    /**
+     * First day not eligible for compaction. Always the start of a month, so only whole months are folded.
+     */
+    private LocalDate dailyCompactionHorizon() {
+        return LocalDate.now().minusDays(dailyRetentionDays).withDayOfMonth(1);
+    }
+
     /**
      * Calculate percentage change between two values
      */
@@ -1,27 +1,30 @@
 package com.study4ever.progressservice.service.impl;
 
+import com.study4ever.progressservice.cache.TopStreaksIndex;
 import com.study4ever.progressservice.dto.StreakHistoryEntryDto;
 import com.study4ever.progressservice.dto.StudyStreakDto;
 import com.study4ever.progressservice.exception.NotFoundException;
-import com.study4ever.progressservice.model.StudySession;
+import com.study4ever.progressservice.jobs.JobCoordinator;
+import com.study4ever.progressservice.model.StreakRanking;
 import com.study4ever.progressservice.model.StudyStreak;
-import com.study4ever.progressservice.repository.StudySessionRepository;
 import com.study4ever.progressservice.repository.StudyStreakRepository;
 import com.study4ever.progressservice.service.StudyStreakService;
+import com.study4ever.progressservice.service.UserActivityService;
+import com.study4ever.progressservice.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,7 +32,13 @@ import java.util.stream.Collectors;
 public class StudyStreakServiceImpl implements StudyStreakService {
 
     private final StudyStreakRepository studyStreakRepository;
-    private final StudySessionRepository studySessionRepository;
+    private final UserActivityService userActivityService;
+    private final TopStreaksIndex topStreaksIndex;
+    private final JobCoordinator jobCoordinator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${study.streak.reset-batch-size:1000}")
+    private int resetBatchSize;
 
     @Override
     @Transactional(readOnly = true)
@@ -65,7 +74,7 @@ public class StudyStreakServiceImpl implements StudyStreakService {
         }
 
         streak.setLastStudyDate(today);
-        studyStreakRepository.save(streak);
+        publishToIndex(studyStreakRepository.save(streak));
     }
 
     @Override
@@ -79,24 +88,14 @@ public class StudyStreakServiceImpl implements StudyStreakService {
         streak.setLastStudyDate(today);
         streak.setStreakStartDate(today);
 
-        studyStreakRepository.save(streak);
+        publishToIndex(studyStreakRepository.save(streak));
         log.info("Reset streak for user {}", userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<StreakHistoryEntryDto> getStreakHistoryByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
-
-        List<StudySession> sessions = studySessionRepository.findByUserIdAndStartTimeBetween(userId, startDateTime, endDateTime);
-
-        Map<LocalDate, Integer> studyMinutesByDate = sessions.stream()
-                .filter(s -> s.getDurationMinutes() != null)
-                .collect(Collectors.groupingBy(
-                        s -> s.getStartTime().toLocalDate(),
-                        Collectors.summingInt(StudySession::getDurationMinutes)
-                ));
+        Map<LocalDate, Integer> studyMinutesByDate = userActivityService.getActiveDays(userId, startDate, endDate);
 
         List<StreakHistoryEntryDto> history = new ArrayList<>();
         LocalDate date = startDate;
@@ -120,49 +119,84 @@ public class StudyStreakServiceImpl implements StudyStreakService {
         return history;
     }
 
+    @Override
+    @Transactional
+    public StudyStreakDto recalculateLongestStreak(String userId) {
+        StudyStreak streak = studyStreakRepository.findByUserId(userId)
+                .orElseThrow(() -> new NotFoundException("StudyStreak with id: " + userId + " not found"));
+
+        // Activity from before user_activity_year existed is only there once db/09 has run, so a lower value
+        // from the bitmaps may just be missing history; the stored longest streak is never lowered
+        int fromActivity = userActivityService.computeLongestStreak(userId);
+        int longestStreak = Math.max(Math.max(fromActivity, streak.getCurrentStreakDays()), streak.getLongestStreakDays());
+        log.info("Recalculated longest streak for user {}: {} -> {} (activity history: {})",
+                userId, streak.getLongestStreakDays(), longestStreak, fromActivity);
+        streak.setLongestStreakDays(longestStreak);
+
+        return publishToIndex(studyStreakRepository.save(streak));
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<StudyStreakDto> getTopStreaks(int limit) {
-        return studyStreakRepository.findAll(
-                        PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "currentStreakDays"))
-                ).stream()
+    public List<StudyStreakDto> getTopStreaks(StreakRanking ranking, int limit) {
+        if (limit > topStreaksIndex.getCapacity()) {
+            return loadTopStreaks(ranking, limit);
+        }
+        return topStreaksIndex.top(ranking, limit, size -> loadTopStreaks(ranking, size));
+    }
+
+    private List<StudyStreakDto> loadTopStreaks(StreakRanking ranking, int limit) {
+        List<StudyStreak> streaks = switch (ranking) {
+            case CURRENT -> studyStreakRepository.findByLastStudyDateGreaterThanEqual(
+                    LocalDate.now().minusDays(1),
+                    PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "currentStreakDays").and(Sort.by("userId"))));
+            case LONGEST -> studyStreakRepository.findAllBy(
+                    PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "longestStreakDays").and(Sort.by("userId"))));
+        };
+        return streaks.stream()
                 .map(this::mapToDto)
                 .toList();
     }
 
+    /**
+     * Counts today as a study day. Goes through the same rules as {@link #updateStreak}, so a broken streak
+     * restarts at one day instead of being stamped with today's date and left at zero.
+     */
     @Override
+    @Transactional
     public void updateLastStudyDateToday(String userId) {
-        StudyStreak streak = studyStreakRepository.findByUserId(userId)
-                .orElseThrow(() -> new NotFoundException("StudyStreak with id: " + userId + " not found"));
-
-        streak.setLastStudyDate(LocalDate.now());
-        studyStreakRepository.save(streak);
-
+        updateStreak(userId);
         log.info("Updated last study date for user {}", userId);
     }
 
     /**
-     * Scheduled job to check and reset streaks for users who haven't studied in the last 24 hours
+     * Zeroes streaks of users who haven't studied since before yesterday, run nightly by StudyStreakResetTask.
+     * Reads already treat such streaks as broken, so this only keeps the stored values tidy. Every batch commits in
+     * its own transaction, so the lease check and the batch's writes commit together.
      */
-    @Scheduled(cron = "0 0 0 * * ?") // Run daily at midnight
-    @Transactional
+    @Override
     public void checkAndResetExpiredStreaks() {
-        LocalDate yesterday = LocalDate.now().minusDays(1);
-
-        List<StudyStreak> expiredStreaks = studyStreakRepository.findByLastStudyDateBefore(yesterday);
-
-        for (StudyStreak streak : expiredStreaks) {
-            log.info("Breaking streak for user {} who hasn't studied since {}",
-                    streak.getUserId(), streak.getLastStudyDate());
-
-            streak.setCurrentStreakDays(0);
-            streak.setStreakStartDate(LocalDate.now());
-        }
-
-        if (!expiredStreaks.isEmpty()) {
-            studyStreakRepository.saveAll(expiredStreaks);
-            log.info("Reset {} expired streaks", expiredStreaks.size());
-        }
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = today.minusDays(1);
+        long startTime = System.currentTimeMillis();
+
+        int totalReset = 0;
+        int batches = 0;
+        int updated;
+        do {
+            Integer batch = transactionTemplate.execute(status -> {
+                jobCoordinator.assertLeaseHeld();
+                return studyStreakRepository.resetExpiredStreaks(cutoff, today, LocalDateTime.now(), resetBatchSize);
+            });
+            updated = batch != null ? batch : 0;
+            totalReset += updated;
+            batches++;
+        } while (updated == resetBatchSize);
+
+        topStreaksIndex.invalidate(StreakRanking.CURRENT);
+
+        log.info("Reset {} expired streaks in {} batches ({} ms)",
+                totalReset, batches, System.currentTimeMillis() - startTime);
     }
 
     @Override
@@ -176,13 +210,26 @@ public class StudyStreakServiceImpl implements StudyStreakService {
                 .streakStartDate(LocalDate.now())
                 .build();
 
-        return mapToDto(studyStreakRepository.save(streak));
+        return publishToIndex(studyStreakRepository.save(streak));
+    }
+
+    /**
+     * A streak is broken once a full calendar day has passed without study, whether or not the nightly job has run
+     */
+    private boolean isExpired(StudyStreak streak, LocalDate today) {
+        return streak.getLastStudyDate().isBefore(today.minusDays(1));
+    }
+
+    private StudyStreakDto publishToIndex(StudyStreak streak) {
+        StudyStreakDto dto = mapToDto(streak);
+        TransactionCallbacks.afterCommit(() -> topStreaksIndex.update(dto));
+        return dto;
     }
 
     private StudyStreakDto mapToDto(StudyStreak streak) {
         return StudyStreakDto.builder()
                 .userId(streak.getUserId())
-                .currentStreakDays(streak.getCurrentStreakDays())
+                .currentStreakDays(isExpired(streak, LocalDate.now()) ? 0 : streak.getCurrentStreakDays())
                 .longestStreakDays(streak.getLongestStreakDays())
                 .lastStudyDate(streak.getLastStudyDate())
                 .streakStartDate(streak.getStreakStartDate())
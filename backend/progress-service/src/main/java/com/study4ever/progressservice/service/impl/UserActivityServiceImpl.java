@@ -0,0 +1,154 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.study4ever.progressservice.dto.ActivityHeatmapDto;
+import com.study4ever.progressservice.model.StudySession;
+import com.study4ever.progressservice.model.UserActivityYear;
+import com.study4ever.progressservice.repository.StudySessionRepository;
+import com.study4ever.progressservice.repository.UserActivityYearRepository;
+import com.study4ever.progressservice.service.StudySessionPartitionService;
+import com.study4ever.progressservice.service.UserActivityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserActivityServiceImpl implements UserActivityService {
+
+    private final UserActivityYearRepository userActivityYearRepository;
+    private final StudySessionRepository studySessionRepository;
+    private final StudySessionPartitionService partitionService;
+
+    @Override
+    @Transactional
+    public void recordStudyDay(String userId, LocalDate date, int minutes) {
+        userActivityYearRepository.insertIfAbsent(userId, date.getYear());
+        userActivityYearRepository.addActivity(userId, date.getYear(), date.getDayOfYear() - 1, Math.max(minutes, 0));
+        log.debug("Recorded {} study minutes on {} for user {}", minutes, date, userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Integer> getActiveDays(String userId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Integer> activeDays = new TreeMap<>();
+
+        List<UserActivityYear> years = userActivityYearRepository.findByIdUserIdAndIdActivityYearBetweenOrderByIdActivityYear(
+                userId, startDate.getYear(), endDate.getYear());
+
+        for (UserActivityYear year : years) {
+            LocalDate date = max(startDate, LocalDate.ofYearDay(year.getId().getActivityYear(), 1));
+            LocalDate yearEnd = min(endDate, LocalDate.of(year.getId().getActivityYear(), 12, 31));
+            while (!date.isAfter(yearEnd)) {
+                if (year.isActive(date)) {
+                    activeDays.put(date, year.getMinutes(date));
+                }
+                date = date.plusDays(1);
+            }
+        }
+        return activeDays;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityHeatmapDto getHeatmap(String userId, int year) {
+        LocalDate startDate = LocalDate.ofYearDay(year, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        Map<LocalDate, Integer> activeDays = getActiveDays(userId, startDate, endDate);
+
+        int longestStreak = 0;
+        int runningStreak = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            runningStreak = activeDays.containsKey(date) ? runningStreak + 1 : 0;
+            longestStreak = Math.max(longestStreak, runningStreak);
+        }
+
+        return ActivityHeatmapDto.builder()
+                .userId(userId)
+                .year(year)
+                .activeDays(activeDays.size())
+                .totalMinutes(activeDays.values().stream().mapToLong(Integer::longValue).sum())
+                .longestStreakDays(longestStreak)
+                .minutesByDate(activeDays)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int computeLongestStreak(String userId) {
+        int longestStreak = 0;
+        int runningStreak = 0;
+        Integer previousYear = null;
+
+        for (UserActivityYear year : userActivityYearRepository.findByIdUserIdOrderByIdActivityYear(userId)) {
+            int activityYear = year.getId().getActivityYear();
+            if (previousYear != null && activityYear != previousYear + 1) {
+                runningStreak = 0;
+            }
+
+            LocalDate date = LocalDate.ofYearDay(activityYear, 1);
+            while (date.getYear() == activityYear) {
+                runningStreak = year.isActive(date) ? runningStreak + 1 : 0;
+                longestStreak = Math.max(longestStreak, runningStreak);
+                date = date.plusDays(1);
+            }
+            previousYear = activityYear;
+        }
+        return longestStreak;
+    }
+
+    /**
+     * Recomputes the user's activity from study_session. Days in archived months have no sessions left to rebuild
+     * from, so their stored bits and minutes are kept as they are.
+     */
+    @Override
+    @Transactional
+    public void rebuildFromSessions(String userId) {
+        Set<YearMonth> archivedMonths = partitionService.findArchivedMonths();
+
+        Map<Integer, UserActivityYear> years = new HashMap<>();
+        for (UserActivityYear year : userActivityYearRepository.findByIdUserIdOrderByIdActivityYear(userId)) {
+            int activityYear = year.getId().getActivityYear();
+            for (LocalDate date = LocalDate.ofYearDay(activityYear, 1); date.getYear() == activityYear;
+                 date = date.plusDays(1)) {
+                if (!archivedMonths.contains(YearMonth.from(date))) {
+                    year.clearActivity(date);
+                }
+            }
+            years.put(activityYear, year);
+        }
+
+        List<StudySession> sessions = studySessionRepository.findByUserId(userId);
+        for (StudySession session : sessions) {
+            if (session.getDurationMinutes() == null) {
+                continue;
+            }
+            LocalDate date = session.getStartTime().toLocalDate();
+            years.computeIfAbsent(date.getYear(), year -> UserActivityYear.empty(userId, year))
+                    .addActivity(date, session.getDurationMinutes());
+        }
+
+        List<UserActivityYear> emptyYears = years.values().stream().filter(year -> !year.hasActivity()).toList();
+        userActivityYearRepository.deleteAll(emptyYears);
+        emptyYears.forEach(year -> years.remove(year.getId().getActivityYear()));
+        userActivityYearRepository.saveAll(years.values());
+        log.info("Rebuilt activity for user {} from {} sessions across {} years", userId, sessions.size(), years.size());
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,145 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.study4ever.progressservice.cache.ResumePointerCache;
+import com.study4ever.progressservice.cache.TopStreaksIndex;
+import com.study4ever.progressservice.cache.UserBookmarkCache;
+import com.study4ever.progressservice.model.ErasureStatus;
+import com.study4ever.progressservice.model.StreakRanking;
+import com.study4ever.progressservice.model.UserErasure;
+import com.study4ever.progressservice.repository.UserErasureRepository;
+import com.study4ever.progressservice.service.UserErasureService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserErasureServiceImpl implements UserErasureService {
+
+    /**
+     * Tables holding per-user rows, children first and user_progress last so a half-erased user stays visible.
+     */
+    private static final List<String> USER_TABLES = List.of(
+            "lesson_progress",
+            "module_progress",
+            "course_progress",
+            "lesson_bookmarks",
+            "study_session",
+            "study_session_stats",
+            "progress_event",
+            "leaderboard_rankings",
+            "user_activity_year",
+            "study_streak",
+            "user_resume_pointer",
+            "user_progress"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserErasureRepository userErasureRepository;
+    private final TopStreaksIndex topStreaksIndex;
+    private final UserBookmarkCache bookmarkCache;
+    private final ResumePointerCache resumePointerCache;
+
+    @Value("${study.erasure.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${study.erasure.pause-millis:50}")
+    private long pauseMillis;
+
+    /**
+     * Runs without a surrounding transaction: every batch DELETE commits on its own so locks stay short
+     * and a crash resumes with whatever is left.
+     */
+    @Override
+    public UserErasure eraseUser(String userId) {
+        long startTime = System.currentTimeMillis();
+        UserErasure erasure = userErasureRepository.findById(userId)
+                .orElseGet(() -> UserErasure.builder()
+                        .userId(userId)
+                        .requestedAt(LocalDateTime.now())
+                        .build());
+        erasure.setStatus(ErasureStatus.IN_PROGRESS);
+        erasure.setCompletedAt(null);
+        erasure.setLastError(null);
+        erasure = userErasureRepository.save(erasure);
+
+        try {
+            for (String table : USER_TABLES) {
+                erasure.setCurrentTable(table);
+                erasure = userErasureRepository.save(erasure);
+
+                long deleted = deleteInBatches(table, userId);
+                erasure.setDeletedRows(erasure.getDeletedRows() + deleted);
+                log.debug("Erased {} rows from {} for user {}", deleted, table, userId);
+            }
+        } catch (RuntimeException e) {
+            erasure.setStatus(ErasureStatus.FAILED);
+            erasure.setLastError(e.getMessage());
+            userErasureRepository.save(erasure);
+            throw e;
+        }
+
+        erasure.setStatus(ErasureStatus.COMPLETED);
+        erasure.setCurrentTable(null);
+        erasure.setCompletedAt(LocalDateTime.now());
+        erasure = userErasureRepository.save(erasure);
+
+        topStreaksIndex.invalidate(StreakRanking.CURRENT);
+        topStreaksIndex.invalidate(StreakRanking.LONGEST);
+        bookmarkCache.invalidate(userId);
+        resumePointerCache.invalidate(userId);
+
+        log.info("Erased {} progress rows for user {} in {} ms",
+                erasure.getDeletedRows(), userId, System.currentTimeMillis() - startTime);
+        return erasure;
+    }
+
+    @Override
+    public int retryFailedErasures() {
+        List<UserErasure> failed = userErasureRepository.findByStatus(ErasureStatus.FAILED);
+        int completed = 0;
+        for (UserErasure erasure : failed) {
+            try {
+                eraseUser(erasure.getUserId());
+                completed++;
+            } catch (RuntimeException e) {
+                log.error("Retry of progress data erasure for user {} failed again", erasure.getUserId(), e);
+            }
+        }
+        return completed;
+    }
+
+    private long deleteInBatches(String table, String userId) {
+        // ctid is only unique within one physical table, so partitioned tables also need the tableoid
+        String sql = "DELETE FROM " + table
+                + " WHERE (tableoid, ctid) IN (SELECT tableoid, ctid FROM " + table + " WHERE user_id = ? LIMIT ?)";
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, userId, batchSize);
+            total += deleted;
+            if (deleted == batchSize) {
+                pause();
+            }
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while erasing user data", e);
+        }
+    }
+}
@@ -27,7 +27,7 @@ public class UserProgressServiceImpl implements UserProgressService {
     @Transactional(readOnly = true)
     public UserProgressDto getUserProgress(String userId) {
         UserProgress userProgress = userProgressRepository.findById(userId)
-                .orElse(initUserProgress(userId));
+                .orElseGet(() -> initUserProgress(userId));
         StudyStreak streak = studyStreakRepository.findByUserId(userId)
                 .orElseThrow(() -> new NotFoundException("StudyStreak with id: " + userId + " not found"));
 
@@ -38,7 +38,7 @@ public class UserProgressServiceImpl implements UserProgressService {
     @Transactional
     public void updateLastLoginDate(String userId) {
         UserProgress userProgress = userProgressRepository.findByUserId(userId)
-                .orElse(initUserProgress(userId));
+                .orElseGet(() -> initUserProgress(userId));
 
         userProgress.setLastActiveTimestamp(LocalDateTime.now());
         userProgressRepository.save(userProgress);
@@ -49,7 +49,7 @@ public class UserProgressServiceImpl implements UserProgressService {
     @Override
     public void logStudySession(String userId, int studyTimeMinutes) {
         UserProgress userProgress = userProgressRepository.findById(userId)
-                .orElse(initUserProgress(userId));
+                .orElseGet(() -> initUserProgress(userId));
 
         userProgress.setTotalStudyTimeMinutes(userProgress.getTotalStudyTimeMinutes() + studyTimeMinutes);
         userProgress.setLastActiveTimestamp(LocalDateTime.now());
@@ -61,7 +61,7 @@ public class UserProgressServiceImpl implements UserProgressService {
     @Override
     public void increaseCompletedLessonsCount(String userId) {
         UserProgress userProgress = userProgressRepository.findById(userId)
-                .orElse(initUserProgress(userId));
+                .orElseGet(() -> initUserProgress(userId));
 
         userProgress.setTotalCompletedLessons(userProgress.getTotalCompletedLessons() + 1);
         userProgress.setLastActiveTimestamp(LocalDateTime.now());
@@ -0,0 +1,218 @@
+package com.study4ever.progressservice.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study4ever.progressservice.cache.ClosedPeriodEtagCache;
+import com.study4ever.progressservice.cache.EncodedResponseCache;
+import com.study4ever.progressservice.dto.ConditionalRequestStatsDto;
+import com.study4ever.progressservice.model.PeriodType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Conditional GET support for stats and leaderboards. ETags are strong hashes of the JSON body.
+ * Responses for settled periods are marked immutable and their ETags are remembered, so a revalidation
+ * is answered with 304 before any query runs. Open periods are hashed on every request and only save bytes.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+
+    /**
+     * Prefix shared by the cached stats responses of all users.
+     */
+    public static final String USER_STATS_PREFIX = "stats:";
+
+    private static final CacheControl SETTLED_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofDays(1)).cachePrivate().immutable();
+    private static final CacheControl OPEN_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final ObjectMapper objectMapper;
+    private final ClosedPeriodEtagCache etagCache;
+    private final EncodedResponseCache encodedCache;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong loadsSkipped = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /**
+     * A period is settled once the day after it has ended too, so late session ends and the
+     * nightly aggregation have landed.
+     */
+    public static boolean isSettled(LocalDate periodEnd) {
+        return periodEnd.isBefore(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Key prefix shared by every cached response of one leaderboard period.
+     */
+    public static String leaderboardKey(PeriodType periodType, LocalDate startDate) {
+        return "leaderboard:" + periodType + ":" + startDate + ":";
+    }
+
+    /**
+     * Key prefix shared by every cached stats response of one user.
+     */
+    public static String userStatsKey(String userId) {
+        return USER_STATS_PREFIX + userId + ":";
+    }
+
+    /**
+     * Returns the body with an ETag, or null after writing 304 when the client copy is current.
+     * {@code key} must identify everything the body depends on; it is only used when the period is settled.
+     * Other replicas rewrite the data without invalidating this node, so it has to carry a version read from
+     * the database.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, String key, LocalDate periodEnd, Supplier<T> loader) {
+        requests.incrementAndGet();
+        boolean settled = isSettled(periodEnd);
+
+        if (settled) {
+            ClosedPeriodEtagCache.Entry cached = etagCache.getIfPresent(key);
+            if (cached != null && request.checkNotModified(cached.etag())) {
+                notModified.incrementAndGet();
+                loadsSkipped.incrementAndGet();
+                bytesSaved.addAndGet(cached.contentLength());
+                return null;
+            }
+        }
+
+        long loadGeneration = etagCache.currentGeneration();
+        T body = loader.get();
+        byte[] json = serialize(body);
+        String etag = etag(json);
+
+        if (settled) {
+            etagCache.putIfUnchanged(key, new ClosedPeriodEtagCache.Entry(etag, json.length), loadGeneration);
+        }
+        if (request.checkNotModified(etag)) {
+            notModified.incrementAndGet();
+            bytesSaved.addAndGet(json.length);
+            return null;
+        }
+
+        bytesSent.addAndGet(json.length);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .cacheControl(settled ? SETTLED_CACHE_CONTROL : OPEN_CACHE_CONTROL)
+                .body(body);
+    }
+
+    /**
+     * Like {@link #respond}, but keeps the encoded body itself and writes it out as bytes, gzipped when the
+     * client accepts it. A cache hit costs no query, no mapping and no serialization. Bodies are only cached
+     * when {@code cacheable}, so callers can keep unusual requests (huge limits) out of the cache. Other replicas
+     * rewrite the data without invalidating this node, so {@code key} has to carry a version read from the
+     * database.
+     */
+    public ResponseEntity<byte[]> respondEncoded(WebRequest request, String key, LocalDate periodEnd,
+                                                 boolean cacheable, Supplier<?> loader) {
+        requests.incrementAndGet();
+        boolean settled = isSettled(periodEnd);
+
+        EncodedResponseCache.Entry encoded = cacheable ? encodedCache.getIfPresent(key) : null;
+        if (encoded != null) {
+            loadsSkipped.incrementAndGet();
+        } else {
+            long loadGeneration = encodedCache.currentGeneration();
+            byte[] json = serialize(loader.get());
+            encoded = new EncodedResponseCache.Entry(json, gzip(json), etag(json));
+            if (cacheable) {
+                encodedCache.putIfUnchanged(key, encoded, loadGeneration);
+            }
+        }
+
+        // Each representation gets its own strong ETag, the gzip body differs byte for byte from the JSON one
+        boolean gzip = AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? gzipEtag(encoded.etag()) : encoded.etag();
+        if (request.checkNotModified(etag)) {
+            notModified.incrementAndGet();
+            bytesSaved.addAndGet(encoded.json().length);
+            return null;
+        }
+
+        byte[] body = gzip ? encoded.gzip() : encoded.json();
+        bytesSent.addAndGet(body.length);
+        bytesSaved.addAndGet(encoded.json().length - body.length);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING, HttpHeaders.AUTHORIZATION)
+                .cacheControl(settled ? SETTLED_CACHE_CONTROL : OPEN_CACHE_CONTROL);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Forgets remembered ETags and encoded bodies whose key starts with the prefix, after data for that period was rewritten.
+     */
+    public void invalidate(String keyPrefix) {
+        etagCache.invalidateIf(key -> key.startsWith(keyPrefix));
+        encodedCache.invalidateIf(key -> key.startsWith(keyPrefix));
+    }
+
+    public ConditionalRequestStatsDto getStatistics() {
+        return ConditionalRequestStatsDto.builder()
+                .requests(requests.get())
+                .notModified(notModified.get())
+                .loadsSkipped(loadsSkipped.get())
+                .bytesSent(bytesSent.get())
+                .bytesSaved(bytesSaved.get())
+                .build();
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response for ETag", e);
+        }
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip response", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.study4ever.progressservice.util;
 import com.study4ever.progressservice.dto.CourseProgressDto;
 import com.study4ever.progressservice.dto.LessonProgressDto;
 import com.study4ever.progressservice.dto.ModuleProgressDto;
+import com.study4ever.progressservice.dto.SessionArchiveDto;
 import com.study4ever.progressservice.dto.StudySessionDto;
 import com.study4ever.progressservice.dto.UserProgressDto;
 import com.study4ever.progressservice.model.CourseProgress;
@@ -10,9 +11,12 @@ import com.study4ever.progressservice.model.LessonProgress;
 import com.study4ever.progressservice.model.ModuleProgress;
 import com.study4ever.progressservice.model.ProgressStatus;
 import com.study4ever.progressservice.model.StudySession;
+import com.study4ever.progressservice.model.StudySessionArchive;
 import com.study4ever.progressservice.model.StudyStreak;
 import com.study4ever.progressservice.model.UserProgress;
 
+import java.time.YearMonth;
+
 import static com.study4ever.progressservice.model.ProgressStatus.COMPLETED;
 import static com.study4ever.progressservice.model.ProgressStatus.IN_PROGRESS;
 import static com.study4ever.progressservice.model.ProgressStatus.NOT_STARTED;
@@ -38,6 +42,13 @@ public class ProgressMapper {
         };
     }
 
+    /**
+     * Maps a numeric course, module or lesson id to the string form exposed by the API
+     */
+    public static String mapId(Long id) {
+        return id != null ? String.valueOf(id) : null;
+    }
+
     /**
      * Maps CourseProgress entity to CourseProgressDto
      */
@@ -49,11 +60,11 @@ public class ProgressMapper {
         return CourseProgressDto.builder()
                 .progressId(entity.getId())
                 .userId(entity.getUserId())
-                .courseId(entity.getCourseId())
+                .courseId(mapId(entity.getCourseId()))
                 .status(mapStatus(entity.getStatus()))
                 .completionPercentage(entity.getCompletionPercentage())
-                .currentModuleId(entity.getCurrentModuleId())
-                .currentLessonId(entity.getCurrentLessonId())
+                .currentModuleId(mapId(entity.getCurrentModuleId()))
+                .currentLessonId(mapId(entity.getCurrentLessonId()))
                 .enrollmentDate(entity.getEnrollmentDate())
                 .lastAccessDate(entity.getLastAccessDate())
                 .completedLessonsCount(entity.getCompletedLessonsCount())
@@ -73,8 +84,8 @@ public class ProgressMapper {
         return ModuleProgressDto.builder()
                 .progressId(entity.getId())
                 .userId(entity.getUserId())
-                .courseId(entity.getCourseId())
-                .moduleId(entity.getModuleId())
+                .courseId(mapId(entity.getCourseId()))
+                .moduleId(mapId(entity.getModuleId()))
                 .status(mapStatus(entity.getStatus()))
                 .completionPercentage(entity.getCompletionPercentage())
                 .firstAccessDate(entity.getFirstAccessDate())
@@ -95,9 +106,9 @@ public class ProgressMapper {
         return LessonProgressDto.builder()
                 .progressId(entity.getId())
                 .userId(entity.getUserId())
-                .courseId(entity.getCourseId())
-                .moduleId(entity.getModuleId())
-                .lessonId(entity.getLessonId())
+                .courseId(mapId(entity.getCourseId()))
+                .moduleId(mapId(entity.getModuleId()))
+                .lessonId(mapId(entity.getLessonId()))
                 .status(mapStatus(entity.getStatus()))
                 .firstAccessDate(entity.getFirstAccessDate())
                 .lastAccessDate(entity.getLastAccessDate())
@@ -116,9 +127,9 @@ public class ProgressMapper {
         return StudySessionDto.builder()
                 .sessionId(session.getId())
                 .userId(session.getUserId())
-                .courseId(session.getCourseId())
-                .moduleId(session.getModuleId())
-                .lessonId(session.getLessonId())
+                .courseId(mapId(session.getCourseId()))
+                .moduleId(mapId(session.getModuleId()))
+                .lessonId(mapId(session.getLessonId()))
                 .startTime(session.getStartTime())
                 .endTime(session.getEndTime())
                 .durationMinutes(session.getDurationMinutes())
@@ -147,4 +158,17 @@ public class ProgressMapper {
                 .build();
     }
 
+    public static SessionArchiveDto mapToArchiveDto(StudySessionArchive archive) {
+        return SessionArchiveDto.builder()
+                .month(YearMonth.from(archive.getMonth()))
+                .partitionName(archive.getPartitionName())
+                .filePath(archive.getFilePath())
+                .rowCount(archive.getRowCount())
+                .archivedBy(archive.getArchivedBy())
+                .status(archive.getStatus())
+                .archivedAt(archive.getArchivedAt())
+                .restoredAt(archive.getRestoredAt())
+                .build();
+    }
+
 }
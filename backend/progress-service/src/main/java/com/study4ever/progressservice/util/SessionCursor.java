@@ -0,0 +1,43 @@
+package com.study4ever.progressservice.util;
+
+import com.study4ever.progressservice.exception.BadRequestException;
+import com.study4ever.progressservice.model.StudySession;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a user's session history ordered by {@code (start_time DESC, id DESC)}. Clients only ever see the
+ * encoded token, so the key layout can change without breaking them.
+ */
+public record SessionCursor(LocalDateTime startTime, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static SessionCursor after(StudySession session) {
+        return new SessionCursor(session.getStartTime(), session.getId());
+    }
+
+    public String encode() {
+        String raw = startTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SessionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid session cursor");
+            }
+            return new SessionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid session cursor");
+        }
+    }
+}
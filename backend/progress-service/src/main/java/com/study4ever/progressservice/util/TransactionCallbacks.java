@@ -0,0 +1,45 @@
+package com.study4ever.progressservice.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (cache updates, invalidations) until the surrounding transaction commits,
+ * so a rollback never leaves caches ahead of the database. Checks that must hold at commit time can run just
+ * before it instead.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Runs the check as the last step before commit, so an exception still rolls the transaction back.
+     * Without a transaction it runs immediately.
+     */
+    public static void beforeCommit(Runnable check) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    check.run();
+                }
+            });
+        } else {
+            check.run();
+        }
+    }
+}
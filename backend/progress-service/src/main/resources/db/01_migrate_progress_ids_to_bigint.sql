@@ -0,0 +1,59 @@
+-- Convert course/module/lesson id columns from VARCHAR to BIGINT.
+-- Hibernate ddl-auto=update does not change existing column types, so run this once
+-- against an existing database before starting the new progress-service version.
+-- PostgreSQL rebuilds the unique constraints and indexes on the altered columns itself.
+
+BEGIN;
+
+-- Optional references: anything that is not a plain number is dropped to NULL
+UPDATE study_session SET course_id = NULL WHERE course_id IS NOT NULL AND course_id !~ '^[0-9]+$';
+UPDATE study_session SET module_id = NULL WHERE module_id IS NOT NULL AND module_id !~ '^[0-9]+$';
+UPDATE study_session SET lesson_id = NULL WHERE lesson_id IS NOT NULL AND lesson_id !~ '^[0-9]+$';
+UPDATE course_progress SET current_module_id = NULL
+    WHERE current_module_id IS NOT NULL AND current_module_id !~ '^[0-9]+$';
+UPDATE course_progress SET current_lesson_id = NULL
+    WHERE current_lesson_id IS NOT NULL AND current_lesson_id !~ '^[0-9]+$';
+
+-- Required references: abort instead of silently losing progress rows
+DO $$
+DECLARE
+    bad_rows BIGINT;
+BEGIN
+    SELECT (SELECT COUNT(*) FROM course_progress WHERE course_id !~ '^[0-9]+$')
+         + (SELECT COUNT(*) FROM module_progress WHERE course_id !~ '^[0-9]+$' OR module_id !~ '^[0-9]+$')
+         + (SELECT COUNT(*) FROM lesson_progress
+            WHERE course_id !~ '^[0-9]+$' OR module_id !~ '^[0-9]+$' OR lesson_id !~ '^[0-9]+$')
+         + (SELECT COUNT(*) FROM lesson_bookmarks
+            WHERE course_id !~ '^[0-9]+$' OR module_id !~ '^[0-9]+$' OR lesson_id !~ '^[0-9]+$')
+    INTO bad_rows;
+
+    IF bad_rows > 0 THEN
+        RAISE EXCEPTION '% progress rows reference non-numeric course/module/lesson ids, fix them before migrating', bad_rows;
+    END IF;
+END $$;
+
+ALTER TABLE course_progress
+    ALTER COLUMN course_id TYPE BIGINT USING course_id::BIGINT,
+    ALTER COLUMN current_module_id TYPE BIGINT USING current_module_id::BIGINT,
+    ALTER COLUMN current_lesson_id TYPE BIGINT USING current_lesson_id::BIGINT;
+
+ALTER TABLE module_progress
+    ALTER COLUMN course_id TYPE BIGINT USING course_id::BIGINT,
+    ALTER COLUMN module_id TYPE BIGINT USING module_id::BIGINT;
+
+ALTER TABLE lesson_progress
+    ALTER COLUMN course_id TYPE BIGINT USING course_id::BIGINT,
+    ALTER COLUMN module_id TYPE BIGINT USING module_id::BIGINT,
+    ALTER COLUMN lesson_id TYPE BIGINT USING lesson_id::BIGINT;
+
+ALTER TABLE lesson_bookmarks
+    ALTER COLUMN course_id TYPE BIGINT USING course_id::BIGINT,
+    ALTER COLUMN module_id TYPE BIGINT USING module_id::BIGINT,
+    ALTER COLUMN lesson_id TYPE BIGINT USING lesson_id::BIGINT;
+
+ALTER TABLE study_session
+    ALTER COLUMN course_id TYPE BIGINT USING course_id::BIGINT,
+    ALTER COLUMN module_id TYPE BIGINT USING module_id::BIGINT,
+    ALTER COLUMN lesson_id TYPE BIGINT USING lesson_id::BIGINT;
+
+COMMIT;
@@ -0,0 +1,25 @@
+-- One-off backfill of course_activity_daily from existing course_progress rows.
+-- Safe to re-run: each (day, course) row is overwritten with the recomputed totals.
+-- Run after the service has started once so Hibernate has created the table.
+
+BEGIN;
+
+INSERT INTO course_activity_daily (activity_date, course_id, enrollments, completions)
+SELECT activity_date, course_id, SUM(enrollments), SUM(completions)
+FROM (
+    SELECT CAST(created_at AS DATE) AS activity_date, course_id, COUNT(*) AS enrollments, 0 AS completions
+    FROM course_progress
+    WHERE created_at IS NOT NULL
+    GROUP BY 1, 2
+    UNION ALL
+    SELECT CAST(completion_date AS DATE), course_id, 0, COUNT(*)
+    FROM course_progress
+    WHERE completed = TRUE AND completion_date IS NOT NULL
+    GROUP BY 1, 2
+) activity
+GROUP BY activity_date, course_id
+ON CONFLICT (activity_date, course_id)
+DO UPDATE SET enrollments = EXCLUDED.enrollments,
+              completions = EXCLUDED.completions;
+
+COMMIT;
@@ -0,0 +1,5 @@
+-- Partial index for the nightly streak reset: only streaks that can still expire are indexed,
+-- so the batched UPDATE finds its candidates without scanning users already at zero.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_study_streak_active_last_study
+    ON study_streak (last_study_date)
+    WHERE current_streak_days > 0;
@@ -0,0 +1,14 @@
+-- Seed user_resume_pointer from the most recently accessed course of each user.
+-- Lesson titles are left empty; they are filled in the next time the user opens continue-learning.
+-- Safe to re-run: existing pointers are kept.
+
+INSERT INTO user_resume_pointer
+    (user_id, course_id, module_id, lesson_id, lesson_title, completion_percentage, created_at, updated_at)
+SELECT DISTINCT ON (cp.user_id)
+       cp.user_id, cp.course_id, cp.current_module_id, cp.current_lesson_id, NULL,
+       cp.completion_percentage, now(), cp.last_access_date
+FROM course_progress cp
+WHERE cp.current_module_id IS NOT NULL
+  AND cp.current_lesson_id IS NOT NULL
+ORDER BY cp.user_id, cp.last_access_date DESC
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,10 @@
+-- Composite index behind the keyset-paginated session history (user_id, start_time DESC, id DESC).
+-- Hibernate ddl-auto=update would create it inside a blocking CREATE INDEX, so on a populated database
+-- run this once first. It also replaces idx_study_session_user: its leading column still serves the
+-- per-user lookups that index was added for.
+-- CREATE/DROP INDEX CONCURRENTLY cannot run inside a transaction block; execute the statements one by one.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_study_session_user_start
+    ON study_session (user_id, start_time DESC, id DESC);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_study_session_user;
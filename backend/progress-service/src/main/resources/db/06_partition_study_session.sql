@@ -0,0 +1,48 @@
+-- Turn study_session into a table range-partitioned by month on start_time.
+-- Run once while progress-service is stopped; afterwards the service creates upcoming partitions itself
+-- (study.partition.months-ahead) and archives months older than study.partition.retention-months.
+-- Partitions are named study_session_pYYYY_MM; rows outside every monthly range land in study_session_default.
+-- A partitioned primary key has to contain the partition key, so it becomes (id, start_time).
+
+BEGIN;
+
+ALTER TABLE study_session RENAME TO study_session_unpartitioned;
+ALTER TABLE study_session_unpartitioned RENAME CONSTRAINT study_session_pkey TO study_session_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_study_session_user_start RENAME TO idx_study_session_unpartitioned_user_start;
+ALTER INDEX IF EXISTS idx_study_session_user RENAME TO idx_study_session_unpartitioned_user;
+
+CREATE TABLE study_session (LIKE study_session_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (start_time);
+
+ALTER TABLE study_session ADD CONSTRAINT study_session_pkey PRIMARY KEY (id, start_time);
+CREATE INDEX idx_study_session_user_start ON study_session (user_id, start_time DESC, id DESC);
+-- The expired-session sweep filters on active/last_heartbeat only; keep that lookup tiny in every partition
+CREATE INDEX idx_study_session_active_heartbeat ON study_session (last_heartbeat) WHERE active;
+
+-- One partition per month from the oldest session up to three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(start_time)), date_trunc('month', now()))::DATE
+    INTO month_start
+    FROM study_session_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF study_session FOR VALUES FROM (%L) TO (%L)',
+                       'study_session_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+CREATE TABLE study_session_default PARTITION OF study_session DEFAULT;
+
+INSERT INTO study_session SELECT * FROM study_session_unpartitioned;
+
+COMMIT;
+
+-- Once the service runs fine on the partitioned table:
+-- DROP TABLE study_session_unpartitioned;
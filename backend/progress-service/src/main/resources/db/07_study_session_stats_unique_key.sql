@@ -0,0 +1,22 @@
+-- Unique (user_id, type, stats_date) key that the daily-to-monthly compaction upserts against, plus the
+-- (type, stats_date) index it scans old DAILY rows with. Run once before starting the new service version;
+-- the unique index replaces idx_study_session_stats_user, which had the same columns.
+
+BEGIN;
+
+-- Keep the most recently updated row of any duplicate key
+DELETE FROM study_session_stats s
+USING study_session_stats newer
+WHERE s.user_id = newer.user_id
+  AND s.type = newer.type
+  AND s.stats_date = newer.stats_date
+  AND (s.updated_at, s.id) < (newer.updated_at, newer.id);
+
+ALTER TABLE study_session_stats
+    ADD CONSTRAINT uk_study_session_stats_user_type_date UNIQUE (user_id, type, stats_date);
+
+DROP INDEX IF EXISTS idx_study_session_stats_user;
+
+CREATE INDEX IF NOT EXISTS idx_study_session_stats_type_date ON study_session_stats (type, stats_date);
+
+COMMIT;
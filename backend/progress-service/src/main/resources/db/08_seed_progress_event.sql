@@ -0,0 +1,40 @@
+-- Seeds progress_event from the current state so projections can be rebuilt for users who were active
+-- before the event log existed. Run once after the service has created the table and before rebuilding.
+-- The seeded log describes today's rows, not the lost history behind the lifetime counters in user_progress.
+-- Ids are version 7 UUIDs stamped with the event time, like the ones the service generates.
+
+BEGIN;
+
+CREATE FUNCTION pg_temp.uuid_v7_at(ts TIMESTAMP) RETURNS UUID AS $$
+    SELECT encode(
+               set_bit(set_bit(
+                   overlay(uuid_send(gen_random_uuid())
+                           PLACING substring(int8send(floor(extract(EPOCH FROM ts) * 1000)::BIGINT) FROM 3)
+                           FROM 1 FOR 6),
+                   52, 1), 53, 1),
+               'hex')::UUID
+$$ LANGUAGE sql VOLATILE;
+
+INSERT INTO progress_event (id, user_id, type, course_id, module_id, lesson_id, duration_minutes, occurred_at)
+SELECT pg_temp.uuid_v7_at(occurred_at), user_id, type, course_id, module_id, lesson_id, duration_minutes, occurred_at
+FROM (
+    SELECT user_id, 'LESSON_COMPLETED' AS type, course_id, module_id, lesson_id,
+           CAST(NULL AS INTEGER) AS duration_minutes, completion_date AS occurred_at
+    FROM lesson_progress
+    WHERE status = 'COMPLETED' AND completion_date IS NOT NULL
+    UNION ALL
+    SELECT user_id, 'MODULE_COMPLETED', course_id, module_id, NULL, NULL, completion_date
+    FROM module_progress
+    WHERE status = 'COMPLETED' AND completion_date IS NOT NULL
+    UNION ALL
+    SELECT user_id, 'COURSE_COMPLETED', course_id, NULL, NULL, NULL, completion_date
+    FROM course_progress
+    WHERE completed = TRUE AND completion_date IS NOT NULL
+    UNION ALL
+    SELECT user_id, 'SESSION_ENDED', course_id, NULL, NULL, duration_minutes, end_time
+    FROM study_session
+    WHERE active = FALSE AND end_time IS NOT NULL
+) seeded
+WHERE NOT EXISTS (SELECT 1 FROM progress_event);
+
+COMMIT;
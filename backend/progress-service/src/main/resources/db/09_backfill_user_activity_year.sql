@@ -0,0 +1,53 @@
+-- One-off backfill of user_activity_year from study_session, for activity recorded before the table existed.
+-- Rows are built the way UserActivityServiceImpl.rebuildFromSessions builds them: bit n of active_days is
+-- day-of-year n (set_bit order) and daily_minutes holds one big-endian unsigned short per day.
+-- Safe to re-run: each (user, year) row is overwritten with totals recomputed from sessions.
+-- Run after the service has started once so Hibernate has created the table, and before any study_session
+-- partition is archived, since archived sessions are no longer there to count.
+
+BEGIN;
+
+WITH daily AS (
+    SELECT user_id,
+           CAST(EXTRACT(YEAR FROM start_time) AS INTEGER) AS activity_year,
+           CAST(EXTRACT(DOY FROM start_time) AS INTEGER) - 1 AS day_index,
+           LEAST(SUM(duration_minutes), 32767) AS minutes
+    FROM study_session
+    WHERE duration_minutes IS NOT NULL
+    GROUP BY 1, 2, 3
+),
+years AS (
+    SELECT DISTINCT user_id, activity_year FROM daily
+),
+active_bytes AS (
+    SELECT user_id, activity_year, day_index / 8 AS byte_index, SUM(1 << (day_index % 8)) AS byte_value
+    FROM daily
+    GROUP BY 1, 2, 3
+),
+active AS (
+    SELECT y.user_id, y.activity_year,
+           decode(string_agg(lpad(to_hex(COALESCE(b.byte_value, 0)), 2, '0'), '' ORDER BY i), 'hex') AS active_days
+    FROM years y
+    CROSS JOIN generate_series(0, 45) AS i
+    LEFT JOIN active_bytes b
+           ON b.user_id = y.user_id AND b.activity_year = y.activity_year AND b.byte_index = i
+    GROUP BY y.user_id, y.activity_year
+),
+minutes AS (
+    SELECT y.user_id, y.activity_year,
+           decode(string_agg(lpad(to_hex(COALESCE(d.minutes, 0)), 4, '0'), '' ORDER BY i), 'hex') AS daily_minutes
+    FROM years y
+    CROSS JOIN generate_series(0, 365) AS i
+    LEFT JOIN daily d
+           ON d.user_id = y.user_id AND d.activity_year = y.activity_year AND d.day_index = i
+    GROUP BY y.user_id, y.activity_year
+)
+INSERT INTO user_activity_year (user_id, activity_year, active_days, daily_minutes)
+SELECT a.user_id, a.activity_year, a.active_days, m.daily_minutes
+FROM active a
+JOIN minutes m ON m.user_id = a.user_id AND m.activity_year = a.activity_year
+ON CONFLICT (user_id, activity_year)
+DO UPDATE SET active_days = EXCLUDED.active_days,
+              daily_minutes = EXCLUDED.daily_minutes;
+
+COMMIT;
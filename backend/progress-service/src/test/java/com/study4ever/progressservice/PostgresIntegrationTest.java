@@ -0,0 +1,44 @@
+package com.study4ever.progressservice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for tests of code written against PostgreSQL itself (ON CONFLICT, FOR SHARE, make_interval), which an
+ * in-memory database cannot stand in for. No application context is started: tests build the class under test
+ * from the data source, and every test starts from the empty tables of progress-test-schema.sql.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    protected static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("progress_test");
+
+    protected DriverManagerDataSource dataSource;
+    protected JdbcTemplate jdbcTemplate;
+    protected DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUpDatabase() {
+        dataSource = newDataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("progress-test-schema.sql")).execute(dataSource);
+    }
+
+    /**
+     * A data source the transaction manager knows nothing about, for writes that play another replica.
+     */
+    protected static DriverManagerDataSource newDataSource() {
+        return new DriverManagerDataSource(
+                postgresContainer.getJdbcUrl(), postgresContainer.getUsername(), postgresContainer.getPassword());
+    }
+}
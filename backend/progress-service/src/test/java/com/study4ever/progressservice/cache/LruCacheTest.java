@@ -0,0 +1,136 @@
+package com.study4ever.progressservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LruCacheTest {
+
+    @Test
+    void get_ShouldLoadOnceAndServeCachedValue() {
+        LruCache<String, String> cache = new LruCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("user-1", key -> "value-" + loads.incrementAndGet());
+        String value = cache.get("user-1", key -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-1", value);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedEntry() {
+        // Given
+        LruCache<String, String> cache = new LruCache<>(2);
+        cache.get("a", key -> "A");
+        cache.get("b", key -> "B");
+        cache.getIfPresent("a");
+
+        // When
+        cache.get("c", key -> "C");
+
+        // Then
+        assertEquals("A", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("C", cache.getIfPresent("c"));
+    }
+
+    @Test
+    void get_ShouldNotCacheNullValues() {
+        LruCache<String, String> cache = new LruCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("missing", key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        cache.get("missing", key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldReturnButNotCacheLoadThatRacedWithInvalidation() {
+        // Given: a write invalidates the key while the value is being loaded
+        LruCache<String, String> cache = new LruCache<>(10);
+
+        // When
+        String loaded = cache.get("user-1", key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        // Then
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent("user-1"));
+    }
+
+    @Test
+    void invalidate_ShouldAdvanceGenerationForEveryKey() {
+        // Given: an invalidation of any key bumps the generation, which is cheaper than tracking loads per key
+        LruCache<String, String> cache = new LruCache<>(10);
+        long loadGeneration = cache.currentGeneration();
+
+        // When
+        cache.invalidate("other-user");
+        cache.putIfUnchanged("user-1", "value", loadGeneration);
+
+        // Then
+        assertEquals(loadGeneration + 1, cache.currentGeneration());
+        assertNull(cache.getIfPresent("user-1"));
+    }
+
+    @Test
+    void putIfUnchanged_ShouldStoreWhenNothingWasInvalidated() {
+        LruCache<String, String> cache = new LruCache<>(10);
+
+        cache.putIfUnchanged("user-1", "value", cache.currentGeneration());
+
+        assertEquals("value", cache.getIfPresent("user-1"));
+    }
+
+    @Test
+    void invalidateIf_ShouldDropMatchingKeysOnly() {
+        LruCache<String, String> cache = new LruCache<>(10);
+        cache.get("user-1:daily", key -> "daily");
+        cache.get("user-1:weekly", key -> "weekly");
+        cache.get("user-2:daily", key -> "daily");
+
+        cache.invalidateIf(key -> key.startsWith("user-1:"));
+
+        assertNull(cache.getIfPresent("user-1:daily"));
+        assertNull(cache.getIfPresent("user-1:weekly"));
+        assertEquals("daily", cache.getIfPresent("user-2:daily"));
+    }
+
+    @Test
+    void get_ShouldReloadEntryOlderThanTimeToLive() {
+        LruCache<String, String> cache = new LruCache<>(10, Duration.ofNanos(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("user-1", key -> "value-" + loads.incrementAndGet());
+        String value = cache.get("user-1", key -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-2", value);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldKeepEntryWithinTimeToLive() {
+        LruCache<String, String> cache = new LruCache<>(10, Duration.ofHours(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("user-1", key -> "value-" + loads.incrementAndGet());
+        String value = cache.get("user-1", key -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-1", value);
+        assertEquals(1, loads.get());
+    }
+}
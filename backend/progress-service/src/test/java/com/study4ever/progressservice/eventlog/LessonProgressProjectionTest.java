@@ -0,0 +1,98 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import com.study4ever.progressservice.model.ProgressEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LessonProgressProjectionTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 2, 1, 9, 0);
+
+    private final LessonProgressProjection projection = new LessonProgressProjection(null);
+
+    @Test
+    void fold_ShouldKeepFirstAccessAndFirstCompletion() {
+        // Given
+        List<ProgressEvent> events = List.of(
+                event(ProgressEventType.LESSON_ACCESSED, 1, 10, 100, 0),
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 100, 5),
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 100, 7),
+                event(ProgressEventType.LESSON_ACCESSED, 1, 10, 101, 8),
+                event(ProgressEventType.LESSON_ACCESSED, 1, 10, 100, 9));
+
+        // When
+        List<LessonProgressProjection.State> states = projection.fold("user-1", events);
+
+        // Then
+        assertEquals(2, states.size());
+        LessonProgressProjection.State completed = states.get(0);
+        assertEquals(100, completed.lessonId());
+        assertEquals(START, completed.firstAccess());
+        assertEquals(START.plusMinutes(9), completed.lastAccess());
+        assertEquals(START.plusMinutes(5), completed.completedAt());
+        LessonProgressProjection.State opened = states.get(1);
+        assertEquals(101, opened.lessonId());
+        assertNull(opened.completedAt());
+    }
+
+    @Test
+    void fold_ShouldForgetLessonsOfResetCourseOnly() {
+        // Given
+        List<ProgressEvent> events = List.of(
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 100, 0),
+                event(ProgressEventType.LESSON_COMPLETED, 2, 20, 200, 1),
+                reset(1, 2),
+                event(ProgressEventType.LESSON_ACCESSED, 1, 10, 100, 3));
+
+        // When
+        List<LessonProgressProjection.State> states = projection.fold("user-1", events);
+
+        // Then
+        assertEquals(2, states.size());
+        LessonProgressProjection.State otherCourse = states.get(0);
+        assertEquals(2, otherCourse.courseId());
+        assertEquals(START.plusMinutes(1), otherCourse.completedAt());
+        LessonProgressProjection.State reopened = states.get(1);
+        assertEquals(1, reopened.courseId());
+        assertEquals(START.plusMinutes(3), reopened.firstAccess());
+        assertNull(reopened.completedAt());
+    }
+
+    @Test
+    void fold_ShouldIgnoreEventsWithoutLesson() {
+        List<ProgressEvent> events = List.of(
+                ProgressEvent.builder().type(ProgressEventType.MODULE_COMPLETED)
+                        .courseId(1L).moduleId(10L).occurredAt(START).build(),
+                ProgressEvent.builder().type(ProgressEventType.SESSION_ENDED)
+                        .durationMinutes(30).occurredAt(START).build());
+
+        assertTrue(projection.fold("user-1", events).isEmpty());
+    }
+
+    static ProgressEvent event(ProgressEventType type, long courseId, long moduleId, long lessonId, int minute) {
+        return ProgressEvent.builder()
+                .userId("user-1")
+                .type(type)
+                .courseId(courseId)
+                .moduleId(moduleId)
+                .lessonId(lessonId)
+                .occurredAt(START.plusMinutes(minute))
+                .build();
+    }
+
+    static ProgressEvent reset(long courseId, int minute) {
+        return ProgressEvent.builder()
+                .userId("user-1")
+                .type(ProgressEventType.COURSE_RESET)
+                .courseId(courseId)
+                .occurredAt(START.plusMinutes(minute))
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.study4ever.progressservice.eventlog;
+
+import com.study4ever.progressservice.model.ProgressEvent;
+import com.study4ever.progressservice.model.ProgressEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.study4ever.progressservice.eventlog.LessonProgressProjectionTest.event;
+import static com.study4ever.progressservice.eventlog.LessonProgressProjectionTest.reset;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ModuleProgressProjectionTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 2, 1, 9, 0);
+
+    private final ModuleProgressProjection projection = new ModuleProgressProjection(null);
+
+    @Test
+    void fold_ShouldCountDistinctCompletedLessonsAndFirstModuleCompletion() {
+        // Given: a repeated lesson completion must not count twice
+        List<ProgressEvent> events = List.of(
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 100, 0),
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 100, 1),
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 101, 2),
+                moduleCompleted(1, 10, 3),
+                moduleCompleted(1, 10, 4),
+                event(ProgressEventType.LESSON_COMPLETED, 1, 11, 110, 5));
+
+        // When
+        List<ModuleProgressProjection.State> states = projection.fold("user-1", events);
+
+        // Then
+        assertEquals(2, states.size());
+        ModuleProgressProjection.State completed = states.get(0);
+        assertEquals(10, completed.moduleId());
+        assertEquals(2, completed.completedLessons());
+        assertEquals(START.plusMinutes(3), completed.completedAt());
+        ModuleProgressProjection.State started = states.get(1);
+        assertEquals(11, started.moduleId());
+        assertEquals(1, started.completedLessons());
+        assertNull(started.completedAt());
+    }
+
+    @Test
+    void fold_ShouldStartOverAfterCourseReset() {
+        List<ProgressEvent> events = List.of(
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 100, 0),
+                moduleCompleted(1, 10, 1),
+                reset(1, 2),
+                event(ProgressEventType.LESSON_COMPLETED, 1, 10, 101, 3));
+
+        List<ModuleProgressProjection.State> states = projection.fold("user-1", events);
+
+        assertEquals(1, states.size());
+        assertEquals(1, states.get(0).completedLessons());
+        assertNull(states.get(0).completedAt());
+    }
+
+    private static ProgressEvent moduleCompleted(long courseId, long moduleId, int minute) {
+        return ProgressEvent.builder()
+                .userId("user-1")
+                .type(ProgressEventType.MODULE_COMPLETED)
+                .courseId(courseId)
+                .moduleId(moduleId)
+                .occurredAt(START.plusMinutes(minute))
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.study4ever.progressservice.jobs;
+
+import com.study4ever.progressservice.PostgresIntegrationTest;
+import com.study4ever.progressservice.repository.JobLeaseRepository;
+import com.study4ever.progressservice.repository.JobRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class JobCoordinatorIT extends PostgresIntegrationTest {
+
+    private static final String JOB = "test-job";
+
+    private JobCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new JobCoordinator(jdbcTemplate, mock(JobLeaseRepository.class), mock(JobRunRepository.class),
+                "node-a", 1, 90, 2000, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown();
+    }
+
+    @Test
+    void runExclusively_ShouldAcquireFreeLeaseRecordRunAndRelease() {
+        // When
+        boolean ran = coordinator.runExclusively(JOB, "2025-01-01", Duration.ofMinutes(1), () -> {
+        });
+
+        // Then
+        assertTrue(ran);
+        Map<String, Object> lease = jdbcTemplate.queryForMap(
+                "SELECT owner, fencing_token, lease_until <= now() AS released FROM job_lease WHERE job_name = ?", JOB);
+        assertEquals("node-a", lease.get("owner"));
+        assertEquals(1L, lease.get("fencing_token"));
+        assertEquals(true, lease.get("released"));
+        assertEquals("SUCCEEDED", jdbcTemplate.queryForObject(
+                "SELECT status FROM job_run WHERE job_name = ? AND instance_key = ?", String.class, JOB, "2025-01-01"));
+    }
+
+    @Test
+    void runExclusively_ShouldSkipInstanceThatAlreadySucceeded() {
+        coordinator.runExclusively(JOB, "2025-01-01", Duration.ofMinutes(1), () -> {
+        });
+        AtomicBoolean ranAgain = new AtomicBoolean();
+
+        boolean ran = coordinator.runExclusively(JOB, "2025-01-01", Duration.ofMinutes(1), () -> ranAgain.set(true));
+
+        assertFalse(ran);
+        assertFalse(ranAgain.get());
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "SELECT fencing_token FROM job_lease WHERE job_name = ?", Long.class, JOB));
+    }
+
+    @Test
+    void runExclusively_ShouldSkipWhileAnotherNodeHoldsLease() {
+        // Given
+        jdbcTemplate.update("""
+                INSERT INTO job_lease (job_name, owner, fencing_token, lease_until, acquired_at, renewed_at)
+                VALUES (?, 'node-b', 3, now() + interval '1 minute', now(), now())
+                """, JOB);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // When
+        boolean result = coordinator.runExclusively(JOB, null, Duration.ofMinutes(1), () -> ran.set(true));
+
+        // Then
+        assertFalse(result);
+        assertFalse(ran.get());
+        assertEquals("node-b", jdbcTemplate.queryForObject(
+                "SELECT owner FROM job_lease WHERE job_name = ?", String.class, JOB));
+    }
+
+    @Test
+    void runExclusively_ShouldTakeOverExpiredLeaseAndAbandonStaleRun() {
+        // Given: node-b crashed mid-run and its lease ran out
+        jdbcTemplate.update("""
+                INSERT INTO job_lease (job_name, owner, fencing_token, lease_until, acquired_at, renewed_at)
+                VALUES (?, 'node-b', 3, now() - interval '1 second', now() - interval '1 minute', now())
+                """, JOB);
+        UUID staleRun = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO job_run (id, job_name, owner, fencing_token, status, started_at)
+                VALUES (?, ?, 'node-b', 3, 'RUNNING', now() - interval '1 minute')
+                """, staleRun, JOB);
+        long[] tokenDuringRun = new long[1];
+
+        // When
+        boolean ran = coordinator.runExclusively(JOB, null, Duration.ofMinutes(1), () -> tokenDuringRun[0] =
+                jdbcTemplate.queryForObject("SELECT fencing_token FROM job_lease WHERE job_name = ?", Long.class, JOB));
+
+        // Then
+        assertTrue(ran);
+        assertEquals(4L, tokenDuringRun[0]);
+        assertEquals("ABANDONED", jdbcTemplate.queryForObject(
+                "SELECT status FROM job_run WHERE id = ?", String.class, staleRun));
+    }
+
+    @Test
+    void runExclusively_ShouldRenewLeaseWhileTaskRuns() {
+        // Given: a one second lease is renewed every third of a second
+        Boolean[] renewed = new Boolean[1];
+
+        // When
+        coordinator.runExclusively(JOB, null, Duration.ofMinutes(1), () -> {
+            sleep(1500);
+            renewed[0] = jdbcTemplate.queryForObject("""
+                    SELECT renewed_at > acquired_at AND lease_until > now() FROM job_lease WHERE job_name = ?
+                    """, Boolean.class, JOB);
+        });
+
+        // Then: without renewals the lease would have expired a second into the task
+        assertTrue(renewed[0]);
+    }
+
+    @Test
+    void assertLeaseHeld_ShouldFailCommitAfterTakeover() {
+        // Given
+        jdbcTemplate.execute("DROP TABLE IF EXISTS job_output");
+        jdbcTemplate.execute("CREATE TABLE job_output (value INTEGER)");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        JdbcTemplate otherNode = new JdbcTemplate(newDataSource());
+
+        // When: another node takes the lease over while this one's batch is in flight
+        assertThrows(LeaseLostException.class, () -> coordinator.runExclusively(JOB, null, Duration.ofMinutes(1),
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("INSERT INTO job_output VALUES (1)");
+                    otherNode.update("""
+                            UPDATE job_lease SET owner = 'node-b', fencing_token = fencing_token + 1,
+                                                 lease_until = now() + interval '1 minute'
+                            WHERE job_name = ?
+                            """, JOB);
+                    coordinator.assertLeaseHeld();
+                })));
+
+        // Then: the fenced batch was rolled back and the new holder keeps the lease
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM job_output", Integer.class));
+        assertEquals("node-b", jdbcTemplate.queryForObject(
+                "SELECT owner FROM job_lease WHERE job_name = ?", String.class, JOB));
+        assertEquals("FAILED", jdbcTemplate.queryForObject(
+                "SELECT status FROM job_run WHERE job_name = ?", String.class, JOB));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
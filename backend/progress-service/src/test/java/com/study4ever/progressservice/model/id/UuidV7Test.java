@@ -0,0 +1,67 @@
+package com.study4ever.progressservice.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Test {
+
+    @Test
+    void randomUuid_ShouldBeVersion7WithRfcVariant() {
+        UUID uuid = UuidV7.randomUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void randomUuid_ShouldIncreaseStrictlyWithinOneMillisecond() {
+        // Given: far more ids than one millisecond takes to generate, so many share a timestamp
+        UUID previous = UuidV7.randomUuid();
+
+        for (int i = 0; i < 50_000; i++) {
+            // When
+            UUID next = UuidV7.randomUuid();
+
+            // Then: PostgreSQL compares uuids as unsigned bytes
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " should sort before " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void timestampMillis_ShouldReturnGenerationTime() {
+        long before = System.currentTimeMillis();
+
+        long timestamp = UuidV7.timestampMillis(UuidV7.randomUuid());
+
+        // A counter overflow borrows the next milliseconds, so allow a little headroom
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1000,
+                "timestamp " + timestamp + " not near " + before);
+    }
+
+    @Test
+    void timestampMillis_ShouldRejectOtherVersions() {
+        UUID version4 = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(version4));
+    }
+
+    @Test
+    void lowerBound_ShouldSortBetweenIdsOfAdjacentMilliseconds() {
+        UUID uuid = UuidV7.randomUuid();
+        long millis = UuidV7.timestampMillis(uuid);
+
+        assertTrue(compareUnsigned(UuidV7.lowerBound(millis), uuid) <= 0);
+        assertTrue(compareUnsigned(UuidV7.lowerBound(millis + 1), uuid) > 0);
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,161 @@
+package com.study4ever.progressservice.service.impl;
+
+import com.study4ever.progressservice.PostgresIntegrationTest;
+import com.study4ever.progressservice.dto.ProjectionRebuildResultDto;
+import com.study4ever.progressservice.eventlog.LessonProgressProjection;
+import com.study4ever.progressservice.eventlog.UserProgressProjection;
+import com.study4ever.progressservice.exception.BadRequestException;
+import com.study4ever.progressservice.exception.NotFoundException;
+import com.study4ever.progressservice.model.ProgressEventType;
+import com.study4ever.progressservice.model.id.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProjectionRebuildServiceImplIT extends PostgresIntegrationTest {
+
+    private static final int USERS = 12;
+    private static final LocalDateTime START = LocalDateTime.now().minusDays(2).withNano(0);
+
+    private ProjectionRebuildServiceImpl rebuildService;
+
+    @BeforeEach
+    void setUp() {
+        rebuildService = new ProjectionRebuildServiceImpl(dataSource, jdbcTemplate,
+                List.of(new UserProgressProjection(jdbcTemplate), new LessonProgressProjection(jdbcTemplate)), 4, 5);
+
+        // Given: user n completed n lessons of course 1, then studied for n * 10 minutes
+        for (int n = 0; n < USERS; n++) {
+            String userId = userId(n);
+            jdbcTemplate.update("""
+                    INSERT INTO user_progress (user_id, total_completed_lessons, total_completed_modules,
+                                               total_completed_courses, total_study_time_minutes,
+                                               last_active_timestamp, registration_date, created_at, updated_at)
+                    VALUES (?, 0, 0, 0, 0, ?, ?, now(), now())
+                    """, userId, START, START);
+            for (int lesson = 0; lesson < n; lesson++) {
+                insertEvent(userId, ProgressEventType.LESSON_ACCESSED, 100L + lesson, START.plusMinutes(2L * lesson));
+                insertEvent(userId, ProgressEventType.LESSON_COMPLETED, 100L + lesson,
+                        START.plusMinutes(2L * lesson + 1));
+            }
+            insertSessionEnded(userId, n * 10, START.plusHours(1));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3})
+    void rebuild_ShouldRestoreUserCountersFromEventLog(int parallelism) {
+        // When
+        ProjectionRebuildResultDto result = rebuildService.rebuild("user-progress", parallelism);
+
+        // Then
+        assertEquals(parallelism, result.getParallelism());
+        assertEquals(USERS, result.getUsers());
+        assertEquals(USERS + (long) USERS * (USERS - 1), result.getEvents());
+        assertEquals(0, result.getLateUsers());
+        for (int n = 0; n < USERS; n++) {
+            Map<String, Object> row = jdbcTemplate.queryForMap("""
+                    SELECT total_completed_lessons, total_study_time_minutes, last_active_timestamp
+                    FROM user_progress WHERE user_id = ?
+                    """, userId(n));
+            assertEquals(n, row.get("total_completed_lessons"));
+            assertEquals(n * 10L, row.get("total_study_time_minutes"));
+            assertEquals(Timestamp.valueOf(START.plusHours(1)), row.get("last_active_timestamp"));
+        }
+    }
+
+    @Test
+    void rebuild_ShouldReplayUsersWithEventsWrittenDuringRebuild() {
+        // Given: an event the service just wrote, its id is newer than the rebuild's start
+        jdbcTemplate.update("""
+                INSERT INTO progress_event (id, user_id, type, course_id, module_id, lesson_id, occurred_at)
+                VALUES (?, ?, 'LESSON_COMPLETED', 1, 10, 999, ?)
+                """, UuidV7.randomUuid(), userId(3), START.plusHours(2));
+
+        // When
+        ProjectionRebuildResultDto result = rebuildService.rebuild("user-progress", 2);
+
+        // Then
+        assertEquals(1, result.getLateUsers());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT total_completed_lessons FROM user_progress WHERE user_id = ?", Integer.class, userId(3)));
+    }
+
+    @Test
+    void rebuild_ShouldRecreateLessonRowsIdempotently() {
+        // When: a rebuild must be repeatable
+        rebuildService.rebuild("lesson-progress", 2);
+        rebuildService.rebuild("lesson-progress", 2);
+
+        // Then
+        assertEquals(USERS * (USERS - 1) / 2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM lesson_progress WHERE status = 'COMPLETED'", Integer.class));
+        Map<String, Object> row = jdbcTemplate.queryForMap("""
+                SELECT first_access_date, completion_date FROM lesson_progress WHERE user_id = ? AND lesson_id = 101
+                """, userId(5));
+        assertEquals(Timestamp.valueOf(START.plusMinutes(2)), row.get("first_access_date"));
+        assertEquals(Timestamp.valueOf(START.plusMinutes(3)), row.get("completion_date"));
+    }
+
+    @Test
+    void rebuildUser_ShouldReplaySingleUser() {
+        ProjectionRebuildResultDto result = rebuildService.rebuildUser("user-progress", userId(4));
+
+        assertEquals(1, result.getUsers());
+        assertEquals(9, result.getEvents());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT total_completed_lessons FROM user_progress WHERE user_id = ?", Integer.class, userId(4)));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT total_completed_lessons FROM user_progress WHERE user_id = ?", Integer.class, userId(5)));
+    }
+
+    @Test
+    void rebuild_ShouldRejectUnknownProjectionAndParallelism() {
+        assertThrows(NotFoundException.class, () -> rebuildService.rebuild("no-such-projection", 1));
+        assertThrows(BadRequestException.class, () -> rebuildService.rebuild("user-progress", 0));
+        assertThrows(BadRequestException.class, () -> rebuildService.rebuild("user-progress", 5));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_progress WHERE total_completed_lessons > 0", Integer.class));
+    }
+
+    private void insertEvent(String userId, ProgressEventType type, long lessonId, LocalDateTime occurredAt) {
+        jdbcTemplate.update("""
+                INSERT INTO progress_event (id, user_id, type, course_id, module_id, lesson_id, occurred_at)
+                VALUES (?, ?, ?, 1, 10, ?, ?)
+                """, idAt(occurredAt), userId, type.name(), lessonId, occurredAt);
+    }
+
+    private void insertSessionEnded(String userId, int minutes, LocalDateTime occurredAt) {
+        jdbcTemplate.update("""
+                INSERT INTO progress_event (id, user_id, type, duration_minutes, occurred_at)
+                VALUES (?, ?, 'SESSION_ENDED', ?, ?)
+                """, idAt(occurredAt), userId, minutes, occurredAt);
+    }
+
+    /**
+     * A version 7 id stamped with the event's time, as the service writes them, so seeded events are not late.
+     */
+    private static UUID idAt(LocalDateTime occurredAt) {
+        long millis = occurredAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (millis << 16) | 0x7000L | random.nextInt(0x1000);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static String userId(int n) {
+        return "user-" + String.format("%03d", n);
+    }
+}
@@ -0,0 +1,60 @@
+package com.study4ever.progressservice.util;
+
+import com.study4ever.progressservice.exception.BadRequestException;
+import com.study4ever.progressservice.model.StudySession;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionCursorTest {
+
+    @Test
+    void decode_ShouldReturnEncodedCursor() {
+        // Given: nanoseconds must survive, two sessions can start within the same millisecond
+        SessionCursor cursor = new SessionCursor(LocalDateTime.of(2025, 3, 9, 14, 5, 7, 123_456_789), UUID.randomUUID());
+
+        // When
+        SessionCursor decoded = SessionCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void after_ShouldPointAtSession() {
+        StudySession session = new StudySession();
+        session.setId(UUID.randomUUID());
+        session.setStartTime(LocalDateTime.of(2025, 1, 1, 8, 0));
+
+        SessionCursor cursor = SessionCursor.after(session);
+
+        assertEquals(session.getStartTime(), cursor.startTime());
+        assertEquals(session.getId(), cursor.id());
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        String token = new SessionCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertFalse(token.contains("+") || token.contains("/") || token.contains("="), token);
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedTokens() {
+        assertThrows(BadRequestException.class, () -> SessionCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> SessionCursor.decode(encodeRaw("2025-01-01T08:00")));
+        assertThrows(BadRequestException.class, () -> SessionCursor.decode(encodeRaw("yesterday|" + UUID.randomUUID())));
+        assertThrows(BadRequestException.class, () -> SessionCursor.decode(encodeRaw("2025-01-01T08:00|not-a-uuid")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+-- Tables the JDBC-level integration tests touch, as Hibernate creates them in the service
+DROP TABLE IF EXISTS job_lease, job_run, progress_event, user_progress, lesson_progress;
+
+CREATE TABLE job_lease (
+    job_name      VARCHAR(100) PRIMARY KEY,
+    owner         VARCHAR(255) NOT NULL,
+    fencing_token BIGINT       NOT NULL,
+    lease_until   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    acquired_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    renewed_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE job_run (
+    id            UUID PRIMARY KEY,
+    job_name      VARCHAR(100) NOT NULL,
+    instance_key  VARCHAR(100),
+    owner         VARCHAR(255) NOT NULL,
+    fencing_token BIGINT       NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    started_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    finished_at   TIMESTAMP(6) WITH TIME ZONE,
+    error         VARCHAR(1000)
+);
+
+CREATE TABLE progress_event (
+    id               UUID PRIMARY KEY,
+    user_id          VARCHAR(255) NOT NULL,
+    type             VARCHAR(32)  NOT NULL,
+    course_id        BIGINT,
+    module_id        BIGINT,
+    lesson_id        BIGINT,
+    duration_minutes INTEGER,
+    occurred_at      TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX idx_progress_event_user ON progress_event (user_id, occurred_at, id);
+
+CREATE TABLE user_progress (
+    user_id                 VARCHAR(255) PRIMARY KEY,
+    total_completed_lessons INTEGER      NOT NULL,
+    total_completed_modules INTEGER      NOT NULL,
+    total_completed_courses INTEGER      NOT NULL,
+    total_study_time_minutes BIGINT      NOT NULL,
+    last_active_timestamp   TIMESTAMP(6) NOT NULL,
+    registration_date       TIMESTAMP(6) NOT NULL,
+    created_at              TIMESTAMP(6) NOT NULL,
+    updated_at              TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE lesson_progress (
+    id                UUID PRIMARY KEY,
+    user_id           VARCHAR(255) NOT NULL,
+    course_id         BIGINT       NOT NULL,
+    module_id         BIGINT       NOT NULL,
+    lesson_id         BIGINT       NOT NULL,
+    status            VARCHAR(255) NOT NULL,
+    first_access_date TIMESTAMP(6) NOT NULL,
+    last_access_date  TIMESTAMP(6) NOT NULL,
+    completion_date   TIMESTAMP(6),
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL,
+    UNIQUE (user_id, course_id, module_id, lesson_id)
+);